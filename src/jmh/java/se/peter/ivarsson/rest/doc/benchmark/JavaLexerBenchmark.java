@@ -0,0 +1,70 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import se.peter.ivarsson.rest.doc.sourceparser.JavaLexer;
+import se.peter.ivarsson.rest.doc.sourceparser.JavaToken;
+
+/**
+ * Throughput of the JavaLexer alone, the part of JavaSourceParser that finds the JavaDoc comments. The source is
+ * tokenized from a String, so byteSourceReading doesn't change anything here.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JavaLexerBenchmark {
+
+    @Param({"small", "huge", "imports", "javadoc"})
+    public String sourceKind;
+
+    private String source;
+    private int sourceBytes;
+
+    @Setup(Level.Trial)
+    public void createSource() {
+
+        String className = "Benchmark" + Character.toUpperCase(sourceKind.charAt(0)) + sourceKind.substring(1) + "Resource";
+
+        source = SourceFileGenerator.createSource(sourceKind, className);
+
+        sourceBytes = source.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Benchmark
+    public void tokenizeSource(final JavaSourceParserBenchmark.ByteCounter byteCounter, final Blackhole blackhole) {
+
+        JavaLexer javaLexer = new JavaLexer(source);
+
+        JavaToken token;
+
+        while ((token = javaLexer.nextToken()) != null) {
+
+            blackhole.consume(token);
+        }
+
+        byteCounter.bytes += sourceBytes;
+    }
+}
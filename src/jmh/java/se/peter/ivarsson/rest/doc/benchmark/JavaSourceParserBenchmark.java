@@ -0,0 +1,128 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import se.peter.ivarsson.rest.doc.sourceparser.JavaSourceParser;
+import se.peter.ivarsson.rest.doc.sourceparser.SourceFileInfo;
+
+/**
+ * Throughput of JavaSourceParser for small, huge, import heavy and JavaDoc heavy JAX-RS resources.
+ * The tokenizer alone is measured by JavaLexerBenchmark.
+ * The bytes counter gives bytes per second, run with -prof gc for the allocation rate.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JavaSourceParserBenchmark {
+
+    @Param({"small", "huge", "imports", "javadoc"})
+    public String sourceKind;
+
+    @Param({"false", "true"})
+    public boolean byteSourceReading;
+
+    private Path sourceDirectory;
+    private Path sourceFile;
+    private int sourceBytes;
+    private URLClassLoader urlClassLoader;
+
+    /**
+     * Bytes handled by a benchmark, reported by JMH as bytes per second
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ByteCounter {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+
+            bytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createSourceFile() throws IOException {
+
+        // The parser logs every file, don't measure the logging
+        Logger.getLogger(JavaSourceParser.class.getSimpleName()).setLevel(java.util.logging.Level.WARNING);
+
+        String className = "Benchmark" + Character.toUpperCase(sourceKind.charAt(0)) + sourceKind.substring(1) + "Resource";
+
+        String source = SourceFileGenerator.createSource(sourceKind, className);
+
+        sourceDirectory = Files.createTempDirectory("rest-doc-benchmark");
+
+        Path packageDirectory = Files.createDirectories(sourceDirectory.resolve(SourceFileGenerator.PACKAGE_NAME.replace('.', File.separatorChar)));
+
+        sourceFile = packageDirectory.resolve(className + ".java");
+
+        byte[] bytes = source.getBytes(StandardCharsets.UTF_8);
+
+        sourceBytes = bytes.length;
+
+        Files.write(sourceFile, bytes);
+
+        urlClassLoader = new URLClassLoader(new URL[]{sourceDirectory.toUri().toURL()}, JavaSourceParserBenchmark.class.getClassLoader());
+    }
+
+    @TearDown(Level.Trial)
+    public void removeSourceFile() throws IOException {
+
+        urlClassLoader.close();
+
+        try (Stream<Path> paths = Files.walk(sourceDirectory)) {
+
+            paths.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        }
+    }
+
+    /**
+     * Read and parse the file, imports, enums, response types, class paths, constants and JavaDoc comments
+     */
+    @Benchmark
+    public SourceFileInfo parseSourceFile(final ByteCounter byteCounter) {
+
+        SourceFileInfo sourceFileInfo = new JavaSourceParser(byteSourceReading).parseSourceFile(sourceDirectory.toFile(), sourceFile, urlClassLoader);
+
+        byteCounter.bytes += sourceBytes;
+
+        return sourceFileInfo;
+    }
+}
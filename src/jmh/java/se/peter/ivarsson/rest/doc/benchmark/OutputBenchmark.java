@@ -0,0 +1,205 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import se.peter.ivarsson.rest.doc.mojo.ConfigParameters;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiJsonSerializer;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiModelBuilder;
+import se.peter.ivarsson.rest.doc.output.HtmlOutput;
+import se.peter.ivarsson.rest.doc.output.OpenApiOutput;
+import se.peter.ivarsson.rest.doc.output.OutputFileWriter;
+import se.peter.ivarsson.rest.doc.parser.RestDocHandler;
+import se.peter.ivarsson.rest.doc.parser.RestInfo;
+import se.peter.ivarsson.rest.doc.parser.RestInfoIndex;
+
+/**
+ * Time to render an in memory RestInfo with HtmlOutput and OpenApiOutput (YAML and JSON), the output files are not written.
+ * Run with -prof gc, gc.alloc.rate.norm divided by the endpoints parameter is the allocation per REST method.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int endpoints;
+
+    @Param({"1", "4"})
+    public int endpointsPerPath;
+
+    @Param({"10", "200"})
+    public int dtos;
+
+    private Path directory;
+    private ConfigParameters configParameters;
+    private CountingOutputFileWriter outputFileWriter;
+    private RestInfoIndex restInfoIndex;
+
+    /**
+     * Counts the output instead of writing it, the text content is counted in characters
+     */
+    public static class CountingOutputFileWriter extends OutputFileWriter {
+
+        private long files;
+        private long bytes;
+
+        @Override
+        public void write(final Path filePath, final byte[] content) {
+
+            files++;
+            bytes += content.length;
+        }
+
+        @Override
+        public void write(final Path filePath, final CharSequence content) {
+
+            files++;
+            bytes += content.length();
+        }
+
+        @Override
+        public void write(final Path filePath, final ContentWriter contentWriter) {
+
+            files++;
+
+            try (CountingWriter countingWriter = new CountingWriter()) {
+
+                contentWriter.writeTo(countingWriter);
+
+                bytes += countingWriter.characters;
+
+            } catch (IOException ioe) {
+
+                throw new UncheckedIOException(ioe);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return files + " files, " + bytes + " bytes";
+        }
+    }
+
+    /**
+     * Counts the written characters instead of writing them
+     */
+    private static class CountingWriter extends Writer {
+
+        private long characters;
+
+        @Override
+        public void write(final char[] buffer, final int offset, final int length) {
+
+            characters += length;
+        }
+
+        @Override
+        public void flush() {
+
+            // Nothing to flush
+        }
+
+        @Override
+        public void close() {
+
+            // Nothing to close
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createRestInfo() throws IOException {
+
+        directory = Files.createTempDirectory("rest-doc-output-benchmark");
+
+        configParameters = new ConfigParameters();
+
+        configParameters.setOutputDirectory(directory.toFile());
+        configParameters.setLoggingDirectory(directory.toFile());
+        configParameters.setProjectTitle("Output benchmark");
+        configParameters.setOpenApiDocVersion("1.0.0");
+        configParameters.setOpenApiLicenceName("Apache 2.0");
+        configParameters.setOpenApiDevelopmentServerUrl("http://localhost:8080");
+
+        // The writers log every resource, don't measure the logging
+        Logger.getLogger(HtmlOutput.class.getSimpleName()).setLevel(java.util.logging.Level.WARNING);
+        Logger.getLogger(OpenApiOutput.class.getSimpleName()).setLevel(java.util.logging.Level.WARNING);
+        Logger.getLogger(OpenApiModelBuilder.class.getSimpleName()).setLevel(java.util.logging.Level.WARNING);
+
+        // The writers read the static analysis result
+        RestInfo restInfo = RestInfoGenerator.createRestInfo(endpoints, endpointsPerPath, dtos);
+
+        RestDocHandler.restInfo.setClassInfo(restInfo.getClassInfo());
+        RestDocHandler.restInfo.setDomainDataMap(restInfo.getDomainDataMap());
+
+        // The index is created once after the analysis, like in RESTDocMojo
+        restInfoIndex = new RestInfoIndex(RestDocHandler.restInfo);
+
+        outputFileWriter = new CountingOutputFileWriter();
+    }
+
+    @TearDown(Level.Trial)
+    public void removeDirectory() throws IOException {
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+
+            paths.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public OutputFileWriter htmlOutput() {
+
+        new HtmlOutput(outputFileWriter).createHTMLDocumantation(configParameters, restInfoIndex);
+
+        return outputFileWriter;
+    }
+
+    @Benchmark
+    public OutputFileWriter openApiOutput() {
+
+        new OpenApiOutput(outputFileWriter).createOpenApiDocumantation(configParameters, restInfoIndex);
+
+        return outputFileWriter;
+    }
+
+    @Benchmark
+    public OutputFileWriter openApiJsonOutput() {
+
+        new OpenApiOutput(outputFileWriter, new OpenApiJsonSerializer()).createOpenApiDocumantation(configParameters, restInfoIndex);
+
+        return outputFileWriter;
+    }
+}
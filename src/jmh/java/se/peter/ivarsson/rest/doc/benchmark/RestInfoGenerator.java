@@ -0,0 +1,178 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import se.peter.ivarsson.rest.doc.parser.ClassInfo;
+import se.peter.ivarsson.rest.doc.parser.DataModelInfo;
+import se.peter.ivarsson.rest.doc.parser.FieldInfo;
+import se.peter.ivarsson.rest.doc.parser.MethodInfo;
+import se.peter.ivarsson.rest.doc.parser.ParameterInfo;
+import se.peter.ivarsson.rest.doc.parser.RestInfo;
+import se.peter.ivarsson.rest.doc.parser.ReturnInfo;
+
+/**
+ * Creates the analysis result of a JAX-RS project in memory, the same kind of RestInfo as RestDocHandler creates.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public final class RestInfoGenerator {
+
+    private static final String PACKAGE_NAME = "com.example.api";
+    private static final String DOMAIN_PACKAGE_NAME = "com.example.domain";
+
+    private static final int METHODS_PER_RESOURCE = 20;
+    private static final int DTOS_PER_ENUM = 5;
+
+    private static final String[] HTTP_METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+    private RestInfoGenerator() {
+
+        throw new IllegalStateException("RestInfoGenerator class");
+    }
+
+    /**
+     * @param endpoints Number of REST methods, 20 in every resource
+     * @param endpointsPerPath Number of REST methods with the same path, with different HTTP methods
+     * @param dtos Number of domain data classes, every fifth has an enum
+     */
+    public static RestInfo createRestInfo(final int endpoints, final int endpointsPerPath, final int dtos) {
+
+        RestInfo restInfo = new RestInfo();
+
+        for (int resource = 0; (resource * METHODS_PER_RESOURCE) < endpoints; resource++) {
+
+            int methods = Math.min(METHODS_PER_RESOURCE, endpoints - (resource * METHODS_PER_RESOURCE));
+
+            restInfo.getClassInfo().add(createClassInfo(resource, methods, endpointsPerPath, dtos));
+        }
+
+        for (int dto = 0; dto < dtos; dto++) {
+
+            restInfo.getDomainDataMap().put(getDtoName(dto), createDataModelInfo(dto, dtos));
+
+            if ((dto % DTOS_PER_ENUM) == 0) {
+
+                DataModelInfo enumModelInfo = new DataModelInfo();
+
+                enumModelInfo.getFields().add(createEnumField(dto));
+
+                restInfo.getDomainDataMap().put(getEnumName(dto), enumModelInfo);
+            }
+        }
+
+        return restInfo;
+    }
+
+    private static ClassInfo createClassInfo(final int resource, final int methods, final int endpointsPerPath, final int dtos) {
+
+        ClassInfo classInfo = new ClassInfo();
+
+        classInfo.setClassName("Resource" + resource);
+        classInfo.setPackageAndClassName(PACKAGE_NAME + ".Resource" + resource);
+        classInfo.setClassPath("/resource" + resource);
+
+        List<MethodInfo> methodInfoList = new ArrayList<>();
+
+        for (int method = 0; method < methods; method++) {
+
+            String httpRequestType = HTTP_METHODS[(method % endpointsPerPath) % HTTP_METHODS.length];
+            String dtoName = getDtoName((resource + method) % dtos);
+
+            MethodInfo methodInfo = new MethodInfo();
+
+            methodInfo.setMethodName(httpRequestType.toLowerCase() + "Item" + method);
+            methodInfo.setMethodPath("/item" + (method / endpointsPerPath) + "/{id}");
+            methodInfo.setHttpRequestType(httpRequestType);
+            methodInfo.setProduceType("application/json");
+            methodInfo.setJavaDoc("    /**\r     * " + httpRequestType + " item " + method + " with the given id\r     *\r     * @param id the id\r     */\r");
+
+            List<ParameterInfo> parameterInfoList = new ArrayList<>();
+
+            parameterInfoList.add(createParameterInfo("id", "long", "javax.ws.rs.PathParam"));
+            parameterInfoList.add(createParameterInfo("limit", "int", "javax.ws.rs.QueryParam"));
+
+            if (httpRequestType.equals("POST") || httpRequestType.equals("PUT")) {
+
+                methodInfo.setConsumeType("application/json");
+                methodInfo.setRequestBodyName("body");
+                methodInfo.setRequestBodyClassName(dtoName);
+
+                parameterInfoList.add(createParameterInfo("body", dtoName, "application/json"));
+            }
+
+            methodInfo.setParameterInfo(parameterInfoList);
+
+            ReturnInfo returnInfo = new ReturnInfo();
+
+            returnInfo.setReturnClassName("javax.ws.rs.core.Response");
+            returnInfo.setAnnotatedReturnType(dtoName);
+
+            methodInfo.setReturnInfo(returnInfo);
+
+            methodInfoList.add(methodInfo);
+        }
+
+        classInfo.setMethodInfo(methodInfoList);
+
+        return classInfo;
+    }
+
+    private static ParameterInfo createParameterInfo(final String name, final String className, final String type) {
+
+        ParameterInfo parameterInfo = new ParameterInfo();
+
+        parameterInfo.setParameterAnnotationName(name);
+        parameterInfo.setParameterClassName(className);
+        parameterInfo.setParameterType(type);
+
+        return parameterInfo;
+    }
+
+    private static DataModelInfo createDataModelInfo(final int dto, final int dtos) {
+
+        DataModelInfo dataModelInfo = new DataModelInfo();
+
+        dataModelInfo.getFields().add(createField("name", "java.lang.String", ""));
+        dataModelInfo.getFields().add(createField("count", "int", ""));
+        dataModelInfo.getFields().add(createField("child", getDtoName((dto + 1) % dtos), ""));
+        dataModelInfo.getFields().add(createField("items", "java.util.List", getDtoName(((dto * 2) + 1) % dtos)));
+
+        if ((dto % DTOS_PER_ENUM) == 0) {
+
+            dataModelInfo.getFields().add(createEnumField(dto));
+        }
+
+        return dataModelInfo;
+    }
+
+    private static FieldInfo createEnumField(final int dto) {
+
+        return createField("Status" + dto, "enum", "FIRST, SECOND, THIRD");
+    }
+
+    private static FieldInfo createField(final String name, final String type, final String ofType) {
+
+        FieldInfo fieldInfo = new FieldInfo();
+
+        fieldInfo.setFieldName(name);
+        fieldInfo.setFieldType(type);
+        fieldInfo.setFieldOfType(ofType);
+
+        return fieldInfo;
+    }
+
+    private static String getDtoName(final int dto) {
+
+        return DOMAIN_PACKAGE_NAME + ".Dto" + dto;
+    }
+
+    private static String getEnumName(final int dto) {
+
+        return DOMAIN_PACKAGE_NAME + ".Status" + dto;
+    }
+}
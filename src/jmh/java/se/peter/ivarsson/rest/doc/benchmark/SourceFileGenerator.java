@@ -0,0 +1,110 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.benchmark;
+
+/**
+ * Creates JAX-RS resource source files for the benchmarks, the same kind of code the plugin parses in a real project.
+ * There are no enums, enum values are read from the compiled class and the benchmarks have no class files.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public final class SourceFileGenerator {
+
+    public static final String PACKAGE_NAME = "se.example.api";
+
+    private SourceFileGenerator() {
+
+        throw new IllegalStateException("SourceFileGenerator class");
+    }
+
+    /**
+     * @param sourceKind small, huge, imports or javadoc
+     */
+    public static String createSource(final String sourceKind, final String className) {
+
+        switch (sourceKind) {
+
+            case "small":
+                return createResource(className, 0, 4, 1);
+
+            case "huge":
+                return createResource(className, 20, 400, 1);
+
+            case "imports":
+                return createResource(className, 1500, 4, 1);
+
+            case "javadoc":
+                return createResource(className, 0, 40, 60);
+
+            default:
+                throw new IllegalArgumentException("Unknown source kind: " + sourceKind);
+        }
+    }
+
+    private static String createResource(final String className, final int extraImports, final int methods, final int javaDocLines) {
+
+        StringBuilder source = new StringBuilder(1024 + (methods * (400 + (javaDocLines * 80))) + (extraImports * 40));
+
+        source.append("/*\n * Benchmark source file.\n */\n");
+        source.append("package ").append(PACKAGE_NAME).append(";\n\n");
+        source.append("import java.util.List;\n");
+        source.append("import javax.inject.Inject;\n");
+        source.append("import javax.ws.rs.GET;\n");
+        source.append("import javax.ws.rs.POST;\n");
+        source.append("import javax.ws.rs.Path;\n");
+        source.append("import javax.ws.rs.PathParam;\n");
+        source.append("import javax.ws.rs.Produces;\n");
+        source.append("import javax.ws.rs.core.MediaType;\n");
+        source.append("import javax.ws.rs.core.Response;\n");
+
+        for (int index = 0; index < extraImports; index++) {
+
+            source.append("import ").append(PACKAGE_NAME).append(".domain.package").append(index % 50).append(".Type").append(index).append(";\n");
+        }
+
+        source.append("\n");
+        appendJavaDoc(source, "", "REST resource " + className, javaDocLines);
+        source.append("@Path(").append(className).append(".RESOURCE_PATH)\n");
+        source.append("@Produces(MediaType.APPLICATION_JSON)\n");
+        source.append("public class ").append(className).append(" {\n\n");
+        source.append("    public static final String RESOURCE_PATH = \"/").append(className.toLowerCase()).append("\";\n\n");
+        source.append("    @Inject\n    private ItemService itemService;\n");
+
+        for (int index = 0; index < methods; index++) {
+
+            source.append("\n");
+            appendJavaDoc(source, "    ", "Get item " + index + " with the given id", javaDocLines);
+            source.append("    @GET\n");
+            source.append("    @Path(\"item").append(index).append("/{id}\")\n");
+            source.append("    public Response getItem").append(index).append("(@PathParam(\"id\") final String id) {\n\n");
+            source.append("        // Read the item, \"quoted\" text in a comment\n");
+            source.append("        List<Item> items = itemService.getItems(id, ").append(index).append(");\n\n");
+            source.append("        if (items.isEmpty()) {\n\n");
+            source.append("            return Response.status(Response.Status.NOT_FOUND).build();\n");
+            source.append("        }\n\n");
+            source.append("        return Response.ok().entity(items).build();\n");
+            source.append("    }\n");
+        }
+
+        source.append("}\n");
+
+        return source.toString();
+    }
+
+    private static void appendJavaDoc(final StringBuilder source, final String indent, final String text, final int lines) {
+
+        source.append(indent).append("/**\n");
+
+        for (int line = 0; line < lines; line++) {
+
+            source.append(indent).append(" * ").append(text).append(", line ").append(line).append(" of the description with {@code code}\n");
+        }
+
+        source.append(indent).append(" *\n");
+        source.append(indent).append(" * @return The response\n");
+        source.append(indent).append(" */\n");
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import se.peter.ivarsson.rest.doc.mojo.ConfigParameters;
+import se.peter.ivarsson.rest.doc.parser.ClassFileInfo;
+import se.peter.ivarsson.rest.doc.sourceparser.SourceFileInfo;
+import se.peter.ivarsson.rest.doc.utils.LoggingUtils;
+
+/**
+ * Analysis result for each source file and class file, saved between builds.
+ * A file is only analyzed again if its size or last modified time is changed.
+ * The whole cache is dropped if it was saved by another plugin version or with other analysis parameters.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class AnalysisCache {
+
+    private static final Logger LOGGER = Logger.getLogger(AnalysisCache.class.getSimpleName());
+
+    // Change the version when the analysis result or the serialized classes are changed
+    private static final int CACHE_VERSION = 1;
+    private static final String CACHE_FILE_NAME = "RestDocCache.ser";
+    private static final String POM_PROPERTIES = "/META-INF/maven/se.peter.ivarsson.rest.doc/rest-doc-maven-plugin/pom.properties";
+
+    private final Path cacheFilePath;
+    private final String fingerprint;
+
+    // Entries from the previous build
+    private final Map<String, CacheEntry> previousSourceEntries;
+    private final Map<String, CacheEntry> previousClassEntries;
+
+    // Entries for the files found in this build
+    private final Map<String, CacheEntry> sourceEntries = new ConcurrentHashMap<>();
+    private final Map<String, CacheEntry> classEntries = new ConcurrentHashMap<>();
+
+    // Source file key for each class name, class files depends on the JavaDoc and response types in the source file
+    private final Map<String, String> sourceFileKeys = new ConcurrentHashMap<>();
+
+    private final AtomicInteger sourceFilesFromCache = new AtomicInteger();
+    private final AtomicInteger classFilesFromCache = new AtomicInteger();
+
+    private AnalysisCache(final Path cacheFilePath, final String fingerprint, final Map<String, CacheEntry> previousSourceEntries,
+            final Map<String, CacheEntry> previousClassEntries) {
+
+        this.cacheFilePath = cacheFilePath;
+        this.fingerprint = fingerprint;
+        this.previousSourceEntries = previousSourceEntries;
+        this.previousClassEntries = previousClassEntries;
+    }
+
+    /**
+     * Load the cache saved by the previous build, an empty cache is returned if there is no usable cache file or if
+     * the cache was saved by another plugin version or with other analysis parameters
+     */
+    @SuppressWarnings("unchecked")
+    public static AnalysisCache load(final File cacheDirectory, final ConfigParameters configParameters) {
+
+        LoggingUtils.addLoggingFileHandler(cacheDirectory, LOGGER);
+
+        Path cacheFilePath = cacheDirectory.toPath().resolve(CACHE_FILE_NAME);
+
+        String fingerprint = getFingerprint(configParameters);
+
+        if (Files.isRegularFile(cacheFilePath)) {
+
+            try (ObjectInputStream inputStream = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(cacheFilePath)))) {
+
+                if ((inputStream.readInt() == CACHE_VERSION) && inputStream.readUTF().equals(fingerprint)) {
+
+                    Map<String, CacheEntry> sourceEntries = (Map<String, CacheEntry>) inputStream.readObject();
+                    Map<String, CacheEntry> classEntries = (Map<String, CacheEntry>) inputStream.readObject();
+
+                    LOGGER.info(() -> "Loaded analysis cache " + cacheFilePath + ", " + sourceEntries.size() + " source files, " + classEntries.size() + " class files");
+
+                    return new AnalysisCache(cacheFilePath, fingerprint, sourceEntries, classEntries);
+                }
+
+                LOGGER.info(() -> "Analysis cache " + cacheFilePath + " has an old version or other analysis parameters, analyze all files");
+
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+
+                LOGGER.warning(() -> "Can't read analysis cache " + cacheFilePath + ", " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+
+        return new AnalysisCache(cacheFilePath, fingerprint, new HashMap<>(), new HashMap<>());
+    }
+
+    /**
+     * @return The cached result, or null if the source file is new or changed
+     */
+    public SourceFileInfo getSourceFileInfo(final Path sourceFilePath) {
+
+        String fileKey = getFileKey(sourceFilePath);
+
+        CacheEntry cacheEntry = getValidEntry(previousSourceEntries, sourceFilePath, fileKey, "");
+
+        if (cacheEntry == null) {
+
+            return null;
+        }
+
+        SourceFileInfo sourceFileInfo = (SourceFileInfo) fromBytes(cacheEntry.getData());
+
+        if (sourceFileInfo != null) {
+
+            sourceEntries.put(sourceFilePath.toString(), cacheEntry);
+            sourceFileKeys.put(sourceFileInfo.getClassName(), fileKey);
+            sourceFilesFromCache.incrementAndGet();
+        }
+
+        return sourceFileInfo;
+    }
+
+    public void putSourceFileInfo(final Path sourceFilePath, final SourceFileInfo sourceFileInfo) {
+
+        String fileKey = getFileKey(sourceFilePath);
+
+        if (fileKey == null) {
+
+            return;
+        }
+
+        // The class file is always analyzed again if its source file is changed
+        sourceFileKeys.put(sourceFileInfo.getClassName(), fileKey);
+
+        if (!sourceFileInfo.getEnumTypes().isEmpty()) {
+
+            // Enum values are read from the class file, not from the source file
+            return;
+        }
+
+        byte[] data = toBytes(sourceFileInfo);
+
+        if (data != null) {
+
+            sourceEntries.put(sourceFilePath.toString(), new CacheEntry(fileKey, "", data));
+        }
+    }
+
+    /**
+     * @return The cached result, or null if the class file or its source file is new or changed.
+     * A new ClassFileInfo is returned for every call, the result can be changed by the caller.
+     */
+    public ClassFileInfo getClassFileInfo(final Path classFilePath, final String className) {
+
+        CacheEntry cacheEntry = getValidEntry(previousClassEntries, classFilePath, getFileKey(classFilePath), getSourceFileKey(className));
+
+        if (cacheEntry == null) {
+
+            return null;
+        }
+
+        ClassFileInfo classFileInfo = (ClassFileInfo) fromBytes(cacheEntry.getData());
+
+        if (classFileInfo != null) {
+
+            classEntries.put(classFilePath.toString(), cacheEntry);
+            classFilesFromCache.incrementAndGet();
+        }
+
+        return classFileInfo;
+    }
+
+    /**
+     * The class file info is copied, later changes of the class file info is not cached
+     */
+    public void putClassFileInfo(final Path classFilePath, final String className, final ClassFileInfo classFileInfo) {
+
+        String fileKey = getFileKey(classFilePath);
+
+        if (fileKey == null) {
+
+            return;
+        }
+
+        byte[] data = toBytes(classFileInfo);
+
+        if (data != null) {
+
+            classEntries.put(classFilePath.toString(), new CacheEntry(fileKey, getSourceFileKey(className), data));
+        }
+    }
+
+    /**
+     * Save the entries for the files found in this build, entries for removed files are dropped
+     */
+    public void save() {
+
+        LOGGER.info(() -> "Analysis cache, " + sourceFilesFromCache.get() + " source files and "
+                + classFilesFromCache.get() + " class files was not changed since the last build");
+
+        Path temporaryPath = cacheFilePath.resolveSibling(CACHE_FILE_NAME + ".tmp");
+
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryPath)))) {
+
+            outputStream.writeInt(CACHE_VERSION);
+            outputStream.writeUTF(fingerprint);
+            outputStream.writeObject(new HashMap<>(sourceEntries));
+            outputStream.writeObject(new HashMap<>(classEntries));
+
+        } catch (IOException ioe) {
+
+            LOGGER.severe(() -> "Can't write analysis cache " + temporaryPath + ", IOException: " + ioe.getMessage());
+            return;
+        }
+
+        try {
+
+            Files.move(temporaryPath, cacheFilePath, StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (IOException ioe) {
+
+            LOGGER.severe(() -> "Can't write analysis cache " + cacheFilePath + ", IOException: " + ioe.getMessage());
+        }
+    }
+
+    public int getSourceFilesFromCache() {
+
+        return sourceFilesFromCache.get();
+    }
+
+    public int getClassFilesFromCache() {
+
+        return classFilesFromCache.get();
+    }
+
+    /**
+     * @return The plugin version and the parameters that change the analysis result
+     */
+    private static String getFingerprint(final ConfigParameters configParameters) {
+
+        return "pluginVersion=" + getPluginVersion()
+                + ", analysisEngine=" + (configParameters.isBytecodeAnalysis() ? "bytecode" : "reflection")
+                + ", byteSourceReading=" + configParameters.isByteSourceReading()
+                + ", prefilterClassFiles=" + configParameters.isPrefilterClassFiles();
+    }
+
+    /**
+     * @return The version in the pom.properties Maven adds to the plugin jar, or "unknown" if it isn't found
+     */
+    private static String getPluginVersion() {
+
+        try (InputStream inputStream = AnalysisCache.class.getResourceAsStream(POM_PROPERTIES)) {
+
+            if (inputStream != null) {
+
+                Properties pomProperties = new Properties();
+
+                pomProperties.load(inputStream);
+
+                return pomProperties.getProperty("version", "unknown");
+            }
+        } catch (IOException ioe) {
+
+            LOGGER.warning(() -> "getPluginVersion(), IOException: " + ioe.getMessage());
+        }
+
+        return "unknown";
+    }
+
+    private String getSourceFileKey(final String className) {
+
+        // Classes without source file, like inner classes, has an empty key
+        return sourceFileKeys.getOrDefault(className, "");
+    }
+
+    private CacheEntry getValidEntry(final Map<String, CacheEntry> entries, final Path filePath, final String fileKey, final String dependencyKey) {
+
+        if (fileKey == null) {
+
+            return null;
+        }
+
+        CacheEntry cacheEntry = entries.get(filePath.toString());
+
+        if ((cacheEntry != null) && cacheEntry.getFileKey().equals(fileKey) && cacheEntry.getDependencyKey().equals(dependencyKey)) {
+
+            return cacheEntry;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return File size and last modified time, or null if the file can't be read
+     */
+    private static String getFileKey(final Path filePath) {
+
+        try {
+
+            return Files.size(filePath) + ":" + Files.getLastModifiedTime(filePath).toMillis();
+
+        } catch (IOException ioe) {
+
+            LOGGER.warning(() -> "getFileKey(), IOException: " + ioe.getMessage());
+
+            return null;
+        }
+    }
+
+    private static byte[] toBytes(final Serializable object) {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+
+            outputStream.writeObject(object);
+
+        } catch (IOException ioe) {
+
+            LOGGER.warning(() -> "toBytes(), IOException: " + ioe.getMessage());
+
+            return null;
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static Object fromBytes(final byte[] data) {
+
+        try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
+
+            return inputStream.readObject();
+
+        } catch (IOException | ClassNotFoundException e) {
+
+            LOGGER.warning(() -> "fromBytes(), " + e.getClass().getSimpleName() + ": " + e.getMessage());
+
+            return null;
+        }
+    }
+
+    /**
+     * One cached file, the analysis result is kept serialized so the cached result is never changed
+     */
+    private static class CacheEntry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String fileKey;
+        private final String dependencyKey;
+        private final byte[] data;
+
+        CacheEntry(final String fileKey, final String dependencyKey, final byte[] data) {
+
+            this.fileKey = fileKey;
+            this.dependencyKey = dependencyKey;
+            this.data = data;
+        }
+
+        String getFileKey() {
+            return fileKey;
+        }
+
+        String getDependencyKey() {
+            return dependencyKey;
+        }
+
+        byte[] getData() {
+            return data;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import se.peter.ivarsson.rest.doc.parser.DomainDataInfo;
+import se.peter.ivarsson.rest.doc.utils.LoggingUtils;
+
+/**
+ * Domain data (DTO) schemas, shared by all plugin executions in the same JVM and optionally saved between builds.
+ * The key is the class name and a hash of the class file, so a module only analyzes the domain data classes
+ * that no other module has analyzed.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class SchemaCache {
+
+    private static final Logger LOGGER = Logger.getLogger(SchemaCache.class.getSimpleName());
+
+    private static final int CACHE_VERSION = 1;
+    private static final String CACHE_FILE_NAME = "RestDocSchemaCache.ser";
+
+    // Schemas from all executions in this JVM, the schema is kept serialized so the cached schema is never changed
+    private static final Map<String, byte[]> SCHEMAS = new ConcurrentHashMap<>();
+
+    // Schemas read from a cache file but not used yet in this JVM, they are not saved again
+    private static final Map<String, byte[]> LOADED_SCHEMAS = new ConcurrentHashMap<>();
+
+    private static final Set<Path> LOADED_CACHE_FILES = ConcurrentHashMap.newKeySet();
+
+    private final Path cacheFilePath;  // null if the schemas isn't saved
+
+    private final AtomicInteger schemasFromCache = new AtomicInteger();
+    private final AtomicInteger schemasAnalyzed = new AtomicInteger();
+
+    /**
+     * @param cacheDirectory Directory for the cache file, or null if the cache only is kept in this JVM
+     */
+    public SchemaCache(final File cacheDirectory, final File loggingDirectory) {
+
+        LoggingUtils.addLoggingFileHandler(loggingDirectory, LOGGER);
+
+        if (cacheDirectory == null) {
+
+            cacheFilePath = null;
+
+        } else {
+
+            cacheFilePath = cacheDirectory.toPath().resolve(CACHE_FILE_NAME).toAbsolutePath();
+
+            if (LOADED_CACHE_FILES.add(cacheFilePath)) {
+
+                load(cacheFilePath);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void load(final Path cacheFilePath) {
+
+        if (!Files.isRegularFile(cacheFilePath)) {
+
+            return;
+        }
+
+        try (ObjectInputStream inputStream = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(cacheFilePath)))) {
+
+            if (inputStream.readInt() == CACHE_VERSION) {
+
+                Map<String, byte[]> schemas = (Map<String, byte[]>) inputStream.readObject();
+
+                LOADED_SCHEMAS.putAll(schemas);
+
+                LOGGER.info(() -> "Loaded schema cache " + cacheFilePath + ", " + schemas.size() + " schemas");
+
+            } else {
+
+                LOGGER.info(() -> "Schema cache " + cacheFilePath + " has an old version, analyze all domain data");
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+
+            LOGGER.warning(() -> "Can't read schema cache " + cacheFilePath + ", " + e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param classHash Hash of the class file and the class files of its super classes and interfaces
+     * @param enumTypes Enum types of this execution, a schema that used other enum types isn't returned
+     * @return The cached schema, or null if the class is new or changed.
+     * A new DomainDataInfo is returned for every call, the result can be changed by the caller.
+     */
+    public DomainDataInfo get(final String className, final String classHash, final Map<String, String> enumTypes) {
+
+        String key = className + '@' + classHash;
+
+        byte[] data = SCHEMAS.get(key);
+
+        if (data == null) {
+
+            data = LOADED_SCHEMAS.remove(key);
+
+            if (data == null) {
+
+                return null;
+            }
+
+            SCHEMAS.putIfAbsent(key, data);
+        }
+
+        DomainDataInfo domainDataInfo = fromBytes(data);
+
+        if ((domainDataInfo == null) || !isSameEnumTypes(domainDataInfo.getUsedEnumTypes(), enumTypes)) {
+
+            return null;
+        }
+
+        schemasFromCache.incrementAndGet();
+
+        return domainDataInfo;
+    }
+
+    /**
+     * The domain data info is copied, later changes of the domain data info is not cached
+     */
+    public void put(final String classHash, final DomainDataInfo domainDataInfo) {
+
+        schemasAnalyzed.incrementAndGet();
+
+        byte[] data = toBytes(domainDataInfo);
+
+        if (data != null) {
+
+            SCHEMAS.put(domainDataInfo.getClassName() + '@' + classHash, data);
+        }
+    }
+
+    /**
+     * Save the schemas used or analyzed in this JVM, schemas not used by any execution in this JVM are dropped
+     */
+    public void save() {
+
+        LOGGER.info(() -> "Schema cache, " + schemasFromCache.get() + " domain data classes from cache, "
+                + schemasAnalyzed.get() + " domain data classes analyzed");
+
+        if (cacheFilePath == null) {
+
+            return;
+        }
+
+        synchronized (SchemaCache.class) {
+
+            Path temporaryPath = cacheFilePath.resolveSibling(CACHE_FILE_NAME + ".tmp");
+
+            try {
+
+                Files.createDirectories(cacheFilePath.getParent());
+
+                try (ObjectOutputStream outputStream = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryPath)))) {
+
+                    outputStream.writeInt(CACHE_VERSION);
+                    outputStream.writeObject(new HashMap<>(SCHEMAS));
+                }
+
+                Files.move(temporaryPath, cacheFilePath, StandardCopyOption.REPLACE_EXISTING);
+
+            } catch (IOException ioe) {
+
+                LOGGER.severe(() -> "Can't write schema cache " + cacheFilePath + ", IOException: " + ioe.getMessage());
+            }
+        }
+    }
+
+    public int getSchemasFromCache() {
+
+        return schemasFromCache.get();
+    }
+
+    public int getSchemasAnalyzed() {
+
+        return schemasAnalyzed.get();
+    }
+
+    private static boolean isSameEnumTypes(final Map<String, String> usedEnumTypes, final Map<String, String> enumTypes) {
+
+        return usedEnumTypes.entrySet().stream()
+                .allMatch(entry -> Objects.equals(entry.getValue(), enumTypes.get(entry.getKey())));
+    }
+
+    private static byte[] toBytes(final DomainDataInfo domainDataInfo) {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+
+            outputStream.writeObject(domainDataInfo);
+
+        } catch (IOException ioe) {
+
+            LOGGER.warning(() -> "toBytes(), IOException: " + ioe.getMessage());
+
+            return null;
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static DomainDataInfo fromBytes(final byte[] data) {
+
+        try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
+
+            return (DomainDataInfo) inputStream.readObject();
+
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+
+            LOGGER.warning(() -> "fromBytes(), " + e.getClass().getSimpleName() + ": " + e.getMessage());
+
+            return null;
+        }
+    }
+}
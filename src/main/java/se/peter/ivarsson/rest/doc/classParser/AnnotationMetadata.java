@@ -0,0 +1,69 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.classparser;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An annotation and its String and String array values, the values of other types are not used by the REST
+ * documentation. A value that isn't given where the annotation is used has the default value of the annotation type.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public final class AnnotationMetadata {
+
+    private final String typeName;
+    private final Map<String, List<String>> values;
+
+    /**
+     * @param typeName Annotation type name, like "javax.ws.rs.Path"
+     * @param values The values of every String and String array element, a String element has a list with one value
+     */
+    public AnnotationMetadata(final String typeName, final Map<String, List<String>> values) {
+
+        this.typeName = typeName;
+        this.values = values;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public boolean isType(final Class<?> annotationType) {
+
+        return typeName.equals(annotationType.getName());
+    }
+
+    /**
+     * @return The value of a String element, or null if the annotation hasn't got the element
+     */
+    public String getValue(final String elementName) {
+
+        List<String> elementValues = values.get(elementName);
+
+        return ((elementValues == null) || elementValues.isEmpty()) ? null : elementValues.get(0);
+    }
+
+    /**
+     * @return The values of a String array element, empty if the annotation hasn't got the element
+     */
+    public List<String> getValues(final String elementName) {
+
+        return values.getOrDefault(elementName, Collections.emptyList());
+    }
+
+    Map<String, List<String>> getValues() {
+
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotationMetadata{" + "typeName=" + typeName + ", values=" + values + '}';
+    }
+}
@@ -0,0 +1,541 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.classparser;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The metadata of a class read from the class file bytes. Only the attributes used by the REST documentation are
+ * parsed, the method code is skipped.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+final class BytecodeClassMetadata implements ClassMetadata {
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+
+    // Constant pool tags
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELD_REF = 9;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    // Access flags
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_STATIC = 0x0008;
+    static final int ACC_INTERFACE = 0x0200;
+    static final int ACC_ABSTRACT = 0x0400;
+    static final int ACC_ENUM = 0x4000;
+
+    private static final String ENUM_CLASS_NAME = "java.lang.Enum";
+
+    private final BytecodeMetadataReader reader;
+
+    private String[] utf8Constants;
+    private int[] classNameIndexes;
+
+    private int accessFlags;
+    private String name;
+    private String superclassName;
+    private final List<String> interfaceNames = new ArrayList<>();
+    private final List<String> enumConstants = new ArrayList<>();
+    private final List<BytecodeMethodMetadata> declaredMethods = new ArrayList<>();
+    private List<AnnotationMetadata> annotations = Collections.emptyList();
+
+    private volatile List<MethodMetadata> methods;
+
+    private BytecodeClassMetadata(final BytecodeMetadataReader reader) {
+
+        this.reader = reader;
+    }
+
+    /**
+     * @throws IOException if the bytes aren't a class file
+     */
+    static BytecodeClassMetadata parse(final byte[] classFile, final BytecodeMetadataReader reader) throws IOException {
+
+        BytecodeClassMetadata classMetadata = new BytecodeClassMetadata(reader);
+
+        classMetadata.read(new DataInputStream(new ByteArrayInputStream(classFile)));
+
+        // Only needed while the class file is read
+        classMetadata.utf8Constants = null;
+        classMetadata.classNameIndexes = null;
+
+        return classMetadata;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getSuperclassName() {
+        return isInterface() ? null : superclassName;
+    }
+
+    @Override
+    public List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    @Override
+    public List<AnnotationMetadata> getAnnotations() {
+        return reader.addDefaultValues(annotations);
+    }
+
+    @Override
+    public List<MethodMetadata> getDeclaredMethods() {
+        return Collections.unmodifiableList(declaredMethods);
+    }
+
+    /**
+     * The public methods are found the first time they are asked for, the super classes and interfaces are read then
+     */
+    @Override
+    public List<MethodMetadata> getMethods() {
+
+        List<MethodMetadata> publicMethods = methods;
+
+        if (publicMethods == null) {
+
+            publicMethods = reader.getPublicMethods(this);
+
+            methods = publicMethods;
+        }
+
+        return publicMethods;
+    }
+
+    @Override
+    public List<String> getEnumConstants() {
+
+        if (((accessFlags & ACC_ENUM) == 0) || !ENUM_CLASS_NAME.equals(superclassName)) {
+
+            return null;
+        }
+
+        return enumConstants;
+    }
+
+    BytecodeMetadataReader getReader() {
+
+        return reader;
+    }
+
+    boolean isInterface() {
+
+        return (accessFlags & ACC_INTERFACE) != 0;
+    }
+
+    List<BytecodeMethodMetadata> getBytecodeMethods() {
+
+        return declaredMethods;
+    }
+
+    /**
+     * @return The default values of an annotation type, from the AnnotationDefault attributes of its methods
+     */
+    Map<String, List<String>> getAnnotationDefaultValues() {
+
+        Map<String, List<String>> defaultValues = new HashMap<>();
+
+        for (BytecodeMethodMetadata method : declaredMethods) {
+
+            if (method.getAnnotationDefault() != null) {
+
+                defaultValues.put(method.getName(), method.getAnnotationDefault());
+            }
+        }
+
+        return defaultValues;
+    }
+
+    private void read(final DataInputStream input) throws IOException {
+
+        if (input.readInt() != CLASS_FILE_MAGIC) {
+
+            throw new IOException("Not a class file");
+        }
+
+        input.readUnsignedShort();  // minor version
+        input.readUnsignedShort();  // major version
+
+        readConstantPool(input);
+
+        accessFlags = input.readUnsignedShort();
+        name = getClassName(input.readUnsignedShort());
+        superclassName = getClassName(input.readUnsignedShort());
+
+        int interfaceCount = input.readUnsignedShort();
+
+        for (int index = 0; index < interfaceCount; index++) {
+
+            interfaceNames.add(getClassName(input.readUnsignedShort()));
+        }
+
+        int fieldCount = input.readUnsignedShort();
+
+        for (int index = 0; index < fieldCount; index++) {
+
+            readField(input);
+        }
+
+        int methodCount = input.readUnsignedShort();
+
+        for (int index = 0; index < methodCount; index++) {
+
+            readMethod(input);
+        }
+
+        int attributeCount = input.readUnsignedShort();
+
+        for (int index = 0; index < attributeCount; index++) {
+
+            String attributeName = utf8Constants[input.readUnsignedShort()];
+            int attributeLength = input.readInt();
+
+            if (attributeName.equals("RuntimeVisibleAnnotations")) {
+
+                annotations = readAnnotations(input);
+
+            } else {
+
+                input.skipBytes(attributeLength);
+            }
+        }
+    }
+
+    private void readConstantPool(final DataInputStream input) throws IOException {
+
+        int constantPoolCount = input.readUnsignedShort();
+
+        utf8Constants = new String[constantPoolCount];
+        classNameIndexes = new int[constantPoolCount];
+
+        for (int index = 1; index < constantPoolCount; index++) {
+
+            int tag = input.readUnsignedByte();
+
+            switch (tag) {
+
+                case CONSTANT_UTF8:
+                    // Class files use the same modified UTF-8 as DataInput
+                    utf8Constants[index] = input.readUTF();
+                    break;
+
+                case CONSTANT_CLASS:
+                    classNameIndexes[index] = input.readUnsignedShort();
+                    break;
+
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    input.skipBytes(2);
+                    break;
+
+                case CONSTANT_METHOD_HANDLE:
+                    input.skipBytes(3);
+                    break;
+
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELD_REF:
+                case CONSTANT_METHOD_REF:
+                case CONSTANT_INTERFACE_METHOD_REF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    input.skipBytes(4);
+                    break;
+
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    input.skipBytes(8);
+                    index++;  // Takes two entries in the constant pool
+                    break;
+
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+    }
+
+    /*
+     * Only the enum constants are used, they are the fields with the enum flag in declaration order
+     */
+    private void readField(final DataInputStream input) throws IOException {
+
+        int fieldAccessFlags = input.readUnsignedShort();
+        String fieldName = utf8Constants[input.readUnsignedShort()];
+
+        input.readUnsignedShort();  // descriptor
+
+        if ((fieldAccessFlags & ACC_ENUM) != 0) {
+
+            enumConstants.add(fieldName);
+        }
+
+        skipAttributes(input);
+    }
+
+    private void readMethod(final DataInputStream input) throws IOException {
+
+        int methodAccessFlags = input.readUnsignedShort();
+        String methodName = utf8Constants[input.readUnsignedShort()];
+        String descriptor = utf8Constants[input.readUnsignedShort()];
+
+        String signature = null;
+        List<AnnotationMetadata> methodAnnotations = Collections.emptyList();
+        List<List<AnnotationMetadata>> parameterAnnotations = Collections.emptyList();
+        List<String> parameterNames = null;
+        List<String> exceptionNames = Collections.emptyList();
+        List<String> annotationDefault = null;
+
+        int attributeCount = input.readUnsignedShort();
+
+        for (int index = 0; index < attributeCount; index++) {
+
+            String attributeName = utf8Constants[input.readUnsignedShort()];
+            int attributeLength = input.readInt();
+
+            switch (attributeName) {
+
+                case "Signature":
+                    signature = utf8Constants[input.readUnsignedShort()];
+                    break;
+
+                case "RuntimeVisibleAnnotations":
+                    methodAnnotations = readAnnotations(input);
+                    break;
+
+                case "RuntimeVisibleParameterAnnotations":
+                    parameterAnnotations = readParameterAnnotations(input);
+                    break;
+
+                case "MethodParameters":
+                    parameterNames = readParameterNames(input);
+                    break;
+
+                case "Exceptions":
+                    exceptionNames = readExceptionNames(input);
+                    break;
+
+                case "AnnotationDefault":
+                    annotationDefault = readElementValue(input);
+                    break;
+
+                default:
+                    input.skipBytes(attributeLength);
+                    break;
+            }
+        }
+
+        // Like reflection, the constructors and the static initializer aren't methods
+        if (!methodName.equals("<init>") && !methodName.equals("<clinit>")) {
+
+            declaredMethods.add(new BytecodeMethodMetadata(this, methodAccessFlags, methodName, descriptor, signature, methodAnnotations,
+                    parameterAnnotations, parameterNames, exceptionNames, annotationDefault));
+        }
+    }
+
+    private List<List<AnnotationMetadata>> readParameterAnnotations(final DataInputStream input) throws IOException {
+
+        int parameterCount = input.readUnsignedByte();
+
+        List<List<AnnotationMetadata>> parameterAnnotations = new ArrayList<>(parameterCount);
+
+        for (int index = 0; index < parameterCount; index++) {
+
+            parameterAnnotations.add(readAnnotations(input));
+        }
+
+        return parameterAnnotations;
+    }
+
+    /*
+     * A parameter without name in the attribute gets its name from the position, like reflection
+     */
+    private List<String> readParameterNames(final DataInputStream input) throws IOException {
+
+        int parameterCount = input.readUnsignedByte();
+
+        List<String> parameterNames = new ArrayList<>(parameterCount);
+
+        for (int index = 0; index < parameterCount; index++) {
+
+            int nameIndex = input.readUnsignedShort();
+
+            input.readUnsignedShort();  // access flags
+
+            parameterNames.add(nameIndex == 0 ? null : utf8Constants[nameIndex]);
+        }
+
+        return parameterNames;
+    }
+
+    private List<String> readExceptionNames(final DataInputStream input) throws IOException {
+
+        int exceptionCount = input.readUnsignedShort();
+
+        List<String> exceptionNames = new ArrayList<>(exceptionCount);
+
+        for (int index = 0; index < exceptionCount; index++) {
+
+            exceptionNames.add(getClassName(input.readUnsignedShort()));
+        }
+
+        return exceptionNames;
+    }
+
+    private List<AnnotationMetadata> readAnnotations(final DataInputStream input) throws IOException {
+
+        int annotationCount = input.readUnsignedShort();
+
+        List<AnnotationMetadata> annotationList = new ArrayList<>(annotationCount);
+
+        for (int index = 0; index < annotationCount; index++) {
+
+            annotationList.add(readAnnotation(input));
+        }
+
+        return annotationList;
+    }
+
+    private AnnotationMetadata readAnnotation(final DataInputStream input) throws IOException {
+
+        String typeName = TypeSignatures.getClassName(utf8Constants[input.readUnsignedShort()]);
+
+        Map<String, List<String>> values = new HashMap<>();
+
+        int elementCount = input.readUnsignedShort();
+
+        for (int index = 0; index < elementCount; index++) {
+
+            String elementName = utf8Constants[input.readUnsignedShort()];
+
+            List<String> elementValues = readElementValue(input);
+
+            if (elementValues != null) {
+
+                values.put(elementName, elementValues);
+            }
+        }
+
+        return new AnnotationMetadata(typeName, values);
+    }
+
+    /**
+     * @return The String values of an element value, or null if the element isn't a String or a String array
+     */
+    private List<String> readElementValue(final DataInputStream input) throws IOException {
+
+        int tag = input.readUnsignedByte();
+
+        switch (tag) {
+
+            case 's':
+                return Collections.singletonList(utf8Constants[input.readUnsignedShort()]);
+
+            case 'B':
+            case 'C':
+            case 'D':
+            case 'F':
+            case 'I':
+            case 'J':
+            case 'S':
+            case 'Z':
+            case 'c':
+                input.skipBytes(2);
+                return null;
+
+            case 'e':
+                input.skipBytes(4);
+                return null;
+
+            case '@':
+                readAnnotation(input);
+                return null;
+
+            case '[':
+                int valueCount = input.readUnsignedShort();
+
+                List<String> values = new ArrayList<>(valueCount);
+                boolean stringValues = true;
+
+                for (int index = 0; index < valueCount; index++) {
+
+                    List<String> value = readElementValue(input);
+
+                    if (value == null) {
+
+                        stringValues = false;
+
+                    } else {
+
+                        values.addAll(value);
+                    }
+                }
+
+                return stringValues ? values : null;
+
+            default:
+                throw new IOException("Unknown element value tag " + tag);
+        }
+    }
+
+    private void skipAttributes(final DataInputStream input) throws IOException {
+
+        int attributeCount = input.readUnsignedShort();
+
+        for (int index = 0; index < attributeCount; index++) {
+
+            input.readUnsignedShort();  // name
+
+            input.skipBytes(input.readInt());
+        }
+    }
+
+    /**
+     * @return The class name of a class constant, or null for index 0
+     */
+    private String getClassName(final int classIndex) {
+
+        if (classIndex == 0) {
+
+            return null;
+        }
+
+        return utf8Constants[classNameIndexes[classIndex]].replace('/', '.');
+    }
+
+    @Override
+    public String toString() {
+        return "BytecodeClassMetadata{" + "name=" + name + ", superclassName=" + superclassName + ", interfaceNames=" + interfaceNames + ", declaredMethods=" + declaredMethods.size() + '}';
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.classparser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import se.peter.ivarsson.rest.doc.utils.LoggingUtils;
+
+/**
+ * Reads the metadata straight from the class file bytes, the classes are never loaded. The annotations, method
+ * descriptors, generic Signature attributes and enum constants give the same information as reflection, without
+ * running any static initializer and without the classes the analyzed classes depend on. A super class or interface
+ * that can't be found only leaves out the methods inherited from it.
+ *
+ * The class loader is only used to find the class files. Every class file is read once, so a super class used by many
+ * domain data classes is only parsed once.
+ *
+ * Enum constants are documented with their names, a toString() method of the enum isn't called.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class BytecodeMetadataReader implements ClassMetadataReader {
+
+    private static final Logger LOGGER = Logger.getLogger(BytecodeMetadataReader.class.getSimpleName());
+
+    private final ClassLoader classLoader;
+
+    private final Map<String, BytecodeClassMetadata> classMetadataCache = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, List<String>>> annotationDefaultValues = new ConcurrentHashMap<>();
+
+    public BytecodeMetadataReader(final ClassLoader classLoader, final File loggingDirectory) {
+
+        LoggingUtils.addLoggingFileHandler(loggingDirectory, LOGGER);
+
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public ClassMetadata getClassMetadata(final String className) throws ClassNotFoundException {
+
+        return getBytecodeClassMetadata(className);
+    }
+
+    /*
+     * Two threads may read the same class file at the same time, both get the metadata that was cached first
+     */
+    private BytecodeClassMetadata getBytecodeClassMetadata(final String className) throws ClassNotFoundException {
+
+        BytecodeClassMetadata classMetadata = classMetadataCache.get(className);
+
+        if (classMetadata != null) {
+
+            return classMetadata;
+        }
+
+        try {
+
+            classMetadata = BytecodeClassMetadata.parse(readClassFile(className), this);
+
+        } catch (IOException | RuntimeException e) {
+
+            throw new ClassNotFoundException("Can't read class file of " + className + ", " + e.getMessage(), e);
+        }
+
+        BytecodeClassMetadata cachedClassMetadata = classMetadataCache.putIfAbsent(className, classMetadata);
+
+        return cachedClassMetadata != null ? cachedClassMetadata : classMetadata;
+    }
+
+    private byte[] readClassFile(final String className) throws IOException, ClassNotFoundException {
+
+        try (InputStream inputStream = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+
+            if (inputStream == null) {
+
+                throw new ClassNotFoundException(className);
+            }
+
+            ByteArrayOutputStream classFile = new ByteArrayOutputStream(4096);
+
+            byte[] buffer = new byte[8192];
+            int length;
+
+            while ((length = inputStream.read(buffer)) != -1) {
+
+                classFile.write(buffer, 0, length);
+            }
+
+            return classFile.toByteArray();
+        }
+    }
+
+    /**
+     * The public methods like Class.getMethods(), the declared methods first, then the methods of the super class and
+     * then the methods of the interfaces. A method with the same name and descriptor as an earlier method is left out,
+     * static interface methods are not inherited.
+     */
+    List<MethodMetadata> getPublicMethods(final BytecodeClassMetadata classMetadata) {
+
+        Map<String, BytecodeMethodMetadata> publicMethods = new LinkedHashMap<>();
+
+        for (BytecodeMethodMetadata method : classMetadata.getBytecodeMethods()) {
+
+            if (method.isPublic()) {
+
+                publicMethods.putIfAbsent(method.getKey(), method);
+            }
+        }
+
+        if (classMetadata.getSuperclassName() != null) {
+
+            addInheritedMethods(publicMethods, classMetadata, classMetadata.getSuperclassName(), false);
+        }
+
+        for (String interfaceName : classMetadata.getInterfaceNames()) {
+
+            addInheritedMethods(publicMethods, classMetadata, interfaceName, true);
+        }
+
+        return Collections.unmodifiableList(new ArrayList<>(publicMethods.values()));
+    }
+
+    private void addInheritedMethods(final Map<String, BytecodeMethodMetadata> publicMethods, final BytecodeClassMetadata classMetadata,
+            final String superTypeName, final boolean fromInterface) {
+
+        try {
+
+            for (MethodMetadata method : getBytecodeClassMetadata(superTypeName).getMethods()) {
+
+                BytecodeMethodMetadata bytecodeMethod = (BytecodeMethodMetadata) method;
+
+                if (!fromInterface || !bytecodeMethod.isStatic()) {
+
+                    publicMethods.putIfAbsent(bytecodeMethod.getKey(), bytecodeMethod);
+                }
+            }
+        } catch (ClassNotFoundException cnfe) {
+
+            LOGGER.warning(() -> "Can't find " + superTypeName + ", the methods " + classMetadata.getName() + " inherits from it are left out");
+        }
+    }
+
+    /**
+     * @return The annotations with the default value of every element that isn't given
+     */
+    List<AnnotationMetadata> addDefaultValues(final List<AnnotationMetadata> annotations) {
+
+        if (annotations.isEmpty()) {
+
+            return annotations;
+        }
+
+        List<AnnotationMetadata> annotationsWithDefaults = new ArrayList<>(annotations.size());
+
+        for (AnnotationMetadata annotation : annotations) {
+
+            Map<String, List<String>> defaultValues = annotationDefaultValues.computeIfAbsent(annotation.getTypeName(), this::getAnnotationDefaultValues);
+
+            if (defaultValues.isEmpty()) {
+
+                annotationsWithDefaults.add(annotation);
+
+            } else {
+
+                Map<String, List<String>> values = new HashMap<>(defaultValues);
+
+                values.putAll(annotation.getValues());
+
+                annotationsWithDefaults.add(new AnnotationMetadata(annotation.getTypeName(), values));
+            }
+        }
+
+        return annotationsWithDefaults;
+    }
+
+    /*
+     * An annotation type that can't be found has no default values
+     */
+    private Map<String, List<String>> getAnnotationDefaultValues(final String annotationTypeName) {
+
+        try {
+
+            return getBytecodeClassMetadata(annotationTypeName).getAnnotationDefaultValues();
+
+        } catch (ClassNotFoundException cnfe) {
+
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.classparser;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The metadata of a method read from the class file. The type names are created from the descriptor, or from the
+ * Signature attribute if the method has generic types, when they are asked for.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+final class BytecodeMethodMetadata implements MethodMetadata {
+
+    private static final int ACC_VARARGS = 0x0080;
+
+    private final BytecodeClassMetadata declaringClass;
+    private final int accessFlags;
+    private final String name;
+    private final String descriptor;
+    private final String signature;
+    private final List<AnnotationMetadata> annotations;
+    private final List<List<AnnotationMetadata>> parameterAnnotations;
+    private final List<String> parameterNames;
+    private final List<String> exceptionNames;
+    private final List<String> annotationDefault;
+
+    // The methods are sorted by the generic string, it is created once
+    private volatile String genericString;
+
+    BytecodeMethodMetadata(final BytecodeClassMetadata declaringClass, final int accessFlags, final String name, final String descriptor,
+            final String signature, final List<AnnotationMetadata> annotations, final List<List<AnnotationMetadata>> parameterAnnotations,
+            final List<String> parameterNames, final List<String> exceptionNames, final List<String> annotationDefault) {
+
+        this.declaringClass = declaringClass;
+        this.accessFlags = accessFlags;
+        this.name = name;
+        this.descriptor = descriptor;
+        this.signature = signature;
+        this.annotations = annotations;
+        this.parameterAnnotations = parameterAnnotations;
+        this.parameterNames = parameterNames;
+        this.exceptionNames = exceptionNames;
+        this.annotationDefault = annotationDefault;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getReturnTypeName() {
+        return TypeSignatures.getClassName(TypeSignatures.getReturnDescriptor(descriptor));
+    }
+
+    @Override
+    public String getGenericReturnTypeName() {
+        return getGenericSignature().getReturnTypeName();
+    }
+
+    @Override
+    public int getParameterCount() {
+        return TypeSignatures.getParameterDescriptors(descriptor).size();
+    }
+
+    @Override
+    public List<ParameterMetadata> getParameters() {
+
+        List<String> parameterDescriptors = TypeSignatures.getParameterDescriptors(descriptor);
+        List<String> parameterTypeNames = getGenericParameterTypeNames(parameterDescriptors.size());
+
+        List<ParameterMetadata> parameters = new ArrayList<>(parameterDescriptors.size());
+
+        for (int index = 0; index < parameterDescriptors.size(); index++) {
+
+            parameters.add(new ParameterMetadata(getParameterName(index, parameterDescriptors.size()), TypeSignatures.getClassName(parameterDescriptors.get(index)),
+                    parameterTypeNames.get(index), getParameterAnnotations(index)));
+        }
+
+        return parameters;
+    }
+
+    @Override
+    public List<AnnotationMetadata> getAnnotations() {
+        return declaringClass.getReader().addDefaultValues(annotations);
+    }
+
+    /*
+     * The same text as Method.toGenericString()
+     */
+    @Override
+    public String getGenericString() {
+
+        String text = genericString;
+
+        if (text == null) {
+
+            text = createGenericString();
+
+            genericString = text;
+        }
+
+        return text;
+    }
+
+    boolean isPublic() {
+
+        return (accessFlags & BytecodeClassMetadata.ACC_PUBLIC) != 0;
+    }
+
+    boolean isStatic() {
+
+        return (accessFlags & BytecodeClassMetadata.ACC_STATIC) != 0;
+    }
+
+    /**
+     * @return Name and descriptor, the methods with the same key are the same method for Class.getMethods()
+     */
+    String getKey() {
+
+        return name + descriptor;
+    }
+
+    List<String> getAnnotationDefault() {
+
+        return annotationDefault;
+    }
+
+    private String createGenericString() {
+
+        StringBuilder text = new StringBuilder();
+
+        int modifiers = accessFlags & Modifier.methodModifiers();
+
+        boolean isDefault = declaringClass.isInterface()
+                && ((accessFlags & (BytecodeClassMetadata.ACC_ABSTRACT | BytecodeClassMetadata.ACC_PUBLIC | BytecodeClassMetadata.ACC_STATIC)) == BytecodeClassMetadata.ACC_PUBLIC);
+
+        if (isDefault) {
+
+            int accessModifiers = modifiers & (Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE);
+
+            if (accessModifiers != 0) {
+
+                text.append(Modifier.toString(accessModifiers)).append(' ');
+            }
+
+            text.append("default ");
+
+            modifiers &= ~(Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE);
+        }
+
+        if (modifiers != 0) {
+
+            text.append(Modifier.toString(modifiers)).append(' ');
+        }
+
+        TypeSignatures.MethodSignature methodSignature = getGenericSignature();
+
+        if (!methodSignature.getTypeParameters().isEmpty()) {
+
+            text.append('<').append(String.join(",", methodSignature.getTypeParameters())).append("> ");
+        }
+
+        text.append(methodSignature.getReturnTypeName()).append(' ').append(declaringClass.getName()).append('.').append(name).append('(');
+
+        List<String> parameterTypeNames = getGenericParameterTypeNames(TypeSignatures.getParameterDescriptors(descriptor).size());
+
+        for (int index = 0; index < parameterTypeNames.size(); index++) {
+
+            String parameterTypeName = parameterTypeNames.get(index);
+
+            if (((accessFlags & ACC_VARARGS) != 0) && (index == parameterTypeNames.size() - 1) && parameterTypeName.endsWith("[]")) {
+
+                parameterTypeName = parameterTypeName.substring(0, parameterTypeName.length() - 2) + "...";
+            }
+
+            if (index > 0) {
+
+                text.append(',');
+            }
+
+            text.append(parameterTypeName);
+        }
+
+        text.append(')');
+
+        List<String> exceptionTypeNames = methodSignature.getExceptionTypeNames().isEmpty() ? exceptionNames : methodSignature.getExceptionTypeNames();
+
+        if (!exceptionTypeNames.isEmpty()) {
+
+            text.append(" throws ").append(String.join(",", exceptionTypeNames));
+        }
+
+        return text.toString();
+    }
+
+    private TypeSignatures.MethodSignature getGenericSignature() {
+
+        return TypeSignatures.getMethodSignature(signature != null ? signature : descriptor);
+    }
+
+    /*
+     * Like reflection the descriptor is used if the signature hasn't got the same number of parameters
+     */
+    private List<String> getGenericParameterTypeNames(final int parameterCount) {
+
+        if (signature != null) {
+
+            List<String> parameterTypeNames = TypeSignatures.getMethodSignature(signature).getParameterTypeNames();
+
+            if (parameterTypeNames.size() == parameterCount) {
+
+                return parameterTypeNames;
+            }
+        }
+
+        return TypeSignatures.getMethodSignature(descriptor).getParameterTypeNames();
+    }
+
+    private String getParameterName(final int index, final int parameterCount) {
+
+        if ((parameterNames != null) && (parameterNames.size() == parameterCount)) {
+
+            String parameterName = parameterNames.get(index);
+
+            if ((parameterName != null) && !parameterName.isEmpty()) {
+
+                return parameterName;
+            }
+        }
+
+        return "arg" + index;
+    }
+
+    private List<AnnotationMetadata> getParameterAnnotations(final int index) {
+
+        if (index >= parameterAnnotations.size()) {
+
+            return Collections.emptyList();
+        }
+
+        return declaringClass.getReader().addDefaultValues(parameterAnnotations.get(index));
+    }
+
+    @Override
+    public String toString() {
+        return "BytecodeMethodMetadata{" + "declaringClass=" + declaringClass.getName() + ", name=" + name + ", descriptor=" + descriptor + ", signature=" + signature + '}';
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.classparser;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the constant pool of a class file, without loading the class, to find out if the class refers to any of the
+ * JAX-RS annotations used by the REST documentation, or which super class and interfaces the class has.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public final class ClassFileScanner {
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+
+    // Constant pool tags
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELD_REF = 9;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    // Same annotations as RestDocHandler looks for on classes and methods
+    private static final byte[][] JAX_RS_ANNOTATION_DESCRIPTORS = {
+        descriptor("Ljavax/ws/rs/Path;"),
+        descriptor("Ljavax/ws/rs/GET;"),
+        descriptor("Ljavax/ws/rs/POST;"),
+        descriptor("Ljavax/ws/rs/PUT;"),
+        descriptor("Ljavax/ws/rs/DELETE;")
+    };
+
+    private ClassFileScanner() {
+
+        throw new IllegalStateException("ClassFileScanner class");
+    }
+
+    /**
+     * @return true if the class file refers to a JAX-RS annotation, or if the file can't be read as a class file
+     */
+    public static boolean isJaxRsCandidate(final Path classFilePath) throws IOException {
+
+        try (InputStream inputStream = Files.newInputStream(classFilePath)) {
+
+            return isJaxRsCandidate(inputStream);
+        }
+    }
+
+    /**
+     * @return true if the class file refers to a JAX-RS annotation, or if the stream isn't a class file
+     */
+    public static boolean isJaxRsCandidate(final InputStream classFileStream) throws IOException {
+
+        DataInputStream input = new DataInputStream(new BufferedInputStream(classFileStream));
+
+        if (input.readInt() != CLASS_FILE_MAGIC) {
+
+            // Not a class file, let the class loader decide
+            return true;
+        }
+
+        input.readUnsignedShort();  // minor version
+        input.readUnsignedShort();  // major version
+
+        int constantPoolCount = input.readUnsignedShort();
+
+        byte[] utf8Buffer = new byte[256];
+
+        for (int index = 1; index < constantPoolCount; index++) {
+
+            int tag = input.readUnsignedByte();
+
+            switch (tag) {
+
+                case CONSTANT_UTF8:
+                    int length = input.readUnsignedShort();
+
+                    if (length > utf8Buffer.length) {
+
+                        utf8Buffer = new byte[length];
+                    }
+
+                    input.readFully(utf8Buffer, 0, length);
+
+                    if (isJaxRsAnnotationDescriptor(utf8Buffer, length)) {
+
+                        return true;
+                    }
+                    break;
+
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    input.skipBytes(2);
+                    break;
+
+                case CONSTANT_METHOD_HANDLE:
+                    input.skipBytes(3);
+                    break;
+
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELD_REF:
+                case CONSTANT_METHOD_REF:
+                case CONSTANT_INTERFACE_METHOD_REF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    input.skipBytes(4);
+                    break;
+
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    input.skipBytes(8);
+                    index++;  // Takes two entries in the constant pool
+                    break;
+
+                default:
+                    // Unknown constant pool tag, let the class loader decide
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return The names of the super class and the interfaces, like "java.lang.Object", an interface has
+     * java.lang.Object as super class
+     */
+    public static List<String> getSuperTypeNames(final byte[] classFile) throws IOException {
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(classFile));
+
+        if (input.readInt() != CLASS_FILE_MAGIC) {
+
+            throw new IOException("Not a class file");
+        }
+
+        input.readUnsignedShort();  // minor version
+        input.readUnsignedShort();  // major version
+
+        int constantPoolCount = input.readUnsignedShort();
+
+        String[] utf8Constants = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+
+        for (int index = 1; index < constantPoolCount; index++) {
+
+            int tag = input.readUnsignedByte();
+
+            switch (tag) {
+
+                case CONSTANT_UTF8:
+                    // Same modified UTF-8 as in the class file
+                    utf8Constants[index] = input.readUTF();
+                    break;
+
+                case CONSTANT_CLASS:
+                    classNameIndexes[index] = input.readUnsignedShort();
+                    break;
+
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    input.skipBytes(2);
+                    break;
+
+                case CONSTANT_METHOD_HANDLE:
+                    input.skipBytes(3);
+                    break;
+
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELD_REF:
+                case CONSTANT_METHOD_REF:
+                case CONSTANT_INTERFACE_METHOD_REF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    input.skipBytes(4);
+                    break;
+
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    input.skipBytes(8);
+                    index++;  // Takes two entries in the constant pool
+                    break;
+
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        input.readUnsignedShort();  // access flags
+        input.readUnsignedShort();  // this class
+
+        List<String> superTypeNames = new ArrayList<>();
+
+        int superclassIndex = input.readUnsignedShort();
+
+        // Only java.lang.Object has no super class
+        if (superclassIndex != 0) {
+
+            superTypeNames.add(utf8Constants[classNameIndexes[superclassIndex]].replace('/', '.'));
+        }
+
+        int interfacesCount = input.readUnsignedShort();
+
+        for (int index = 0; index < interfacesCount; index++) {
+
+            superTypeNames.add(utf8Constants[classNameIndexes[input.readUnsignedShort()]].replace('/', '.'));
+        }
+
+        return superTypeNames;
+    }
+
+    private static boolean isJaxRsAnnotationDescriptor(final byte[] utf8, final int length) {
+
+        for (byte[] annotationDescriptor : JAX_RS_ANNOTATION_DESCRIPTORS) {
+
+            if (annotationDescriptor.length == length && startsWith(utf8, annotationDescriptor)) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean startsWith(final byte[] utf8, final byte[] annotationDescriptor) {
+
+        for (int index = 0; index < annotationDescriptor.length; index++) {
+
+            if (utf8[index] != annotationDescriptor[index]) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static byte[] descriptor(final String descriptor) {
+
+        return descriptor.getBytes(StandardCharsets.US_ASCII);
+    }
+}
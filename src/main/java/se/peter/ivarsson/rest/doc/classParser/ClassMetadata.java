@@ -0,0 +1,48 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.classparser;
+
+import java.util.List;
+
+/**
+ * The parts of a class used by the REST documentation, the same information as reflection gives for the class.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public interface ClassMetadata {
+
+    /**
+     * @return Class name, like Class.getName()
+     */
+    String getName();
+
+    /**
+     * @return Super class name, or null for an interface and for java.lang.Object
+     */
+    String getSuperclassName();
+
+    List<String> getInterfaceNames();
+
+    /**
+     * @return The runtime visible annotations declared on the class
+     */
+    List<AnnotationMetadata> getAnnotations();
+
+    /**
+     * @return All methods declared in the class, like Class.getDeclaredMethods()
+     */
+    List<MethodMetadata> getDeclaredMethods();
+
+    /**
+     * @return The public methods of the class, its super classes and interfaces, like Class.getMethods()
+     */
+    List<MethodMetadata> getMethods();
+
+    /**
+     * @return The enum constants in declaration order, or null if the class isn't an enum
+     */
+    List<String> getEnumConstants();
+}
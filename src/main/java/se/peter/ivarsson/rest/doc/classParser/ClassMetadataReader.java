@@ -0,0 +1,22 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.classparser;
+
+/**
+ * Gives the metadata of the analyzed classes, the analysis engine used by RestDocHandler. The reader is called from
+ * several threads with parallelAnalysis.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public interface ClassMetadataReader {
+
+    /**
+     * @param className Class name, like Class.getName()
+     * @return The metadata of the class
+     * @throws ClassNotFoundException if the class can't be found
+     */
+    ClassMetadata getClassMetadata(String className) throws ClassNotFoundException;
+}
@@ -0,0 +1,42 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.classparser;
+
+import java.util.List;
+
+/**
+ * The parts of a method used by the REST documentation, the same information as reflection gives for the method.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public interface MethodMetadata {
+
+    String getName();
+
+    /**
+     * @return Return type name, like Method.getReturnType().getName()
+     */
+    String getReturnTypeName();
+
+    /**
+     * @return Return type name with type arguments, like Method.getGenericReturnType().getTypeName()
+     */
+    String getGenericReturnTypeName();
+
+    int getParameterCount();
+
+    List<ParameterMetadata> getParameters();
+
+    /**
+     * @return The runtime visible annotations declared on the method
+     */
+    List<AnnotationMetadata> getAnnotations();
+
+    /**
+     * @return Method description, like Method.toGenericString()
+     */
+    String getGenericString();
+}
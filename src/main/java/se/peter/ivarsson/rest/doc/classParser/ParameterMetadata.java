@@ -0,0 +1,56 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.classparser;
+
+import java.util.List;
+
+/**
+ * A method parameter, the same information as reflection gives for the parameter.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public final class ParameterMetadata {
+
+    private final String name;
+    private final String typeName;
+    private final String parameterizedTypeName;
+    private final List<AnnotationMetadata> annotations;
+
+    /**
+     * @param name Parameter name, like Parameter.getName()
+     * @param typeName Type name, like Parameter.getType().getName()
+     * @param parameterizedTypeName Type name with type arguments, like Parameter.getParameterizedType().getTypeName()
+     * @param annotations The runtime visible annotations of the parameter
+     */
+    public ParameterMetadata(final String name, final String typeName, final String parameterizedTypeName, final List<AnnotationMetadata> annotations) {
+
+        this.name = name;
+        this.typeName = typeName;
+        this.parameterizedTypeName = parameterizedTypeName;
+        this.annotations = annotations;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public String getParameterizedTypeName() {
+        return parameterizedTypeName;
+    }
+
+    public List<AnnotationMetadata> getAnnotations() {
+        return annotations;
+    }
+
+    @Override
+    public String toString() {
+        return "ParameterMetadata{" + "name=" + name + ", typeName=" + typeName + ", parameterizedTypeName=" + parameterizedTypeName + ", annotations=" + annotations + '}';
+    }
+}
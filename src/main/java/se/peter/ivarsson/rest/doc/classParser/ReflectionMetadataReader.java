@@ -0,0 +1,207 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.classparser;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the classes with the class loader and gets the metadata by reflection. The classes are linked and initialized
+ * by the class loader, so every class they use must be on the class path.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class ReflectionMetadataReader implements ClassMetadataReader {
+
+    private final ClassLoader classLoader;
+
+    public ReflectionMetadataReader(final ClassLoader classLoader) {
+
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public ClassMetadata getClassMetadata(final String className) throws ClassNotFoundException {
+
+        return new ReflectionClassMetadata(classLoader.loadClass(className));
+    }
+
+    private static List<AnnotationMetadata> getAnnotationMetadata(final Annotation[] annotations) {
+
+        List<AnnotationMetadata> annotationMetadataList = new ArrayList<>(annotations.length);
+
+        for (Annotation annotation : annotations) {
+
+            Map<String, List<String>> values = new HashMap<>();
+
+            for (Method element : annotation.annotationType().getDeclaredMethods()) {
+
+                try {
+
+                    if (element.getReturnType() == String.class) {
+
+                        values.put(element.getName(), Collections.singletonList((String) element.invoke(annotation)));
+
+                    } else if (element.getReturnType() == String[].class) {
+
+                        values.put(element.getName(), Arrays.asList((String[]) element.invoke(annotation)));
+                    }
+                } catch (ReflectiveOperationException roe) {
+
+                    // The value can't be read, the element is left out
+                }
+            }
+
+            annotationMetadataList.add(new AnnotationMetadata(annotation.annotationType().getName(), values));
+        }
+
+        return annotationMetadataList;
+    }
+
+    private static List<MethodMetadata> getMethodMetadata(final Method[] methods) {
+
+        List<MethodMetadata> methodMetadataList = new ArrayList<>(methods.length);
+
+        for (Method method : methods) {
+
+            methodMetadataList.add(new ReflectionMethodMetadata(method));
+        }
+
+        return methodMetadataList;
+    }
+
+    /**
+     * Every call asks the class, so a missing class shows up where reflection is used
+     */
+    private static final class ReflectionClassMetadata implements ClassMetadata {
+
+        private final Class<?> clazz;
+
+        ReflectionClassMetadata(final Class<?> clazz) {
+
+            this.clazz = clazz;
+        }
+
+        @Override
+        public String getName() {
+            return clazz.getName();
+        }
+
+        @Override
+        public String getSuperclassName() {
+            return clazz.getSuperclass() == null ? null : clazz.getSuperclass().getName();
+        }
+
+        @Override
+        public List<String> getInterfaceNames() {
+
+            List<String> interfaceNames = new ArrayList<>();
+
+            for (Class<?> interfaceClass : clazz.getInterfaces()) {
+
+                interfaceNames.add(interfaceClass.getName());
+            }
+
+            return interfaceNames;
+        }
+
+        @Override
+        public List<AnnotationMetadata> getAnnotations() {
+            return getAnnotationMetadata(clazz.getAnnotations());
+        }
+
+        @Override
+        public List<MethodMetadata> getDeclaredMethods() {
+            return getMethodMetadata(clazz.getDeclaredMethods());
+        }
+
+        @Override
+        public List<MethodMetadata> getMethods() {
+            return getMethodMetadata(clazz.getMethods());
+        }
+
+        @Override
+        public List<String> getEnumConstants() {
+
+            Object[] enumConstants = clazz.getEnumConstants();
+
+            if (enumConstants == null) {
+
+                return null;
+            }
+
+            List<String> enumConstantNames = new ArrayList<>(enumConstants.length);
+
+            for (Object enumConstant : enumConstants) {
+
+                enumConstantNames.add(String.valueOf(enumConstant));
+            }
+
+            return enumConstantNames;
+        }
+    }
+
+    private static final class ReflectionMethodMetadata implements MethodMetadata {
+
+        private final Method method;
+
+        ReflectionMethodMetadata(final Method method) {
+
+            this.method = method;
+        }
+
+        @Override
+        public String getName() {
+            return method.getName();
+        }
+
+        @Override
+        public String getReturnTypeName() {
+            return method.getReturnType().getName();
+        }
+
+        @Override
+        public String getGenericReturnTypeName() {
+            return method.getGenericReturnType().getTypeName();
+        }
+
+        @Override
+        public int getParameterCount() {
+            return method.getParameterCount();
+        }
+
+        @Override
+        public List<ParameterMetadata> getParameters() {
+
+            List<ParameterMetadata> parameters = new ArrayList<>();
+
+            for (Parameter parameter : method.getParameters()) {
+
+                parameters.add(new ParameterMetadata(parameter.getName(), parameter.getType().getName(), parameter.getParameterizedType().getTypeName(),
+                        getAnnotationMetadata(parameter.getAnnotations())));
+            }
+
+            return parameters;
+        }
+
+        @Override
+        public List<AnnotationMetadata> getAnnotations() {
+            return getAnnotationMetadata(method.getAnnotations());
+        }
+
+        @Override
+        public String getGenericString() {
+            return method.toGenericString();
+        }
+    }
+}
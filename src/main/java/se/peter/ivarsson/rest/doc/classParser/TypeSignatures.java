@@ -0,0 +1,347 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.classparser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts the descriptors and the generic Signature attributes of a class file to the type names reflection gives,
+ * like "java.lang.String[]" and "java.util.List<com.example.Movie>".
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+final class TypeSignatures {
+
+    private static final String OBJECT_CLASS_NAME = "java.lang.Object";
+
+    private final String signature;
+    private int position;
+
+    private TypeSignatures(final String signature) {
+
+        this.signature = signature;
+    }
+
+    /**
+     * @return Class name of a field descriptor, like Class.getName(), "Ljava/lang/String;" gives "java.lang.String" and
+     * "[Ljava/lang/String;" gives "[Ljava.lang.String;"
+     */
+    static String getClassName(final String descriptor) {
+
+        if (descriptor.charAt(0) == '[') {
+
+            return descriptor.replace('/', '.');
+        }
+
+        return new TypeSignatures(descriptor).readTypeName();
+    }
+
+    /**
+     * @return The field descriptors of the parameters in a method descriptor, "(I[Ljava/lang/String;)V" gives "I" and
+     * "[Ljava/lang/String;"
+     */
+    static List<String> getParameterDescriptors(final String methodDescriptor) {
+
+        List<String> parameterDescriptors = new ArrayList<>();
+
+        int index = 1;
+
+        while (methodDescriptor.charAt(index) != ')') {
+
+            int start = index;
+
+            while (methodDescriptor.charAt(index) == '[') {
+
+                index++;
+            }
+
+            if (methodDescriptor.charAt(index) == 'L') {
+
+                index = methodDescriptor.indexOf(';', index);
+            }
+
+            index++;
+
+            parameterDescriptors.add(methodDescriptor.substring(start, index));
+        }
+
+        return parameterDescriptors;
+    }
+
+    /**
+     * @return The field descriptor of the return type in a method descriptor
+     */
+    static String getReturnDescriptor(final String methodDescriptor) {
+
+        return methodDescriptor.substring(methodDescriptor.indexOf(')') + 1);
+    }
+
+    /**
+     * @return Type name of a field descriptor or a field type signature, like Type.getTypeName()
+     */
+    static String getTypeName(final String signature) {
+
+        return new TypeSignatures(signature).readTypeName();
+    }
+
+    /**
+     * @return The type names of the parameters, the return type and the exceptions of a method descriptor or a method
+     * signature, the type parameters of a method signature are the first type names. Like
+     * "&lt;T:Ljava/lang/Object;&gt;(TT;I)Ljava/util/List&lt;TT;&gt;;" gives the lists [T], [T, int], [java.util.List&lt;T&gt;]
+     * and [].
+     */
+    static MethodSignature getMethodSignature(final String signature) {
+
+        TypeSignatures typeSignatures = new TypeSignatures(signature);
+
+        MethodSignature methodSignature = new MethodSignature();
+
+        if (typeSignatures.peek() == '<') {
+
+            typeSignatures.readTypeParameters(methodSignature.typeParameters);
+        }
+
+        typeSignatures.expect('(');
+
+        while (typeSignatures.peek() != ')') {
+
+            methodSignature.parameterTypeNames.add(typeSignatures.readTypeName());
+        }
+
+        typeSignatures.expect(')');
+
+        methodSignature.returnTypeName = typeSignatures.readTypeName();
+
+        while (typeSignatures.position < signature.length()) {
+
+            typeSignatures.expect('^');
+
+            methodSignature.exceptionTypeNames.add(typeSignatures.readTypeName());
+        }
+
+        return methodSignature;
+    }
+
+    /*
+     * <T:Ljava/lang/Object;U::Ljava/lang/Comparable<TU;>;> gives "T" and "U extends java.lang.Comparable<U>"
+     */
+    private void readTypeParameters(final List<String> typeParameters) {
+
+        expect('<');
+
+        while (peek() != '>') {
+
+            int nameEnd = signature.indexOf(':', position);
+
+            String name = signature.substring(position, nameEnd);
+
+            position = nameEnd;
+
+            List<String> bounds = new ArrayList<>();
+
+            while (peek() == ':') {
+
+                position++;
+
+                // The class bound is empty if there are only interface bounds
+                if ((peek() != ':') && (peek() != '>')) {
+
+                    bounds.add(readTypeName());
+                }
+            }
+
+            if (bounds.isEmpty() || ((bounds.size() == 1) && bounds.get(0).equals(OBJECT_CLASS_NAME))) {
+
+                typeParameters.add(name);
+
+            } else {
+
+                typeParameters.add(name + " extends " + String.join(" & ", bounds));
+            }
+        }
+
+        expect('>');
+    }
+
+    private String readTypeName() {
+
+        char character = signature.charAt(position++);
+
+        switch (character) {
+
+            case 'B':
+                return "byte";
+
+            case 'C':
+                return "char";
+
+            case 'D':
+                return "double";
+
+            case 'F':
+                return "float";
+
+            case 'I':
+                return "int";
+
+            case 'J':
+                return "long";
+
+            case 'S':
+                return "short";
+
+            case 'Z':
+                return "boolean";
+
+            case 'V':
+                return "void";
+
+            case '[':
+                return readTypeName() + "[]";
+
+            case 'T':
+                String typeVariableName = readIdentifier(";");
+                expect(';');
+                return typeVariableName;
+
+            case 'L':
+                return readClassTypeName();
+
+            default:
+                throw new IllegalArgumentException("Unknown type " + character + " in signature " + signature);
+        }
+    }
+
+    /*
+     * An inner class of a generic class, like Lcom/example/Outer<TT;>.Inner<TU;>; gives "com.example.Outer<T>$Inner<U>"
+     */
+    private String readClassTypeName() {
+
+        StringBuilder typeName = new StringBuilder(readIdentifier("<.;").replace('/', '.'));
+
+        readTypeArguments(typeName);
+
+        while (peek() == '.') {
+
+            position++;
+
+            typeName.append('$').append(readIdentifier("<.;"));
+
+            readTypeArguments(typeName);
+        }
+
+        expect(';');
+
+        return typeName.toString();
+    }
+
+    private void readTypeArguments(final StringBuilder typeName) {
+
+        if (peek() != '<') {
+
+            return;
+        }
+
+        position++;
+
+        typeName.append('<');
+
+        boolean firstTypeArgument = true;
+
+        while (peek() != '>') {
+
+            if (!firstTypeArgument) {
+
+                typeName.append(", ");
+            }
+
+            firstTypeArgument = false;
+
+            typeName.append(readTypeArgument());
+        }
+
+        position++;
+
+        typeName.append('>');
+    }
+
+    private String readTypeArgument() {
+
+        switch (peek()) {
+
+            case '*':
+                position++;
+                return "?";
+
+            case '+':
+                position++;
+                String upperBound = readTypeName();
+                return upperBound.equals(OBJECT_CLASS_NAME) ? "?" : "? extends " + upperBound;
+
+            case '-':
+                position++;
+                return "? super " + readTypeName();
+
+            default:
+                return readTypeName();
+        }
+    }
+
+    private String readIdentifier(final String endCharacters) {
+
+        int start = position;
+
+        while (endCharacters.indexOf(signature.charAt(position)) == -1) {
+
+            position++;
+        }
+
+        return signature.substring(start, position);
+    }
+
+    private char peek() {
+
+        return signature.charAt(position);
+    }
+
+    private void expect(final char character) {
+
+        if (signature.charAt(position) != character) {
+
+            throw new IllegalArgumentException("Expected " + character + " at " + position + " in signature " + signature);
+        }
+
+        position++;
+    }
+
+    /**
+     * The type names of a method signature
+     */
+    static final class MethodSignature {
+
+        private final List<String> typeParameters = new ArrayList<>();
+        private final List<String> parameterTypeNames = new ArrayList<>();
+        private String returnTypeName;
+        private final List<String> exceptionTypeNames = new ArrayList<>();
+
+        List<String> getTypeParameters() {
+            return typeParameters;
+        }
+
+        List<String> getParameterTypeNames() {
+            return parameterTypeNames;
+        }
+
+        String getReturnTypeName() {
+            return returnTypeName;
+        }
+
+        List<String> getExceptionTypeNames() {
+            return exceptionTypeNames;
+        }
+    }
+}
@@ -21,6 +21,17 @@ public class ConfigParameters {
     private String openApiDevelopmentServerUrl;
     private String openApiStagingServerUrl;
     private String openApiProductionServerUrl;
+    private boolean parallelAnalysis;
+    private int analysisThreads;
+    private boolean prefilterClassFiles = true;
+    private boolean incrementalAnalysis;
+    private boolean schemaCache;
+    private File schemaCacheDirectory;
+    private boolean byteSourceReading;
+    private boolean parallelOutput;
+    private int outputThreads;
+    private String jarPackages;
+    private boolean bytecodeAnalysis;
 
     public File getOutputDirectory() {
         return outputDirectory;
@@ -86,8 +97,96 @@ public class ConfigParameters {
         this.openApiProductionServerUrl = openApiProductionServerUrl;
     }
 
+    public boolean isParallelAnalysis() {
+        return parallelAnalysis;
+    }
+
+    public void setParallelAnalysis(boolean parallelAnalysis) {
+        this.parallelAnalysis = parallelAnalysis;
+    }
+
+    public int getAnalysisThreads() {
+        return analysisThreads;
+    }
+
+    public void setAnalysisThreads(int analysisThreads) {
+        this.analysisThreads = analysisThreads;
+    }
+
+    public boolean isPrefilterClassFiles() {
+        return prefilterClassFiles;
+    }
+
+    public void setPrefilterClassFiles(boolean prefilterClassFiles) {
+        this.prefilterClassFiles = prefilterClassFiles;
+    }
+
+    public boolean isIncrementalAnalysis() {
+        return incrementalAnalysis;
+    }
+
+    public void setIncrementalAnalysis(boolean incrementalAnalysis) {
+        this.incrementalAnalysis = incrementalAnalysis;
+    }
+
+    public boolean isSchemaCache() {
+        return schemaCache;
+    }
+
+    public void setSchemaCache(boolean schemaCache) {
+        this.schemaCache = schemaCache;
+    }
+
+    public File getSchemaCacheDirectory() {
+        return schemaCacheDirectory;
+    }
+
+    public void setSchemaCacheDirectory(File schemaCacheDirectory) {
+        this.schemaCacheDirectory = schemaCacheDirectory;
+    }
+
+    public boolean isByteSourceReading() {
+        return byteSourceReading;
+    }
+
+    public void setByteSourceReading(boolean byteSourceReading) {
+        this.byteSourceReading = byteSourceReading;
+    }
+
+    public boolean isParallelOutput() {
+        return parallelOutput;
+    }
+
+    public void setParallelOutput(boolean parallelOutput) {
+        this.parallelOutput = parallelOutput;
+    }
+
+    public int getOutputThreads() {
+        return outputThreads;
+    }
+
+    public void setOutputThreads(int outputThreads) {
+        this.outputThreads = outputThreads;
+    }
+
+    public String getJarPackages() {
+        return jarPackages;
+    }
+
+    public void setJarPackages(String jarPackages) {
+        this.jarPackages = jarPackages;
+    }
+
+    public boolean isBytecodeAnalysis() {
+        return bytecodeAnalysis;
+    }
+
+    public void setBytecodeAnalysis(boolean bytecodeAnalysis) {
+        this.bytecodeAnalysis = bytecodeAnalysis;
+    }
+
     @Override
     public String toString() {
-        return "configParameters{" + "outputDirectory=" + outputDirectory + ", loggingDirectory=" + loggingDirectory + ", projectTitle=" + projectTitle + ", openApiDocVersion=" + openApiDocVersion + ", openApiLicenceName=" + openApiLicenceName + ", openApiDevelopmentServerUrl=" + openApiDevelopmentServerUrl + ", openApiStagingServerUrl=" + openApiStagingServerUrl + ", openApiProductionServerUrl=" + openApiProductionServerUrl + '}';
+        return "configParameters{" + "outputDirectory=" + outputDirectory + ", loggingDirectory=" + loggingDirectory + ", projectTitle=" + projectTitle + ", openApiDocVersion=" + openApiDocVersion + ", openApiLicenceName=" + openApiLicenceName + ", openApiDevelopmentServerUrl=" + openApiDevelopmentServerUrl + ", openApiStagingServerUrl=" + openApiStagingServerUrl + ", openApiProductionServerUrl=" + openApiProductionServerUrl + ", parallelAnalysis=" + parallelAnalysis + ", analysisThreads=" + analysisThreads + ", prefilterClassFiles=" + prefilterClassFiles + ", incrementalAnalysis=" + incrementalAnalysis + ", schemaCache=" + schemaCache + ", schemaCacheDirectory=" + schemaCacheDirectory + ", byteSourceReading=" + byteSourceReading + ", parallelOutput=" + parallelOutput + ", outputThreads=" + outputThreads + ", jarPackages=" + jarPackages + ", bytecodeAnalysis=" + bytecodeAnalysis + '}';
     }
 }
@@ -10,12 +10,26 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiJsonSerializer;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiSerializer;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiYamlSerializer;
 import se.peter.ivarsson.rest.doc.output.HtmlOutput;
 import se.peter.ivarsson.rest.doc.output.OpenApiOutput;
+import se.peter.ivarsson.rest.doc.output.OutputFileWriter;
 import se.peter.ivarsson.rest.doc.parser.RestDocHandler;
+import se.peter.ivarsson.rest.doc.parser.RestInfoIndex;
+import se.peter.ivarsson.rest.doc.snapshot.RestInfoSnapshot;
+import se.peter.ivarsson.rest.doc.utils.PerformanceReport;
 
 /**
  * Maven goal which create REST documentetion.
@@ -26,6 +40,13 @@ import se.peter.ivarsson.rest.doc.parser.RestDocHandler;
  */
 public class RESTDocMojo extends AbstractMojo {
 
+    private static final String OUTPUT_TYPE_HTML = "html";
+    private static final String OUTPUT_TYPE_OPENAPI = "openapi";
+    private static final String OUTPUT_TYPE_OPENAPI_JSON = "openapi-json";
+
+    private static final String ANALYSIS_ENGINE_REFLECTION = "reflection";
+    private static final String ANALYSIS_ENGINE_BYTECODE = "bytecode";
+
     /**
      * File path where to find the classes files ( the classes directory )
      *
@@ -44,6 +65,53 @@ public class RESTDocMojo extends AbstractMojo {
      */
     private File sourcesDirectory;
 
+    /**
+     * More classes directories, for an API in more than one module. They are analyzed together with classesDirectory
+     * into one documentation.
+     *
+     * @parameter property="classesDirectories"
+     */
+    private List<File> classesDirectories;
+
+    /**
+     * More sources directories, for an API in more than one module. They are analyzed together with sourcesDirectory.
+     *
+     * @parameter property="sourcesDirectories"
+     */
+    private List<File> sourcesDirectories;
+
+    /**
+     * Add the classes directory and the compile source roots of every project in the reactor, the whole multi module
+     * build is documented by one execution.
+     *
+     * @parameter property="reactorAnalysis" default-value="false"
+     */
+    private boolean reactorAnalysis;
+
+    /**
+     * The projects in the reactor, used by reactorAnalysis
+     *
+     * @parameter default-value="${reactorProjects}"
+     * @readonly
+     */
+    private List<MavenProject> reactorProjects;
+
+    /**
+     * Jar files with REST resources, like shared base resources or vendor APIs. The class files are read directly from
+     * the jars, nothing is extracted to disk.
+     *
+     * @parameter property="classesJars"
+     */
+    private List<File> classesJars;
+
+    /**
+     * Comma separated list of the packages analyzed in classesJars, like "com.example.api, com.vendor.rest", sub packages
+     * are included. Empty means every class in the jars.
+     *
+     * @parameter property="jarPackages"
+     */
+    private String jarPackages;
+
     /**
      * File path where to put the HTML output files
      *
@@ -72,7 +140,8 @@ public class RESTDocMojo extends AbstractMojo {
     private String projectTitle;
 
     /**
-     * Output Type html or openapi
+     * Output Type html, openapi (YAML) or openapi-json, or a comma separated list like html,openapi,openapi-json.
+     * The analysis is done once for all output types.
      *
      * @parameter property="outputType"
      * @required
@@ -125,6 +194,93 @@ public class RESTDocMojo extends AbstractMojo {
      */
     private String openApiProductionServerUrl;
 
+    /**
+     * Analyze the source files, class files and domain data classes in parallel, one file or class per task.
+     *
+     * @parameter property="parallelAnalysis" default-value="false"
+     */
+    private boolean parallelAnalysis;
+
+    /**
+     * Number of threads used when parallelAnalysis is true, 0 means one thread per available processor.
+     *
+     * @parameter property="analysisThreads" default-value="0"
+     */
+    private int analysisThreads;
+
+    /**
+     * Read the constant pool of each class file and only load classes that refer to JAX-RS annotations.
+     *
+     * @parameter property="prefilterClassFiles" default-value="true"
+     */
+    private boolean prefilterClassFiles;
+
+    /**
+     * Save the analysis result of each file in the logging directory, only new and changed files are analyzed in
+     * the next build.
+     *
+     * @parameter property="incrementalAnalysis" default-value="false"
+     */
+    private boolean incrementalAnalysis;
+
+    /**
+     * Cache the domain data schemas in memory, shared by all executions in the same JVM (e.g. all modules in a
+     * reactor build). A domain data class is only analyzed again if its class file is changed.
+     *
+     * @parameter property="schemaCache" default-value="false"
+     */
+    private boolean schemaCache;
+
+    /**
+     * Directory where the schema cache is saved between builds, the schema cache is only kept in memory if not set.
+     * Use the same directory in all modules to share the schemas.
+     *
+     * @parameter property="schemaCacheDirectory"
+     */
+    private File schemaCacheDirectory;
+
+    /**
+     * How the annotations, methods and generic types of the classes are read, reflection or bytecode. The bytecode
+     * engine reads them from the class files without loading the classes, so no static initializer is run and the
+     * classes the domain data depends on don't have to be on the class path. Enum constants are documented with their
+     * names.
+     *
+     * @parameter property="analysisEngine" default-value="reflection"
+     */
+    private String analysisEngine;
+
+    /**
+     * Read the source files as bytes, memory mapped for large files. Files that don't contain any text the plugin
+     * looks for are not parsed, and only the parts of a file that are used are decoded to text.
+     *
+     * @parameter property="byteSourceReading" default-value="false"
+     */
+    private boolean byteSourceReading;
+
+    /**
+     * Write the HTML pages of the REST resources and the domain data in parallel, one page per task. Every thread
+     * reuses one page buffer, so at most outputThreads pages are kept in memory. The pages are the same as in a
+     * sequential run. When more than one outputType is given the output types are written in parallel too.
+     *
+     * @parameter property="parallelOutput" default-value="false"
+     */
+    private boolean parallelOutput;
+
+    /**
+     * Number of threads used when parallelOutput is true, 0 means one thread per available processor.
+     *
+     * @parameter property="outputThreads" default-value="0"
+     */
+    private int outputThreads;
+
+    /**
+     * Write a binary snapshot of the analysis result, RestDocSnapshot.bin, to the output directory. The snapshot can be
+     * read with RestInfoSnapshot.read() by other tools, without analyzing the project again.
+     *
+     * @parameter property="snapshot" default-value="false"
+     */
+    private boolean snapshot;
+
     @Override
     public void execute() throws MojoExecutionException {
 
@@ -132,10 +288,19 @@ public class RESTDocMojo extends AbstractMojo {
 
         getLog().info("classesDirectory = " + classesDirectory);
         getLog().info("sourcesDirectory = " + sourcesDirectory);
+        getLog().info("classesDirectories = " + classesDirectories);
+        getLog().info("sourcesDirectories = " + sourcesDirectories);
+        getLog().info("reactorAnalysis = " + reactorAnalysis);
+        getLog().info("classesJars = " + classesJars);
+        getLog().info("jarPackages = " + jarPackages);
         getLog().info("outputDirectory = " + outputDirectory);
         getLog().info("loggingDirectory = " + loggingDirectory);
         getLog().info("projectTitle = " + projectTitle);
-        getLog().info("outputType = " + outputType + "\n");
+        getLog().info("outputType = " + outputType);
+        getLog().info("analysisEngine = " + analysisEngine);
+        getLog().info("parallelAnalysis = " + parallelAnalysis);
+        getLog().info("parallelOutput = " + parallelOutput);
+        getLog().info("snapshot = " + snapshot + "\n");
 
         // avoid execution if classes directory does not exist
         if (!isConfigParameterSet(classesDirectory)) {
@@ -204,30 +369,40 @@ public class RESTDocMojo extends AbstractMojo {
             throw new MojoExecutionException(error);
         }
 
-        // Output Type html or openapi
+        // Output Type html, openapi or openapi-json, or a comma separated list of them
         if (!isConfigParameterSet(outputType)) {
 
-            String error = "Missing output type (html or openapi)";
+            String error = "Missing output type (html, openapi or openapi-json)";
             throw new MojoExecutionException(error);
         }
 
-        new RestDocHandler(classesDirectory, sourcesDirectory, loggingDirectory);
+        Set<String> outputTypes = getOutputTypes(outputType);
+
+        if (outputTypes.isEmpty()) {
+
+            String error = "Missing output type (html, openapi or openapi-json)";
+            throw new MojoExecutionException(error);
+        }
 
         ConfigParameters configParameters = new ConfigParameters();
 
         configParameters.setOutputDirectory(outputDirectory);
         configParameters.setLoggingDirectory(loggingDirectory);
         configParameters.setProjectTitle(projectTitle);
-
-        if (outputType.equals("html")) {
-
-            getLog().info("\nRESTDocMojo maven plugin creates HTML output files\n");
-
-            HtmlOutput htmlOutput = new HtmlOutput();
-
-            htmlOutput.createHTMLDocumantation(configParameters);
-
-        } else {
+        configParameters.setParallelAnalysis(parallelAnalysis);
+        configParameters.setAnalysisThreads(analysisThreads);
+        configParameters.setPrefilterClassFiles(prefilterClassFiles);
+        configParameters.setIncrementalAnalysis(incrementalAnalysis);
+        configParameters.setSchemaCache(schemaCache);
+        configParameters.setSchemaCacheDirectory(schemaCacheDirectory);
+        configParameters.setByteSourceReading(byteSourceReading);
+        configParameters.setParallelOutput(parallelOutput);
+        configParameters.setOutputThreads(outputThreads);
+        configParameters.setJarPackages(jarPackages);
+        configParameters.setBytecodeAnalysis(isBytecodeAnalysisEngine(analysisEngine));
+
+        // The OpenApi parameters are checked before the analysis, not after it
+        if (outputTypes.contains(OUTPUT_TYPE_OPENAPI) || outputTypes.contains(OUTPUT_TYPE_OPENAPI_JSON)) {
 
             if (!isConfigParameterSet(openApiDocVersion)) {
 
@@ -249,22 +424,298 @@ public class RESTDocMojo extends AbstractMojo {
                 throw new MojoExecutionException(error);
             }
 
-            getLog().info("\nRESTDocMojo maven plugin creates OpenApi output file\n");
-
             configParameters.setOpenApiDocVersion(openApiDocVersion);
             configParameters.setOpenApiLicenceName(openApiLicenceName);
             configParameters.setOpenApiDevelopmentServerUrl(openApiDevelopmentServerUrl);
             configParameters.setOpenApiStagingServerUrl(openApiStagingServerUrl);
             configParameters.setOpenApiProductionServerUrl(openApiProductionServerUrl);
+        }
+
+        PerformanceReport performanceReport = new PerformanceReport(loggingDirectory);
+
+        List<File> classesDirectoryList = getClassesDirectories();
+        List<File> classesJarList = getClassesJars();
+        List<File> sourcesDirectoryList = getSourcesDirectories();
 
-            OpenApiOutput openApiOutput = new OpenApiOutput();
+        getLog().info("Analyzed classes directories = " + classesDirectoryList);
+        getLog().info("Analyzed classes jars = " + classesJarList);
+        getLog().info("Analyzed sources directories = " + sourcesDirectoryList);
 
-            openApiOutput.createOpenApiDocumantation(configParameters);
+        RestDocHandler restDocHandler = new RestDocHandler(classesDirectoryList, classesJarList, sourcesDirectoryList, configParameters, performanceReport);
+
+        if (prefilterClassFiles) {
+
+            getLog().info("Skipped " + restDocHandler.getSkippedClassFiles() + " class files without JAX-RS annotations");
+        }
+
+        // The output is created from an index of the analysis result, the index is created once for all outputs
+        PerformanceReport.Phase indexPhase = performanceReport.startPhase("Index", "classes");
+
+        RestInfoIndex restInfoIndex = new RestInfoIndex(RestDocHandler.restInfo);
+
+        indexPhase.end(restInfoIndex.getClasses().size());
+
+        if (snapshot) {
+
+            writeSnapshot(performanceReport);
         }
 
+        // The analysis is done once, every output type is written from the same index
+        if (parallelOutput && (outputTypes.size() > 1)) {
+
+            writeOutputsInParallel(outputTypes, configParameters, restInfoIndex, performanceReport);
+
+        } else {
+
+            for (String type : outputTypes) {
+
+                PerformanceReport.Phase outputPhase = performanceReport.startPhase("Output " + type, "output files");
+
+                OutputFileWriter outputFileWriter = new OutputFileWriter();
+
+                writeOutput(type, configParameters, restInfoIndex, outputFileWriter);
+
+                endOutputPhase(outputPhase, outputFileWriter);
+
+                getLog().info("Output files " + type + ": " + outputFileWriter);
+            }
+        }
+
+        logPerformanceReport(performanceReport);
+
         getLog().info("\nRESTDocMojo maven plugin FINISHED executing\n");
     }
 
+    private List<File> getClassesDirectories() {
+
+        Set<File> directories = new LinkedHashSet<>();
+
+        addDirectory(directories, classesDirectory, true);
+
+        if (classesDirectories != null) {
+
+            classesDirectories.forEach(directory -> addDirectory(directories, directory, true));
+        }
+
+        if (reactorAnalysis && (reactorProjects != null)) {
+
+            // A project without classes, like a pom project, is skipped
+            reactorProjects.forEach(project -> addDirectory(directories, new File(project.getBuild().getOutputDirectory()), false));
+        }
+
+        return new ArrayList<>(directories);
+    }
+
+    private List<File> getClassesJars() {
+
+        Set<File> jars = new LinkedHashSet<>();
+
+        if (classesJars != null) {
+
+            classesJars.forEach(jar -> {
+
+                if ((jar == null) || !jar.isFile()) {
+
+                    getLog().warn("Can't find jar file: " + jar + ", it is not analyzed");
+
+                } else {
+
+                    jars.add(jar.toPath().toAbsolutePath().normalize().toFile());
+                }
+            });
+        }
+
+        return new ArrayList<>(jars);
+    }
+
+    private List<File> getSourcesDirectories() {
+
+        Set<File> directories = new LinkedHashSet<>();
+
+        addDirectory(directories, sourcesDirectory, true);
+
+        if (sourcesDirectories != null) {
+
+            sourcesDirectories.forEach(directory -> addDirectory(directories, directory, true));
+        }
+
+        if (reactorAnalysis && (reactorProjects != null)) {
+
+            reactorProjects.forEach(project -> project.getCompileSourceRoots()
+                    .forEach(sourceRoot -> addDirectory(directories, new File(sourceRoot), false)));
+        }
+
+        return new ArrayList<>(directories);
+    }
+
+    /*
+     * The same directory is only added once, even if it is given in different ways
+     */
+    private void addDirectory(final Set<File> directories, final File directory, final boolean warnIfMissing) {
+
+        if (!isConfigParameterSet(directory)) {
+
+            if (warnIfMissing) {
+
+                getLog().warn("Can't find directory: " + directory + ", it is not analyzed");
+            }
+
+            return;
+        }
+
+        directories.add(directory.toPath().toAbsolutePath().normalize().toFile());
+    }
+
+    /*
+     * An empty or unknown analysis engine uses reflection
+     */
+    private boolean isBytecodeAnalysisEngine(final String engine) {
+
+        if ((engine == null) || engine.trim().isEmpty()) {
+
+            return false;
+        }
+
+        if (engine.trim().equals(ANALYSIS_ENGINE_BYTECODE)) {
+
+            return true;
+        }
+
+        if (!engine.trim().equals(ANALYSIS_ENGINE_REFLECTION)) {
+
+            getLog().warn("Unknown analysis engine '" + engine + "', reflection is used");
+        }
+
+        return false;
+    }
+
+    /*
+     * Every output type is only written once, a type that isn't html or openapi-json is written as OpenApi YAML
+     */
+    private Set<String> getOutputTypes(final String outputTypeList) {
+
+        Set<String> outputTypes = new LinkedHashSet<>();
+
+        for (String type : outputTypeList.split(",")) {
+
+            String trimmedType = type.trim();
+
+            if (trimmedType.isEmpty()) {
+
+                continue;
+            }
+
+            if (trimmedType.equals(OUTPUT_TYPE_HTML) || trimmedType.equals(OUTPUT_TYPE_OPENAPI_JSON)) {
+
+                outputTypes.add(trimmedType);
+
+            } else {
+
+                if (!trimmedType.equals(OUTPUT_TYPE_OPENAPI)) {
+
+                    getLog().warn("Unknown output type '" + trimmedType + "', OpenApi YAML is written");
+                }
+
+                outputTypes.add(OUTPUT_TYPE_OPENAPI);
+            }
+        }
+
+        return outputTypes;
+    }
+
+    private void writeOutput(final String type, final ConfigParameters configParameters, final RestInfoIndex restInfoIndex, final OutputFileWriter outputFileWriter) {
+
+        if (type.equals(OUTPUT_TYPE_HTML)) {
+
+            getLog().info("\nRESTDocMojo maven plugin creates HTML output files\n");
+
+            new HtmlOutput(outputFileWriter).createHTMLDocumantation(configParameters, restInfoIndex);
+
+        } else {
+
+            getLog().info("\nRESTDocMojo maven plugin creates OpenApi output file\n");
+
+            OpenApiSerializer openApiSerializer = type.equals(OUTPUT_TYPE_OPENAPI_JSON) ? new OpenApiJsonSerializer() : new OpenApiYamlSerializer();
+
+            new OpenApiOutput(outputFileWriter, openApiSerializer).createOpenApiDocumantation(configParameters, restInfoIndex);
+        }
+    }
+
+    /*
+     * One task per output type, the output writers only read the index. The HTML pages are written in parallel as well.
+     */
+    private void writeOutputsInParallel(final Set<String> outputTypes, final ConfigParameters configParameters, final RestInfoIndex restInfoIndex,
+            final PerformanceReport performanceReport) throws MojoExecutionException {
+
+        PerformanceReport.Phase outputPhase = performanceReport.startPhase("Output " + String.join(",", outputTypes), "output files");
+
+        // The file counters of the writer are thread safe
+        OutputFileWriter outputFileWriter = new OutputFileWriter();
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(outputTypes.size());
+
+        try {
+
+            forkJoinPool.submit(() -> outputTypes.parallelStream().forEach(type -> writeOutput(type, configParameters, restInfoIndex, outputFileWriter))).get();
+
+        } catch (InterruptedException ie) {
+
+            Thread.currentThread().interrupt();
+
+            throw new MojoExecutionException("Interrupted while writing the output files", ie);
+
+        } catch (ExecutionException ee) {
+
+            throw new MojoExecutionException("Failed to write the output files: " + ee.getMessage(), ee);
+
+        } finally {
+
+            forkJoinPool.shutdown();
+        }
+
+        endOutputPhase(outputPhase, outputFileWriter);
+
+        getLog().info("Output files: " + outputFileWriter);
+    }
+
+    private void writeSnapshot(final PerformanceReport performanceReport) {
+
+        PerformanceReport.Phase snapshotPhase = performanceReport.startPhase("Snapshot", "classes");
+
+        OutputFileWriter outputFileWriter = new OutputFileWriter();
+
+        byte[] snapshotBytes = RestInfoSnapshot.toBytes(RestDocHandler.restInfo);
+
+        outputFileWriter.write(outputDirectory.toPath().resolve(RestInfoSnapshot.SNAPSHOT_FILE_NAME), snapshotBytes);
+
+        snapshotPhase.addCounter("snapshotBytes", snapshotBytes.length);
+        snapshotPhase.addCounter("writtenFiles", outputFileWriter.getWrittenFiles());
+        snapshotPhase.end(RestDocHandler.restInfo.getClassInfo().size());
+
+        getLog().info("Snapshot: " + snapshotBytes.length + " bytes, " + outputFileWriter);
+    }
+
+    private void endOutputPhase(final PerformanceReport.Phase outputPhase, final OutputFileWriter outputFileWriter) {
+
+        outputPhase.addCounter("writtenFiles", outputFileWriter.getWrittenFiles());
+        outputPhase.addCounter("unchangedFiles", outputFileWriter.getUnchangedFiles());
+        outputPhase.end(outputFileWriter.getWrittenFiles() + outputFileWriter.getUnchangedFiles());
+    }
+
+    private void logPerformanceReport(final PerformanceReport performanceReport) {
+
+        getLog().info("\nRESTDocMojo performance\n");
+
+        performanceReport.getSummary().forEach(line -> getLog().info(line));
+
+        Path reportPath = performanceReport.writeJsonReport();
+
+        if (reportPath != null) {
+
+            getLog().info("Performance report: " + reportPath);
+        }
+    }
+
     private boolean isConfigParameterSet(String configParameter) {
 
         return (configParameter != null) && !configParameter.isEmpty();
@@ -0,0 +1,303 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Streams compact JSON to a Writer, nothing is built in memory. The JSON text is collected in a reused char buffer
+ * that is written to the Writer when it is full, and by flush(). The writer keeps track of the commas, the caller is
+ * responsible for starting and ending every object and array. Strings are escaped as in RFC 8259, U+2028 and U+2029
+ * are escaped as well so the document can be embedded in JavaScript.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+final class JsonWriter {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final Writer writer;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferLength;
+
+    // One entry per started object or array, true when it has got its first element
+    private boolean[] hasElements = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    JsonWriter(final Writer writer) {
+
+        this.writer = writer;
+    }
+
+    /**
+     * Write the buffered JSON text to the Writer, the Writer itself is not flushed
+     */
+    void flush() throws IOException {
+
+        writer.write(buffer, 0, bufferLength);
+
+        bufferLength = 0;
+    }
+
+    JsonWriter beginObject() throws IOException {
+
+        return begin('{');
+    }
+
+    JsonWriter endObject() throws IOException {
+
+        return end('}');
+    }
+
+    JsonWriter beginArray() throws IOException {
+
+        return begin('[');
+    }
+
+    JsonWriter endArray() throws IOException {
+
+        return end(']');
+    }
+
+    JsonWriter name(final String name) throws IOException {
+
+        beforeValue();
+
+        writeString(name);
+
+        write(':');
+
+        afterName = true;
+
+        return this;
+    }
+
+    JsonWriter value(final String value) throws IOException {
+
+        beforeValue();
+
+        if (value == null) {
+
+            write("null");
+
+        } else {
+
+            writeString(value);
+        }
+
+        return this;
+    }
+
+    /**
+     * Write one string value made of two parts, the parts are not concatenated to a new String
+     */
+    JsonWriter value(final String firstPart, final String secondPart) throws IOException {
+
+        beforeValue();
+
+        write('"');
+
+        writeEscapedText(firstPart);
+        writeEscapedText(secondPart);
+
+        write('"');
+
+        return this;
+    }
+
+    JsonWriter value(final boolean value) throws IOException {
+
+        beforeValue();
+
+        write(value ? "true" : "false");
+
+        return this;
+    }
+
+    /**
+     * Write a name and a string value, nothing is written if the value is null
+     */
+    JsonWriter optionalProperty(final String name, final String value) throws IOException {
+
+        if (value != null) {
+
+            name(name).value(value);
+        }
+
+        return this;
+    }
+
+    private JsonWriter begin(final char bracket) throws IOException {
+
+        beforeValue();
+
+        write(bracket);
+
+        if (depth == hasElements.length) {
+
+            hasElements = Arrays.copyOf(hasElements, depth * 2);
+        }
+
+        hasElements[depth++] = false;
+
+        return this;
+    }
+
+    private JsonWriter end(final char bracket) throws IOException {
+
+        if (depth == 0) {
+
+            throw new IllegalStateException("No object or array to end with " + bracket);
+        }
+
+        depth--;
+
+        write(bracket);
+
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+
+        if (afterName) {
+
+            afterName = false;
+            return;
+        }
+
+        if (depth > 0) {
+
+            if (hasElements[depth - 1]) {
+
+                write(',');
+
+            } else {
+
+                hasElements[depth - 1] = true;
+            }
+        }
+    }
+
+    private void writeString(final String text) throws IOException {
+
+        write('"');
+
+        writeEscapedText(text);
+
+        write('"');
+    }
+
+    /*
+     * The characters that don't need escaping are copied as runs directly from the string
+     */
+    private void writeEscapedText(final String text) throws IOException {
+
+        int runStart = 0;
+        int length = text.length();
+
+        for (int index = 0; index < length; index++) {
+
+            char character = text.charAt(index);
+
+            if ((character >= ' ') && (character != '"') && (character != '\\') && (character != '\u2028') && (character != '\u2029')) {
+
+                continue;
+            }
+
+            write(text, runStart, index - runStart);
+
+            writeEscaped(character);
+
+            runStart = index + 1;
+        }
+
+        write(text, runStart, length - runStart);
+    }
+
+    private void writeEscaped(final char character) throws IOException {
+
+        switch (character) {
+
+            case '"':
+                write("\\\"");
+                break;
+
+            case '\\':
+                write("\\\\");
+                break;
+
+            case '\n':
+                write("\\n");
+                break;
+
+            case '\r':
+                write("\\r");
+                break;
+
+            case '\t':
+                write("\\t");
+                break;
+
+            case '\b':
+                write("\\b");
+                break;
+
+            case '\f':
+                write("\\f");
+                break;
+
+            default:
+                write("\\u");
+                write(HEX_DIGITS[(character >> 12) & 0xf]);
+                write(HEX_DIGITS[(character >> 8) & 0xf]);
+                write(HEX_DIGITS[(character >> 4) & 0xf]);
+                write(HEX_DIGITS[character & 0xf]);
+                break;
+        }
+    }
+
+    private void write(final char character) throws IOException {
+
+        if (bufferLength == buffer.length) {
+
+            flush();
+        }
+
+        buffer[bufferLength++] = character;
+    }
+
+    private void write(final String text) throws IOException {
+
+        write(text, 0, text.length());
+    }
+
+    private void write(final String text, final int offset, final int length) throws IOException {
+
+        int position = offset;
+        int end = offset + length;
+
+        while (position < end) {
+
+            if (bufferLength == buffer.length) {
+
+                flush();
+            }
+
+            int count = Math.min(end - position, buffer.length - bufferLength);
+
+            text.getChars(position, position + count, buffer, bufferLength);
+
+            bufferLength += count;
+            position += count;
+        }
+    }
+}
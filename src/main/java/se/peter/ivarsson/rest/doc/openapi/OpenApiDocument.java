@@ -0,0 +1,110 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In memory OpenApi document, created by OpenApiModelBuilder and written by an OpenApiSerializer.
+ * The paths are kept in a path tree and the component schemas in a map with the component name as key.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class OpenApiDocument implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String OPENAPI_VERSION = "3.0.1";
+
+    private String title;
+    private String version;
+    private String licenceName;
+    private List<OpenApiServer> servers = new ArrayList<>();
+    private final PathTree<OpenApiOperation> paths = new PathTree<>();
+
+    // A HashMap, the components are written in the same order as before there was a document model
+    private final HashMap<String, OpenApiSchema> schemas = new HashMap<>();
+
+    public String getOpenApiVersion() {
+        return OPENAPI_VERSION;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public String getLicenceName() {
+        return licenceName;
+    }
+
+    public void setLicenceName(String licenceName) {
+        this.licenceName = licenceName;
+    }
+
+    public List<OpenApiServer> getServers() {
+        return servers;
+    }
+
+    public void setServers(List<OpenApiServer> servers) {
+        this.servers = servers;
+    }
+
+    /**
+     * Add an operation to a path, operations with the same path are kept in the order they are added
+     */
+    public void addOperation(final String path, final OpenApiOperation operation) {
+
+        paths.add(path, operation);
+    }
+
+    /**
+     * @return The operations of a path, an empty list if the path has no operations
+     */
+    public List<OpenApiOperation> getOperations(final String path) {
+
+        return paths.getOperations(path);
+    }
+
+    /**
+     * @return All paths with operations, sorted by path with a path after its sub paths
+     */
+    public List<OpenApiPathItem> getPathItems() {
+
+        List<OpenApiPathItem> pathItems = new ArrayList<>(paths.size());
+
+        paths.forEachPath((path, operations) -> pathItems.add(new OpenApiPathItem(path, operations)));
+
+        return pathItems;
+    }
+
+    /**
+     * @return Component schemas, the key is the component name
+     */
+    public Map<String, OpenApiSchema> getSchemas() {
+        return schemas;
+    }
+
+    @Override
+    public String toString() {
+        return "OpenApiDocument{" + "title=" + title + ", version=" + version + ", licenceName=" + licenceName + ", servers=" + servers + ", paths=" + paths.size() + ", schemas=" + schemas.size() + '}';
+    }
+}
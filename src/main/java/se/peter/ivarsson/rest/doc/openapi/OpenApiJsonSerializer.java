@@ -0,0 +1,279 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes an OpenApi document as compact JSON, streamed to the writer without any intermediate tree or string.
+ * The document has the same content as the YAML document, the components are written in the same order.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class OpenApiJsonSerializer implements OpenApiSerializer {
+
+    private static final String DESCRIPTION = "description";
+    private static final String CONTENT = "content";
+    private static final String SCHEMA = "schema";
+    private static final String REFERENCE_PREFIX = "#/components/schemas/";
+
+    @Override
+    public String getFileExtension() {
+
+        return ".json";
+    }
+
+    @Override
+    public void serialize(final OpenApiDocument document, final Writer writer) throws IOException {
+
+        JsonWriter json = new JsonWriter(writer);
+
+        json.beginObject();
+
+        json.name("openapi").value(document.getOpenApiVersion());
+
+        json.name("info").beginObject();
+        json.name("title").value(document.getTitle());
+        json.name("version").value(document.getVersion());
+        json.name("license").beginObject().name("name").value(document.getLicenceName()).endObject();
+        json.endObject();
+
+        json.name("servers").beginArray();
+
+        for (OpenApiServer server : document.getServers()) {
+
+            json.beginObject();
+            json.name("url").value(server.getUrl());
+            json.name(DESCRIPTION).value(server.getDescription());
+            json.endObject();
+        }
+
+        json.endArray();
+
+        json.name("paths").beginObject();
+
+        for (OpenApiPathItem pathItem : document.getPathItems()) {
+
+            json.name(pathItem.getPath()).beginObject();
+
+            for (OpenApiOperation operation : pathItem.getOperations()) {
+
+                writeOperation(json, operation);
+            }
+
+            json.endObject();
+        }
+
+        json.endObject();
+
+        json.name("components").beginObject();
+        json.name("schemas").beginObject();
+
+        for (Map.Entry<String, OpenApiSchema> component : document.getSchemas().entrySet()) {
+
+            writeComponent(json, component.getKey(), component.getValue());
+        }
+
+        json.endObject();
+        json.endObject();
+
+        json.endObject();
+
+        json.flush();
+
+        writer.write('\n');
+    }
+
+    private void writeOperation(final JsonWriter json, final OpenApiOperation operation) throws IOException {
+
+        json.name(operation.getHttpMethod()).beginObject();
+
+        json.optionalProperty(DESCRIPTION, operation.getDescription());
+        json.name("operationId").value(operation.getOperationId());
+
+        json.name("responses").beginObject();
+        json.name(operation.getResponseCode()).beginObject();
+        json.name(DESCRIPTION).value(operation.getResponseDescription());
+
+        if (operation.getResponseMediaType() != null) {
+
+            writeContent(json, operation.getResponseMediaType(), operation.getResponseSchema());
+        }
+
+        json.endObject();
+        json.endObject();
+
+        boolean parametersWritten = false;
+
+        for (OpenApiParameter parameter : operation.getParameters()) {
+
+            // A parameter without location only has a JavaDoc description, it isn't a parameter of the operation
+            if (parameter.getIn() == null) {
+
+                continue;
+            }
+
+            if (!parametersWritten) {
+
+                json.name("parameters").beginArray();
+                parametersWritten = true;
+            }
+
+            writeParameter(json, parameter);
+        }
+
+        if (parametersWritten) {
+
+            json.endArray();
+        }
+
+        if (operation.getRequestBodyDescription() != null) {
+
+            json.name("requestBody").beginObject();
+            json.name(DESCRIPTION).value(operation.getRequestBodyDescription());
+
+            writeContent(json, operation.getRequestBodyMediaType(), operation.getRequestBodySchema());
+
+            json.endObject();
+        }
+
+        json.endObject();
+    }
+
+    private void writeContent(final JsonWriter json, final String mediaType, final OpenApiSchema schema) throws IOException {
+
+        json.name(CONTENT).beginObject();
+        json.name(mediaType).beginObject();
+
+        if (schema != null) {
+
+            json.name(SCHEMA);
+
+            writeSchema(json, schema);
+        }
+
+        json.endObject();
+        json.endObject();
+    }
+
+    private void writeParameter(final JsonWriter json, final OpenApiParameter parameter) throws IOException {
+
+        json.beginObject();
+
+        json.name("in").value(parameter.getIn());
+        json.name("name").value(parameter.getName());
+
+        if (parameter.isRequired()) {
+
+            json.name("required").value(true);
+        }
+
+        if (!parameter.getDescription().isEmpty()) {
+
+            json.name(DESCRIPTION).value(parameter.getDescription());
+        }
+
+        json.name(SCHEMA);
+
+        writeSchema(json, parameter.getSchema());
+
+        json.endObject();
+    }
+
+    private void writeComponent(final JsonWriter json, final String componentName, final OpenApiSchema component) throws IOException {
+
+        json.name(componentName).beginObject();
+
+        if (!component.getProperties().isEmpty()) {
+
+            json.name("properties").beginObject();
+
+            for (OpenApiSchema property : component.getProperties()) {
+
+                json.name(property.getName());
+
+                writeSchema(json, property);
+            }
+
+            json.endObject();
+
+        } else if (component.getDescription() != null) {
+
+            json.name(DESCRIPTION).value(component.getDescription());
+        }
+
+        json.endObject();
+    }
+
+    private void writeSchema(final JsonWriter json, final OpenApiSchema schema) throws IOException {
+
+        json.beginObject();
+
+        if (schema.isReference()) {
+
+            writeReference(json, schema.getRef());
+
+        } else {
+
+            json.optionalProperty("type", schema.getType());
+            json.optionalProperty("format", schema.getFormat());
+        }
+
+        json.optionalProperty(DESCRIPTION, schema.getDescription());
+
+        if (schema.getEnumValues() != null) {
+
+            writeEnumValues(json, schema.getEnumValues());
+        }
+
+        if (schema.getItems() != null) {
+
+            json.name("items");
+
+            writeSchema(json, schema.getItems());
+        }
+
+        json.endObject();
+    }
+
+    private void writeReference(final JsonWriter json, final String componentName) throws IOException {
+
+        json.name("$ref").value(REFERENCE_PREFIX, componentName);
+    }
+
+    /*
+     * The enum values are a comma separated list, like "DRAMA, COMEDY, ACTION"
+     */
+    private void writeEnumValues(final JsonWriter json, final String enumValues) throws IOException {
+
+        json.name("enum").beginArray();
+
+        int start = 0;
+
+        while (start <= enumValues.length()) {
+
+            int end = enumValues.indexOf(',', start);
+
+            if (end == -1) {
+
+                end = enumValues.length();
+            }
+
+            String enumValue = enumValues.substring(start, end).trim();
+
+            if (!enumValue.isEmpty()) {
+
+                json.value(enumValue);
+            }
+
+            start = end + 1;
+        }
+
+        json.endArray();
+    }
+}
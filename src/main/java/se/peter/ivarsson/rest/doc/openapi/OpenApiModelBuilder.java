@@ -0,0 +1,520 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+import se.peter.ivarsson.rest.doc.mojo.ConfigParameters;
+import se.peter.ivarsson.rest.doc.parser.ClassInfo;
+import se.peter.ivarsson.rest.doc.parser.DataModelInfo;
+import se.peter.ivarsson.rest.doc.parser.FieldInfo;
+import se.peter.ivarsson.rest.doc.parser.MethodInfo;
+import se.peter.ivarsson.rest.doc.parser.ParameterInfo;
+import se.peter.ivarsson.rest.doc.parser.RestInfoIndex;
+import se.peter.ivarsson.rest.doc.utils.LoggingUtils;
+
+/**
+ * Creates an OpenApi document from the analysis result in one pass over the REST methods.
+ * The components are added when they are first referred to, a builder creates one document.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class OpenApiModelBuilder {
+
+    private static final Logger LOGGER = Logger.getLogger(OpenApiModelBuilder.class.getSimpleName());
+
+    private static final String NO_COLLECTION = "";
+    private static final String JAVA_LIST = "java.util.List";
+    private static final String APPLICATION_JSON = "application/json";
+    private static final String STRING = "string";
+
+    private final RestInfoIndex restInfoIndex;
+    private final OpenApiDocument document = new OpenApiDocument();
+    private final Set<String> startedComponents = new HashSet<>();
+
+    public OpenApiModelBuilder(final RestInfoIndex restInfoIndex) {
+
+        this.restInfoIndex = restInfoIndex;
+    }
+
+    public OpenApiDocument build(final ConfigParameters configParameters) {
+
+        LoggingUtils.addLoggingFileHandler(configParameters.getLoggingDirectory(), LOGGER);
+
+        document.setTitle(configParameters.getProjectTitle());
+        document.setVersion(configParameters.getOpenApiDocVersion());
+        document.setLicenceName(configParameters.getOpenApiLicenceName());
+
+        if (configParameters.getOpenApiDevelopmentServerUrl() != null) {
+
+            document.getServers().add(new OpenApiServer(configParameters.getOpenApiDevelopmentServerUrl(), "Development server"));
+        }
+        if (configParameters.getOpenApiStagingServerUrl() != null) {
+
+            document.getServers().add(new OpenApiServer(configParameters.getOpenApiStagingServerUrl(), "Staging server"));
+        }
+        if (configParameters.getOpenApiProductionServerUrl() != null) {
+
+            document.getServers().add(new OpenApiServer(configParameters.getOpenApiProductionServerUrl(), "Production server"));
+        }
+
+        restInfoIndex.getResources().forEach(this::addOperations);
+
+        LOGGER.info(() -> "build() " + document);
+
+        return document;
+    }
+
+    private void addOperations(final ClassInfo classInfo) {
+
+        classInfo.getMethodInfo().forEach(methodInfo -> {
+
+            LOGGER.info(() -> "ClassRootPath: " + classInfo.getClassRootPath());
+            LOGGER.info(() -> "ClassPath: " + classInfo.getClassPath());
+            LOGGER.info(() -> "methodInfo.getMethodPath: " + methodInfo.getMethodPath());
+
+            // More methods with the same path are added to the same path, an empty path is the root path
+            document.addOperation(RestInfoIndex.getPath(classInfo, methodInfo), createOperation(methodInfo));
+        });
+    }
+
+    private OpenApiOperation createOperation(final MethodInfo methodInfo) {
+
+        OpenApiOperation operation = new OpenApiOperation();
+
+        operation.setHttpMethod(methodInfo.getHttpRequestType().toLowerCase());
+
+        if (methodInfo.getJavaDoc() != null) {
+
+            operation.setDescription(onlyJavaDocComments(methodInfo.getJavaDoc()));
+        }
+
+        operation.setOperationId(methodInfo.getMethodName());
+        operation.setResponseCode(methodInfo.getReturnInfo().getReturnStatusCode());
+        operation.setResponseDescription(methodInfo.getReturnInfo().getReturnStatusAsText());
+
+        String returnClassName = methodInfo.getReturnInfo().getReturnClassName();
+
+        if (returnClassName.startsWith(JAVA_LIST) || !returnClassName.startsWith("java")) {
+
+            // Default to 'application/json'
+            operation.setResponseMediaType(methodInfo.getProduceType().isEmpty() ? APPLICATION_JSON : methodInfo.getProduceType());
+            operation.setResponseSchema(createSchema(returnClassName, null));
+        }
+
+        methodInfo.getParameterInfo().forEach(parameterInfo -> operation.getParameters().add(createParameter(methodInfo, parameterInfo)));
+
+        if (!methodInfo.getRequestBodyClassName().isEmpty()) {
+
+            addRequestBody(operation, methodInfo);
+        }
+
+        return operation;
+    }
+
+    private OpenApiParameter createParameter(final MethodInfo methodInfo, final ParameterInfo parameterInfo) {
+
+        OpenApiParameter parameter = new OpenApiParameter();
+
+        parameter.setName(parameterInfo.getParameterAnnotationName());
+
+        switch (parameterInfo.getParameterType()) {
+
+            case "javax.ws.rs.PathParam":
+                parameter.setIn("path");
+                parameter.setRequired(true);
+                break;
+
+            case "javax.ws.rs.HeaderParam":
+                parameter.setIn("header");
+                break;
+
+            case "javax.ws.rs.QueryParam":
+                parameter.setIn("query");
+                break;
+
+            default:
+                break;
+        }
+
+        if (parameter.getIn() != null) {
+
+            OpenApiSchema schema = createSchema(parameterInfo.getParameterClassName(), null);
+
+            if (schema.isArray()) {
+
+                schema.setItems(createSchema(getListType(parameterInfo.getParameterClassName()), null));
+            }
+
+            parameter.setSchema(schema);
+        }
+
+        parameter.setDescription(parameterCommentsFromJavaDoc(methodInfo.getJavaDoc(), parameterInfo.getParameterAnnotationName()));
+
+        return parameter;
+    }
+
+    private void addRequestBody(final OpenApiOperation operation, final MethodInfo methodInfo) {
+
+        operation.setRequestBodyDescription(methodInfo.getRequestBodyName() + ", Class = " + methodInfo.getRequestBodyClassName());
+
+        // No consume annotation set Json as default
+        operation.setRequestBodyMediaType(methodInfo.getConsumeType().isEmpty() ? APPLICATION_JSON : methodInfo.getConsumeType());
+
+        int lastDot = methodInfo.getRequestBodyClassName().lastIndexOf('.');
+
+        if (lastDot > 0) {
+
+            String componentName = methodInfo.getRequestBodyClassName().substring(lastDot + 1);
+
+            operation.setRequestBodySchema(OpenApiSchema.createReference(componentName));
+
+            addComponent(componentName, methodInfo.getRequestBodyClassName(), NO_COLLECTION);
+        }
+    }
+
+    /*
+     * A component is added when it is first referred to, the components it refers to are added before it
+     */
+    private void addComponent(final String componentName, final String className, final String collectionType) {
+
+        if (className.startsWith("java")) {
+
+            // Don't add component
+            return;
+        }
+
+        if (!startedComponents.add(componentName)) {
+
+            // This component already exist
+            return;
+        }
+
+        OpenApiSchema component = new OpenApiSchema();
+
+        DataModelInfo dataModelInfo = restInfoIndex.getDomainData(className);
+
+        if (dataModelInfo.getFields().isEmpty() && (dataModelInfo.getInfo() != null) && !dataModelInfo.getInfo().isEmpty()) {
+
+            component.setDescription(dataModelInfo.getInfo());
+        }
+
+        dataModelInfo.getFields().forEach(field -> component.getProperties().add(createProperty(componentName, dataModelInfo, field, collectionType)));
+
+        document.getSchemas().put(componentName, component);
+    }
+
+    private OpenApiSchema createProperty(final String componentName, final DataModelInfo dataModelInfo, final FieldInfo field, final String collectionType) {
+
+        OpenApiSchema property;
+
+        if (field.getFieldType().equals("error")) {
+
+            property = new OpenApiSchema();
+
+            property.setType("object");
+            property.setDescription(dataModelInfo.getInfo().replaceAll(":", ""));
+
+        } else if (field.getFieldType().equals("enum")) {
+
+            property = new OpenApiSchema();
+
+            property.setType(STRING);
+            property.setEnumValues(field.getFieldOfType());
+
+        } else if (componentName.startsWith("Set-")) {
+
+            // The order is important, needs to be after error and enum
+            property = new OpenApiSchema();
+
+            property.setType(OpenApiSchema.ARRAY);
+            property.setItems(createSchema(field.getFieldType(), field.getFieldOfType()));
+            property.setDescription(collectionType);
+
+        } else {
+
+            property = createSchema(field.getFieldType(), field.getFieldOfType());
+
+            if (property.isArray()) {
+
+                property.setItems(createSchema(field.getFieldOfType(), null));
+            }
+        }
+
+        property.setName(field.getFieldName());
+
+        return property;
+    }
+
+    private OpenApiSchema createSchema(final String javaField, final String extendedFieldType) {
+
+        OpenApiSchema schema = new OpenApiSchema();
+
+        switch (javaField) {
+
+            case "int":
+            case "java.lang.Integer":
+                schema.setType("integer");
+                schema.setFormat("int32");
+                return schema;
+
+            case "long":
+            case "java.lang.Long":
+                schema.setType("integer");
+                schema.setFormat("int64");
+                return schema;
+
+            case "float":
+            case "java.lang.Float":
+                schema.setType("number");
+                schema.setFormat("float");
+                return schema;
+
+            case "double":
+            case "java.lang.Double":
+                schema.setType("number");
+                schema.setFormat("double");
+                return schema;
+
+            case "java.lang.String":
+                schema.setType(STRING);
+                return schema;
+
+            case "byte":
+            case "java.lang.Byte":
+                schema.setType(STRING);
+                schema.setFormat("byte");
+                return schema;
+
+            case "boolean":
+            case "java.lang.Boolean":
+                schema.setType("boolean");
+                return schema;
+
+            case "java.util.Date":
+                schema.setType(STRING);
+                schema.setFormat("date");
+                return schema;
+
+            case JAVA_LIST:
+                schema.setType(OpenApiSchema.ARRAY);
+                return schema;
+
+            case "java.net.URI":
+                schema.setType(STRING);
+                schema.setFormat("uri");
+                schema.setDescription(javaField);
+                return schema;
+
+            default:
+                if (javaField.startsWith(JAVA_LIST)) {
+
+                    schema.setType(OpenApiSchema.ARRAY);
+                    return schema;
+
+                } else if (javaField.endsWith("Map")) {
+
+                    schema.setType("object");
+                    schema.setDescription(javaField);
+                    return schema;
+
+                } else {
+
+                    return createComponentReference(schema, javaField, extendedFieldType);
+                }
+        }
+    }
+
+    private OpenApiSchema createComponentReference(final OpenApiSchema schema, final String javaField, final String extendedFieldType) {
+
+        int lastDot = javaField.lastIndexOf('.');
+
+        if (lastDot <= 0) {
+
+            // Unknown type
+            return schema;
+        }
+
+        String componentName;
+
+        int lessThanIndex = -1;
+        int greaterThanIndex = javaField.lastIndexOf('>');
+
+        if (greaterThanIndex == -1) {
+
+            componentName = javaField.substring(lastDot + 1);
+
+            if (componentName.equals("Set")) {
+
+                int extendedLastDot = extendedFieldType.lastIndexOf('.');
+
+                componentName = componentName + "-" + extendedFieldType.substring(extendedLastDot + 1);
+
+                addComponent(componentName, extendedFieldType, javaField);
+            }
+        } else {
+
+            componentName = javaField.substring(lastDot + 1, greaterThanIndex);
+            lessThanIndex = javaField.lastIndexOf('<');
+        }
+
+        schema.setRef(componentName);
+
+        if (lessThanIndex == -1) {
+
+            addComponent(componentName, javaField, NO_COLLECTION);
+
+        } else {
+
+            addComponent(componentName, javaField.substring(lessThanIndex + 1, greaterThanIndex), NO_COLLECTION);
+        }
+
+        if (javaField.endsWith("Set")) {
+
+            schema.setDescription(javaField);
+        }
+
+        return schema;
+    }
+
+    private String getListType(final String className) {
+
+        int startIndex = className.indexOf('<');
+        int endIndex = className.indexOf('>');
+
+        if ((startIndex > 0) && (endIndex > startIndex)) {
+
+            return className.substring(startIndex + 1, endIndex).trim();
+        }
+
+        return "";
+    }
+
+    private String onlyJavaDocComments(String javaDoc) {
+
+        StringBuilder comment = new StringBuilder();
+
+        boolean startOfCommentFound = false;
+        boolean endOfCommentFound = false;
+
+        int spacesFound = 0;
+
+        byte[] javaDocArray = javaDoc.getBytes();
+        char character = 0;
+
+        for (int index = 0; (index < javaDocArray.length) && !endOfCommentFound; index++) {
+
+            character = (char) javaDocArray[index];
+
+            switch (character) {
+
+                case '\r':
+                case '\n':
+                case '\f':
+                case '@':
+                    if (startOfCommentFound) {
+
+                        // End comment capture
+                        endOfCommentFound = true;
+                    }
+                    break;
+
+                case '*':
+                    if (startOfCommentFound && (index + 1 < javaDocArray.length) && (javaDocArray[index + 1] == '/')) {
+
+                        // End of a one line comment, '/** Comment */'
+                        endOfCommentFound = true;
+
+                        if (spacesFound > 0) {
+
+                            comment.setLength(comment.length() - 1);
+                        }
+                    } else if (startOfCommentFound) {
+
+                        comment.append(character);
+                    }
+                    break;
+
+                case '/':
+                    if (startOfCommentFound) {
+
+                        comment.append(character);
+                    }
+                    break;
+
+                case '\t':
+                case ' ':
+                    if (startOfCommentFound) {
+
+                        spacesFound++;
+
+                        if (spacesFound == 1) {
+
+                            comment.append(' ');
+                        }
+                    }
+                    break;
+
+                case ':':
+                    if (startOfCommentFound) {
+
+                        comment.append('.');
+                    }
+                    break;
+
+                default:
+                    // From '!' to '~' except charaters above
+                    if ((character >= 0x21) && (character <= 0xFE)) {
+
+                        comment.append(character);
+
+                        startOfCommentFound = true;
+                        spacesFound = 0;
+                    }
+                    break;
+            }
+        }
+
+        return comment.toString();
+    }
+
+    private String parameterCommentsFromJavaDoc(final String javaDoc, String parameterName) {
+
+        if (javaDoc == null) {
+
+            return "";
+        }
+
+        String javaDocLowerCase = javaDoc.toLowerCase();
+
+        int startFirstAtIndex = javaDocLowerCase.indexOf("@param");
+
+        while (startFirstAtIndex != -1) {
+
+            int parameterNameIndex = javaDocLowerCase.indexOf(parameterName.toLowerCase(), startFirstAtIndex + 6);
+
+            if (parameterNameIndex != -1) {
+
+                int endDescriptionIndex = javaDocLowerCase.indexOf('*', parameterNameIndex);
+
+                if (endDescriptionIndex != -1) {
+
+                    int startDescription = parameterNameIndex + parameterName.length() + 1;
+
+                    return javaDocLowerCase.substring(startDescription, endDescriptionIndex).replaceAll("\\*", "").trim();
+                }
+            }
+
+            if (parameterNameIndex == -1) {
+
+                startFirstAtIndex = javaDocLowerCase.indexOf("@param", startFirstAtIndex + 7);
+            }
+        }
+
+        return "";
+    }
+}
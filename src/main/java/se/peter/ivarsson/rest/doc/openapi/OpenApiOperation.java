@@ -0,0 +1,141 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One HTTP method of a path. The response has content if the method returns a domain data class or a list, the
+ * request body is only set if the method has a request body.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class OpenApiOperation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String httpMethod;
+    private String description;
+    private String operationId;
+    private String responseCode;
+    private String responseDescription;
+    private String responseMediaType;
+    private OpenApiSchema responseSchema;
+    private List<OpenApiParameter> parameters = new ArrayList<>();
+    private String requestBodyDescription;
+    private String requestBodyMediaType;
+    private OpenApiSchema requestBodySchema;
+
+    /**
+     * @return HTTP method in lower case
+     */
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public void setHttpMethod(String httpMethod) {
+        this.httpMethod = httpMethod;
+    }
+
+    /**
+     * @return First sentence of the JavaDoc, null if the method has no JavaDoc
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getOperationId() {
+        return operationId;
+    }
+
+    public void setOperationId(String operationId) {
+        this.operationId = operationId;
+    }
+
+    public String getResponseCode() {
+        return responseCode;
+    }
+
+    public void setResponseCode(String responseCode) {
+        this.responseCode = responseCode;
+    }
+
+    public String getResponseDescription() {
+        return responseDescription;
+    }
+
+    public void setResponseDescription(String responseDescription) {
+        this.responseDescription = responseDescription;
+    }
+
+    /**
+     * @return Media type of the response content, null if the response has no content
+     */
+    public String getResponseMediaType() {
+        return responseMediaType;
+    }
+
+    public void setResponseMediaType(String responseMediaType) {
+        this.responseMediaType = responseMediaType;
+    }
+
+    public OpenApiSchema getResponseSchema() {
+        return responseSchema;
+    }
+
+    public void setResponseSchema(OpenApiSchema responseSchema) {
+        this.responseSchema = responseSchema;
+    }
+
+    public List<OpenApiParameter> getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(List<OpenApiParameter> parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * @return Description of the request body, null if the operation has no request body
+     */
+    public String getRequestBodyDescription() {
+        return requestBodyDescription;
+    }
+
+    public void setRequestBodyDescription(String requestBodyDescription) {
+        this.requestBodyDescription = requestBodyDescription;
+    }
+
+    public String getRequestBodyMediaType() {
+        return requestBodyMediaType;
+    }
+
+    public void setRequestBodyMediaType(String requestBodyMediaType) {
+        this.requestBodyMediaType = requestBodyMediaType;
+    }
+
+    /**
+     * @return Reference to the request body component, null if the request body class has no package
+     */
+    public OpenApiSchema getRequestBodySchema() {
+        return requestBodySchema;
+    }
+
+    public void setRequestBodySchema(OpenApiSchema requestBodySchema) {
+        this.requestBodySchema = requestBodySchema;
+    }
+
+    @Override
+    public String toString() {
+        return "OpenApiOperation{" + "httpMethod=" + httpMethod + ", description=" + description + ", operationId=" + operationId + ", responseCode=" + responseCode + ", responseDescription=" + responseDescription + ", responseMediaType=" + responseMediaType + ", responseSchema=" + responseSchema + ", parameters=" + parameters + ", requestBodyDescription=" + requestBodyDescription + ", requestBodyMediaType=" + requestBodyMediaType + ", requestBodySchema=" + requestBodySchema + '}';
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.io.Serializable;
+
+/**
+ * A parameter of an operation. The location (in) is path, header or query. A parameter of the Java method that isn't
+ * a path, header or query parameter, like the request body, has no location and no schema, only a description.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class OpenApiParameter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String in;
+    private String name;
+    private boolean required;
+    private OpenApiSchema schema;
+    private String description = "";
+
+    public String getIn() {
+        return in;
+    }
+
+    public void setIn(String in) {
+        this.in = in;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public void setRequired(boolean required) {
+        this.required = required;
+    }
+
+    public OpenApiSchema getSchema() {
+        return schema;
+    }
+
+    public void setSchema(OpenApiSchema schema) {
+        this.schema = schema;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public String toString() {
+        return "OpenApiParameter{" + "in=" + in + ", name=" + name + ", required=" + required + ", schema=" + schema + ", description=" + description + '}';
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.util.List;
+
+/**
+ * A path and its operations, one operation per HTTP method.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class OpenApiPathItem {
+
+    private final String path;
+    private final List<OpenApiOperation> operations;
+
+    public OpenApiPathItem(final String path, final List<OpenApiOperation> operations) {
+
+        this.path = path;
+        this.operations = operations;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public List<OpenApiOperation> getOperations() {
+        return operations;
+    }
+
+    @Override
+    public String toString() {
+        return "OpenApiPathItem{" + "path=" + path + ", operations=" + operations + '}';
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema of a parameter, a response, a property or a component. A schema is either a reference to a component
+ * (ref is the component name) or a type with an optional format. An array has an items schema, an enum has its
+ * values, and a component has its properties in field order.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class OpenApiSchema implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String ARRAY = "array";
+
+    private String name;
+    private String type;
+    private String format;
+    private String description;
+    private String ref;
+    private OpenApiSchema items;
+    private String enumValues;
+    private List<OpenApiSchema> properties = new ArrayList<>();
+
+    public static OpenApiSchema createReference(final String componentName) {
+
+        OpenApiSchema schema = new OpenApiSchema();
+
+        schema.setRef(componentName);
+
+        return schema;
+    }
+
+    public boolean isReference() {
+
+        return ref != null;
+    }
+
+    public boolean isArray() {
+
+        return ARRAY.equals(type);
+    }
+
+    /**
+     * @return Property name, only set for a property of a component
+     */
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * @return Name of the referenced component
+     */
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    public OpenApiSchema getItems() {
+        return items;
+    }
+
+    public void setItems(OpenApiSchema items) {
+        this.items = items;
+    }
+
+    /**
+     * @return Comma separated enum values
+     */
+    public String getEnumValues() {
+        return enumValues;
+    }
+
+    public void setEnumValues(String enumValues) {
+        this.enumValues = enumValues;
+    }
+
+    public List<OpenApiSchema> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(List<OpenApiSchema> properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public String toString() {
+        return "OpenApiSchema{" + "name=" + name + ", type=" + type + ", format=" + format + ", description=" + description + ", ref=" + ref + ", items=" + items + ", enumValues=" + enumValues + ", properties=" + properties + '}';
+    }
+}
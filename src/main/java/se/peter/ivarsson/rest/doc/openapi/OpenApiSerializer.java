@@ -0,0 +1,24 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes an OpenApi document in one format.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public interface OpenApiSerializer {
+
+    /**
+     * @return File name extension of the format, like ".yaml"
+     */
+    String getFileExtension();
+
+    void serialize(OpenApiDocument document, Writer writer) throws IOException;
+}
@@ -0,0 +1,51 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.io.Serializable;
+
+/**
+ * A server where the documented API can be tested.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class OpenApiServer implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String url;
+    private String description;
+
+    public OpenApiServer() {
+    }
+
+    public OpenApiServer(final String url, final String description) {
+
+        this.url = url;
+        this.description = description;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public String toString() {
+        return "OpenApiServer{" + "url=" + url + ", description=" + description + '}';
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes an OpenApi document as YAML, in the same layout as the plugin has always written it.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class OpenApiYamlSerializer implements OpenApiSerializer {
+
+    private static final String YAML_DESCRIPTION = "\n          description: ";
+    private static final String YAML_NEW_ROW = "\n            ";
+    private static final String YAML_FORMAT = "\n            format: ";
+    private static final String YAML_REFERENCE = "$ref: '#/components/schemas/";
+    private static final String YAML_TYPE = "type: ";
+
+    @Override
+    public String getFileExtension() {
+
+        return ".yaml";
+    }
+
+    @Override
+    public void serialize(final OpenApiDocument document, final Writer writer) throws IOException {
+
+        writer.append("openapi: \"").append(document.getOpenApiVersion()).append("\"\n");
+
+        writer.append("info:\n");
+        writer.append("  title: ").append(document.getTitle()).append("\n");
+        writer.append("  version: ").append(document.getVersion()).append("\n");
+        writer.append("  license:\n");
+        writer.append("    name: ").append(document.getLicenceName());
+
+        writer.append("\nservers:\n");
+
+        for (OpenApiServer server : document.getServers()) {
+
+            writer.append("  - url: ").append(server.getUrl());
+            writer.append("\n    description: ").append(server.getDescription()).append("\n");
+        }
+
+        writer.append("paths:\n");
+
+        for (OpenApiPathItem pathItem : document.getPathItems()) {
+
+            writer.append("  ").append(pathItem.getPath()).append(":\n");
+
+            for (OpenApiOperation operation : pathItem.getOperations()) {
+
+                writeOperation(writer, operation);
+            }
+        }
+
+        writer.append("components:");
+        writer.append("\n  schemas:");
+
+        for (Map.Entry<String, OpenApiSchema> component : document.getSchemas().entrySet()) {
+
+            writer.append("\n");
+
+            writeComponent(writer, component.getKey(), component.getValue());
+        }
+    }
+
+    private void writeOperation(final Writer writer, final OpenApiOperation operation) throws IOException {
+
+        writer.append("    ").append(operation.getHttpMethod()).append(":");
+
+        if (operation.getDescription() != null) {
+
+            writer.append("\n      description: ").append(operation.getDescription());
+        }
+
+        writer.append("\n      operationId: ").append(operation.getOperationId());
+        writer.append("\n      responses: ");
+        writer.append("\n        '").append(operation.getResponseCode()).append("':");
+        writer.append(YAML_DESCRIPTION).append(operation.getResponseDescription());
+
+        if (operation.getResponseMediaType() != null) {
+
+            writer.append("\n          content: ");
+            writer.append(YAML_NEW_ROW).append(operation.getResponseMediaType());
+            writer.append(":\n              schema:");
+            writer.append("\n                ").append(getTypeText(operation.getResponseSchema()));
+        }
+
+        boolean parametersWritten = false;
+
+        for (OpenApiParameter parameter : operation.getParameters()) {
+
+            if (parameter.getIn() != null) {
+
+                if (!parametersWritten) {
+
+                    writer.append("\n      parameters:");
+                    parametersWritten = true;
+                }
+
+                writeParameter(writer, parameter);
+            }
+
+            if (!parameter.getDescription().isEmpty()) {
+
+                writer.append(YAML_DESCRIPTION).append(parameter.getDescription());
+            }
+        }
+
+        if (operation.getRequestBodyDescription() != null) {
+
+            writer.append("\n      requestBody:");
+            writer.append("\n        description: ").append(operation.getRequestBodyDescription());
+            writer.append("\n        content:\n          '").append(operation.getRequestBodyMediaType()).append("':");
+
+            if (operation.getRequestBodySchema() != null) {
+
+                writer.append("\n             schema:");
+                writer.append("\n               ").append(getTypeText(operation.getRequestBodySchema()));
+            }
+        }
+
+        writer.append("\n");
+    }
+
+    private void writeParameter(final Writer writer, final OpenApiParameter parameter) throws IOException {
+
+        OpenApiSchema schema = parameter.getSchema();
+
+        writer.append("\n        - in: ").append(parameter.getIn());
+        writer.append("\n          name: ").append(parameter.getName());
+
+        if (parameter.isRequired()) {
+
+            writer.append("\n          required: true");
+        }
+
+        writer.append("\n          schema:");
+        writer.append(YAML_NEW_ROW);
+
+        if (!schema.isReference()) {
+
+            writer.append(YAML_TYPE);
+        }
+
+        writer.append(getTypeText(schema));
+
+        if (schema.isArray()) {
+
+            writer.append("\n            items:");
+            writer.append("\n              type: ").append(getTypeText(schema.getItems()));
+
+            if (schema.getItems().getFormat() != null) {
+
+                writer.append("\n              format: ").append(schema.getItems().getFormat());
+            }
+        } else {
+
+            if (schema.getFormat() != null) {
+
+                writer.append(YAML_FORMAT).append(schema.getFormat());
+            }
+        }
+    }
+
+    private void writeComponent(final Writer writer, final String componentName, final OpenApiSchema component) throws IOException {
+
+        writer.append("    ").append(componentName).append(":");
+
+        if (!component.getProperties().isEmpty()) {
+
+            writer.append("\n      properties:");
+
+        } else if (component.getDescription() != null) {
+
+            writer.append("\n        description: ").append(component.getDescription());
+        }
+
+        for (OpenApiSchema property : component.getProperties()) {
+
+            writer.append("\n        ").append(property.getName()).append(":");
+
+            // The properties of a Set component are the items of the set
+            if (componentName.startsWith("Set-") && property.isArray()) {
+
+                writeSetProperty(writer, property);
+
+            } else {
+
+                writeProperty(writer, property);
+            }
+        }
+    }
+
+    private void writeSetProperty(final Writer writer, final OpenApiSchema property) throws IOException {
+
+        writer.append("\n          type: array");
+        writer.append("\n          items: ");
+        writer.append("\n            type: ").append(getTypeText(property.getItems()));
+
+        if (property.getItems().getFormat() != null) {
+
+            writer.append(YAML_FORMAT).append(property.getItems().getFormat());
+        }
+
+        writer.append(YAML_DESCRIPTION).append(property.getDescription());
+    }
+
+    private void writeProperty(final Writer writer, final OpenApiSchema property) throws IOException {
+
+        writer.append("\n          ");
+
+        if (!property.isReference()) {
+
+            writer.append(YAML_TYPE);
+        }
+
+        writer.append(getTypeText(property));
+
+        if (property.getFormat() != null) {
+
+            writer.append("\n          format: ").append(property.getFormat());
+        }
+
+        if (property.getDescription() != null) {
+
+            writer.append(YAML_DESCRIPTION).append(property.getDescription());
+        }
+
+        if (property.getEnumValues() != null) {
+
+            writer.append("\n          enum: [").append(property.getEnumValues()).append("]");
+        }
+
+        if (property.isArray()) {
+
+            OpenApiSchema items = property.getItems();
+
+            writer.append("\n          items:");
+
+            if (!items.isReference()) {
+
+                writer.append("\n            type: ").append(items.getType());
+
+                if (items.getFormat() != null) {
+
+                    writer.append(YAML_FORMAT).append(items.getFormat());
+                }
+            } else {
+
+                // $ref: reference
+                writer.append(YAML_NEW_ROW).append(getTypeText(items));
+            }
+        }
+    }
+
+    /*
+     * The type, or the reference if the schema refers to a component
+     */
+    private String getTypeText(final OpenApiSchema schema) {
+
+        if (schema.isReference()) {
+
+            return YAML_REFERENCE + schema.getRef() + "'";
+        }
+
+        return schema.getType();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.openapi;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * REST paths as a tree of path segments, the operations of a path are attached to the node of its last segment.
+ * The paths are visited in the same order as the OpenApi path keys ("path:") are sorted as text, the paths are
+ * sorted once when they are visited.
+ *
+ * @param <T> Operation type
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+final class PathTree<T extends Serializable> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final char PATH_DELIMITER = '/';
+    private static final String ROOT_PATH = "/";
+
+    private final Node<T> root = new Node<>(null);
+    private int paths;
+
+    /**
+     * Add an operation to a path, an empty path is the same as the root path "/".
+     * Operations with the same path are kept in the order they are added.
+     */
+    void add(final String path, final T operation) {
+
+        Node<T> node = root;
+
+        String nodePath = path.isEmpty() ? ROOT_PATH : path;
+        int segmentStart = 0;
+
+        while (segmentStart <= nodePath.length()) {
+
+            int segmentEnd = nodePath.indexOf(PATH_DELIMITER, segmentStart);
+
+            if (segmentEnd == -1) {
+
+                segmentEnd = nodePath.length();
+            }
+
+            final int childPathEnd = segmentEnd;
+
+            node = node.children.computeIfAbsent(nodePath.substring(segmentStart, segmentEnd), segment -> new Node<>(nodePath.substring(0, childPathEnd)));
+
+            segmentStart = segmentEnd + 1;
+        }
+
+        if (node.operations.isEmpty()) {
+
+            paths++;
+        }
+
+        node.operations.add(operation);
+    }
+
+    /**
+     * @return The operations of a path in the order they were added, an empty list if the path has no operations
+     */
+    List<T> getOperations(final String path) {
+
+        Node<T> node = root;
+
+        String nodePath = path.isEmpty() ? ROOT_PATH : path;
+        int segmentStart = 0;
+
+        while ((node != null) && (segmentStart <= nodePath.length())) {
+
+            int segmentEnd = nodePath.indexOf(PATH_DELIMITER, segmentStart);
+
+            if (segmentEnd == -1) {
+
+                segmentEnd = nodePath.length();
+            }
+
+            node = node.children.get(nodePath.substring(segmentStart, segmentEnd));
+
+            segmentStart = segmentEnd + 1;
+        }
+
+        return node == null ? Collections.emptyList() : Collections.unmodifiableList(node.operations);
+    }
+
+    /**
+     * @return Number of paths with operations
+     */
+    int size() {
+
+        return paths;
+    }
+
+    /**
+     * Visit every path with operations, in OpenApi path key order
+     */
+    void forEachPath(final BiConsumer<String, List<T>> visitor) {
+
+        List<Node<T>> pathNodes = new ArrayList<>(paths);
+
+        collectPathNodes(root, pathNodes);
+
+        pathNodes.sort((node, otherNode) -> comparePathKeys(node.path, otherNode.path));
+
+        for (Node<T> pathNode : pathNodes) {
+
+            visitor.accept(pathNode.path, Collections.unmodifiableList(pathNode.operations));
+        }
+    }
+
+    private void collectPathNodes(final Node<T> node, final List<Node<T>> pathNodes) {
+
+        if (!node.operations.isEmpty()) {
+
+            pathNodes.add(node);
+        }
+
+        node.children.values().forEach(child -> collectPathNodes(child, pathNodes));
+    }
+
+    /*
+     * Compare two paths as the path keys "path:\n" are compared, without creating the keys.
+     * A path is sorted after its sub paths, "/a/b:" is less than "/a:" since '/' is less than ':'.
+     */
+    static int comparePathKeys(final String path, final String otherPath) {
+
+        int keyLength = Math.max(path.length(), otherPath.length()) + 2;
+
+        for (int index = 0; index < keyLength; index++) {
+
+            char character = getPathKeyChar(path, index);
+            char otherCharacter = getPathKeyChar(otherPath, index);
+
+            if (character != otherCharacter) {
+
+                return character - otherCharacter;
+            }
+        }
+
+        return 0;
+    }
+
+    private static char getPathKeyChar(final String path, final int index) {
+
+        if (index < path.length()) {
+
+            return path.charAt(index);
+        }
+
+        return index == path.length() ? ':' : '\n';
+    }
+
+    private static final class Node<T> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String path;
+        private final HashMap<String, Node<T>> children = new HashMap<>();
+        private final ArrayList<T> operations = new ArrayList<>(1);
+
+        Node(final String path) {
+
+            this.path = path;
+        }
+    }
+}
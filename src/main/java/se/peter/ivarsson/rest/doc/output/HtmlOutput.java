@@ -6,25 +6,23 @@
 package se.peter.ivarsson.rest.doc.output;
 
 import java.io.File;
-import java.io.IOException;
 import java.net.URI;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import se.peter.ivarsson.rest.doc.mojo.ConfigParameters;
 import se.peter.ivarsson.rest.doc.parser.ClassInfo;
+import se.peter.ivarsson.rest.doc.parser.DataModelInfo;
 import se.peter.ivarsson.rest.doc.parser.FieldInfo;
-import se.peter.ivarsson.rest.doc.parser.MehodInfoComparator;
-
 import se.peter.ivarsson.rest.doc.parser.MethodInfo;
 import se.peter.ivarsson.rest.doc.parser.ParameterInfo;
 import se.peter.ivarsson.rest.doc.parser.RestDocHandler;
+import se.peter.ivarsson.rest.doc.parser.RestInfoIndex;
 import se.peter.ivarsson.rest.doc.utils.LoggingUtils;
 
 /**
@@ -43,23 +41,53 @@ public class HtmlOutput {
     private static final String HTML_NEW_TABLE_DATA = "</td><td>";
     private static final String HTML_NEW_ROW = "\r\r\t\t<tr>";
     private static final String HTML_NEW_ROW_HREF = "\r\t\t<a href=./";
+    private static final String HTML_HEADER = "<html lang=\"en\">\r\t<head>\r\t\t<meta charset=\"utf-8\">"
+            + "\r\r\t<style>\r\t\ttable, th, td {\r\t\t\tborder: 1px solid;\r\t\t\tborder-collapse: collapse;\r\t\t\tborder-color: #D6D6C2;\r\t\t}\r\t\tth, td {\r\t\t\tpadding: 8px;\r\t\t}\r\t</style>"
+            + "\r\r\t\t<title>REST documentation</title>\r\t</head>\r\r\t<body>";
+
+    private static final int PAGE_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_REUSED_PAGE_BUFFER_SIZE = 1024 * 1024;
 
     private static final Logger LOGGER = Logger.getLogger(HtmlOutput.class.getSimpleName());
 
+    private final OutputFileWriter outputFileWriter;
+
+    // Every page is created in the page buffer of the thread, it is reused for the next page
+    private final ThreadLocal<StringBuilder> pageBuffers = ThreadLocal.withInitial(() -> new StringBuilder(PAGE_BUFFER_SIZE));
+
+    public HtmlOutput() {
+
+        this(new OutputFileWriter());
+    }
+
+    public HtmlOutput(final OutputFileWriter outputFileWriter) {
+
+        this.outputFileWriter = outputFileWriter;
+    }
+
     public void createHTMLDocumantation(final ConfigParameters configParameters) {
 
+        createHTMLDocumantation(configParameters, new RestInfoIndex(RestDocHandler.restInfo));
+    }
+
+    public void createHTMLDocumantation(final ConfigParameters configParameters, final RestInfoIndex restInfoIndex) {
+
         LoggingUtils.addLoggingFileHandler(configParameters.getLoggingDirectory(), LOGGER);
 
-        writeIndexHtmlFile(configParameters.getOutputDirectory(), configParameters.getProjectTitle());
+        writeIndexHtmlFile(configParameters.getOutputDirectory(), configParameters.getProjectTitle(), restInfoIndex);
 
         writeProgrammersInfoHtmlFile(configParameters.getOutputDirectory());
 
-        writeResouresDocumentationToFiles(configParameters.getOutputDirectory());
+        int outputThreads = getOutputThreads(configParameters);
+
+        writeResouresDocumentationToFiles(configParameters.getOutputDirectory(), restInfoIndex, outputThreads);
 
-        writeDomainDataToFiles(configParameters.getOutputDirectory());
+        writeDomainDataToFiles(configParameters.getOutputDirectory(), restInfoIndex, outputThreads);
+
+        LOGGER.info(() -> "createHTMLDocumantation() " + outputFileWriter);
     }
 
-    private void writeIndexHtmlFile(final File outputDirectory, final String projectTitle) {
+    private void writeIndexHtmlFile(final File outputDirectory, final String projectTitle, final RestInfoIndex restInfoIndex) {
 
         LOGGER.info("writeIndexHtmlFile() write index.html");
 
@@ -69,7 +97,7 @@ public class HtmlOutput {
 
         htmlBodyHeader(htmlBuffer, "REST api for project: \"" + projectTitle + "\"");
 
-        htmlRestResourcesList(htmlBuffer);
+        htmlRestResourcesList(htmlBuffer, restInfoIndex);
 
         htmlGoToProgrammersInfo(htmlBuffer);
 
@@ -78,15 +106,14 @@ public class HtmlOutput {
         writeHtmlToFile(indexFilePath, htmlBuffer);
     }
 
-    private void htmlRestResourcesList(final StringBuilder htmlBuffer) {
+    private void htmlRestResourcesList(final StringBuilder htmlBuffer, final RestInfoIndex restInfoIndex) {
 
         htmlBuffer.append("\r\r\t<ul>");
 
         LOGGER.info(() -> "htmlRestResourcesList()  restInfo.ClassInfo size = "
-                + RestDocHandler.restInfo.getClassInfo().size());
+                + restInfoIndex.getClasses().size());
 
-        RestDocHandler.restInfo.getClassInfo().stream()
-                .filter(classInfo -> classInfo.getMethodInfo() != null)
+        restInfoIndex.getResources().stream()
                 .sorted((o1, o2) -> o1.getClassName().compareTo(o2.getClassName()))
                 .forEach(res -> {
 
@@ -158,15 +185,25 @@ public class HtmlOutput {
         writeHtmlToFile(programmersInfoFilePath, htmlBuffer);
     }
 
-    private void writeResouresDocumentationToFiles(final File outputDirectory) {
+    private int getOutputThreads(final ConfigParameters configParameters) {
+
+        if (!configParameters.isParallelOutput()) {
+
+            return 1;
+        }
+
+        return configParameters.getOutputThreads() > 0 ? configParameters.getOutputThreads() : Runtime.getRuntime().availableProcessors();
+    }
+
+    private void writeResouresDocumentationToFiles(final File outputDirectory, final RestInfoIndex restInfoIndex, final int outputThreads) {
 
         LOGGER.info(() -> "writeResouresDocumentationToFiles() restInfo.ClassInfo size = "
-                + RestDocHandler.restInfo.getClassInfo().size());
+                + restInfoIndex.getClasses().size());
 
-        RestDocHandler.restInfo.getClassInfo().stream().forEach(classInfo -> writeResouresDocumentationToFile(outputDirectory, classInfo));
+        writePages("resource pages", restInfoIndex.getClasses(), outputThreads, classInfo -> writeResouresDocumentationToFile(outputDirectory, classInfo, restInfoIndex));
     }
 
-    private void writeResouresDocumentationToFile(final File outputDirectory, final ClassInfo classInfo) {
+    private void writeResouresDocumentationToFile(final File outputDirectory, final ClassInfo classInfo, final RestInfoIndex restInfoIndex) {
 
         LOGGER.info(() -> "writeResouresDocumentationToFile( " + classInfo.getClassName() + " )");
 
@@ -178,37 +215,19 @@ public class HtmlOutput {
 
         htmlGoHome(htmlBuffer);
 
-        htmlRestResourceDetail(htmlBuffer, classInfo.getClassName());
+        htmlRestResourceDetail(htmlBuffer, classInfo.getClassName(), restInfoIndex);
 
         htmlFooter(htmlBuffer);
 
         writeHtmlToFile(programmersInfoFilePath, htmlBuffer);
     }
 
-    private void htmlRestResourceDetail(final StringBuilder htmlBuffer, final String resourceType) {
-
-        List<MethodInfo> methodInfoList = new ArrayList<>();
+    private void htmlRestResourceDetail(final StringBuilder htmlBuffer, final String resourceType, final RestInfoIndex restInfoIndex) {
 
         LOGGER.info(() -> "htmlRestResourceDetail() resourceType = " + resourceType);
 
-        RestDocHandler.restInfo.getClassInfo().stream()
-                .forEach(res -> {
-
-                    if (res.getClassName().equals(resourceType)) {
-
-                        if (res.getMethodInfo() == null) {
-
-                            // No info in structure
-                            return;
-
-                        } else {
-
-                            methodInfoList.addAll(res.getMethodInfo());
-                        }
-                    }
-                });
-
-        methodInfoList.sort(new MehodInfoComparator());
+        // All classes with this name, sorted by path and HTTP method
+        List<MethodInfo> methodInfoList = restInfoIndex.getMethodsBySimpleName(resourceType);
 
         final Integer[] methodNumber = new Integer[1];
         methodNumber[0] = 1;
@@ -392,16 +411,65 @@ public class HtmlOutput {
         return inString.replaceAll("<", "&lt;").replaceAll(">", "&gt;");
     }
 
-    private void writeDomainDataToFiles(final File outputDirectory) {
+    private void writeDomainDataToFiles(final File outputDirectory, final RestInfoIndex restInfoIndex, final int outputThreads) {
 
-        LOGGER.info(() -> "writeDomainDataToFiles() restInfo.ClassInfo size = " + RestDocHandler.restInfo.getClassInfo().size());
+        LOGGER.info(() -> "writeDomainDataToFiles() restInfo.ClassInfo size = " + restInfoIndex.getClasses().size());
 
-        RestDocHandler.restInfo.getDomainDataMap().entrySet().stream()
-                .filter(Objects::nonNull)
-                .forEach(domainData -> writeDomainDataToFile(outputDirectory, domainData.getKey()));
+        writePages("domain data pages", restInfoIndex.getDomainDataMap().keySet(), outputThreads, domainDataType -> writeDomainDataToFile(outputDirectory, domainDataType, restInfoIndex));
     }
 
-    private void writeDomainDataToFile(final File outputDirectory, final String domainDataType) {
+    /*
+     * Every page only reads the analysis result and is written to its own file, so the pages can be written in any order.
+     * A page is created in the page buffer of the thread, only one page buffer per thread is kept in memory.
+     */
+    private <T> void writePages(final String pagesName, final Collection<T> items, final int outputThreads, final Consumer<T> pageWriter) {
+
+        if ((outputThreads < 2) || (items.size() < 2)) {
+
+            items.forEach(pageWriter);
+            return;
+        }
+
+        LOGGER.info(() -> "Write " + items.size() + " " + pagesName + " using " + outputThreads + " threads");
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(outputThreads);
+
+        try {
+
+            forkJoinPool.submit(() -> items.parallelStream().forEach(pageWriter)).get();
+
+        } catch (InterruptedException ie) {
+
+            LOGGER.severe(() -> "writePages, InterruptedException: " + ie.getMessage());
+
+            Thread.currentThread().interrupt();
+
+        } catch (ExecutionException ee) {
+
+            LOGGER.severe(() -> "writePages, ExecutionException when writing " + pagesName + ": " + ee.getMessage());
+
+            // Same exception as when the pages are written sequentially, the pages are not written again
+            Throwable cause = ee.getCause();
+
+            if (cause instanceof RuntimeException) {
+
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+
+                throw (Error) cause;
+            }
+
+            throw new RuntimeException(cause);
+
+        } finally {
+
+            forkJoinPool.shutdown();
+        }
+    }
+
+    private void writeDomainDataToFile(final File outputDirectory, final String domainDataType, final RestInfoIndex restInfoIndex) {
 
         LOGGER.info(() -> "writeDomainDataToFile( " + domainDataType + " )");
 
@@ -413,32 +481,32 @@ public class HtmlOutput {
 
         htmlGoHome(htmlBuffer);
 
-        htmlRestResourceDomainData(htmlBuffer, domainDataType);
+        htmlRestResourceDomainData(htmlBuffer, restInfoIndex.getDomainData(domainDataType), domainDataType);
 
         htmlFooter(htmlBuffer);
 
         writeHtmlToFile(programmersInfoFilePath, htmlBuffer);
     }
 
-    private void htmlRestResourceDomainData(final StringBuilder htmlBuffer, final String domainDataType) {
+    private void htmlRestResourceDomainData(final StringBuilder htmlBuffer, final DataModelInfo domainData, final String domainDataType) {
 
         LOGGER.info(() -> "htmlRestResourceDomainData() domainDataType = " + domainDataType);
 
-        Map domainData = RestDocHandler.restInfo.getDomainDataMap();
-
-        if (domainData.get(domainDataType) == null) {
+        if (domainData == null) {
 
             LOGGER.severe(() -> "htmlRestResourceDomainData() domainDataType = " + domainDataType + "Not found in DomainData map");
             return;
         }
 
-        final List<FieldInfo> fields = RestDocHandler.restInfo.getDomainDataMap().get(domainDataType).getFields();
+        final List<FieldInfo> fields = domainData.getFields();
 
         htmlBuffer.append(HTML_END_TABLE_TWO);
 
-        if (RestDocHandler.restInfo.getDomainDataMap().get(domainDataType).getInfo() != null) {
+        if (domainData.getInfo() != null) {
 
-            htmlBuffer.append("\r\t\t\t<tr><td colspan=3>" + RestDocHandler.restInfo.getDomainDataMap().get(domainDataType).getInfo() + HTML_END_TABLE_ROW);
+            htmlBuffer.append("\r\t\t\t<tr><td colspan=3>");
+            htmlBuffer.append(domainData.getInfo());
+            htmlBuffer.append(HTML_END_TABLE_ROW);
             htmlBuffer.append("\r\t\t\t<tr><td colspan=3></td></tr>");
         }
 
@@ -485,11 +553,10 @@ public class HtmlOutput {
 
     private StringBuilder htmlHeader() {
 
-        final StringBuilder htmlBuffer = new StringBuilder(4096);
+        final StringBuilder htmlBuffer = pageBuffers.get();
 
-        htmlBuffer.append("<html lang=\"en\">\r\t<head>");
-        htmlBuffer.append("\r\r\t<style>\r\t\ttable, th, td {\r\t\t\tborder: 1px solid;\r\t\t\tborder-collapse: collapse;\r\t\t\tborder-color: #D6D6C2;\r\t\t}\r\t\tth, td {\r\t\t\tpadding: 8px;\r\t\t}\r\t</style>");
-        htmlBuffer.append("\r\r\t\t<title>REST documentation</title>\r\t</head>\r\r\t<body>");
+        htmlBuffer.setLength(0);
+        htmlBuffer.append(HTML_HEADER);
 
         return htmlBuffer;
     }
@@ -533,13 +600,12 @@ public class HtmlOutput {
 
     private void writeHtmlToFile(final Path indexFilePath, final StringBuilder htmlBuffer) {
 
-        try {
-
-            Files.write(indexFilePath, htmlBuffer.toString().getBytes(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        outputFileWriter.write(indexFilePath, htmlBuffer);
 
-        } catch (IOException ioe) {
+        if (htmlBuffer.capacity() > MAX_REUSED_PAGE_BUFFER_SIZE) {
 
-            LOGGER.severe("writeHtmlToFile() Path ='" + indexFilePath.toString() + "' IOException: " + ioe.getMessage());
+            // Don't keep the memory of an unusually large page
+            pageBuffers.remove();
         }
     }
 
@@ -0,0 +1,216 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.output;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Writes output files, a file is only written if its content is changed.
+ * Unchanged files keeps their last modified time, so file watchers and rsync don't see any change.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class OutputFileWriter {
+
+    private static final Logger LOGGER = Logger.getLogger(OutputFileWriter.class.getSimpleName());
+
+    private static final int COMPARE_BUFFER_SIZE = 64 * 1024;
+
+    private final AtomicInteger writtenFiles = new AtomicInteger();
+    private final AtomicInteger unchangedFiles = new AtomicInteger();
+
+    private final ThreadLocal<Utf8FileEncoder> fileEncoders = ThreadLocal.withInitial(Utf8FileEncoder::new);
+
+    public void write(final Path filePath, final byte[] content) {
+
+        try {
+
+            if (isUnchanged(filePath, content)) {
+
+                unchangedFiles.incrementAndGet();
+                return;
+            }
+
+            Files.write(filePath, content, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+
+            writtenFiles.incrementAndGet();
+
+        } catch (IOException ioe) {
+
+            LOGGER.severe("write() Path ='" + filePath.toString() + "' IOException: " + ioe.getMessage());
+        }
+    }
+
+    /**
+     * Encode the content as UTF-8 directly into the file, the content is never copied to a String or a byte array.
+     * The encoding buffers of the calling thread are reused for every file.
+     */
+    public void write(final Path filePath, final CharSequence content) {
+
+        Utf8FileEncoder fileEncoder = fileEncoders.get();
+
+        try {
+
+            if (fileEncoder.isUnchanged(filePath, content)) {
+
+                unchangedFiles.incrementAndGet();
+                return;
+            }
+
+            fileEncoder.write(filePath, content);
+
+            writtenFiles.incrementAndGet();
+
+        } catch (IOException ioe) {
+
+            LOGGER.severe("write() Path ='" + filePath.toString() + "' IOException: " + ioe.getMessage());
+        }
+    }
+
+    /**
+     * Stream the content as UTF-8 to a temporary file next to the file, the whole content is never kept in memory.
+     * The temporary file replaces the file if the content is changed, otherwise it is removed.
+     */
+    public void write(final Path filePath, final ContentWriter contentWriter) {
+
+        Path temporaryPath = filePath.resolveSibling(filePath.getFileName().toString() + ".tmp");
+
+        try {
+
+            try (Writer writer = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+
+                contentWriter.writeTo(writer);
+            }
+
+            if (isUnchanged(filePath, temporaryPath)) {
+
+                Files.delete(temporaryPath);
+
+                unchangedFiles.incrementAndGet();
+                return;
+            }
+
+            Files.move(temporaryPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+
+            writtenFiles.incrementAndGet();
+
+        } catch (IOException ioe) {
+
+            LOGGER.severe("write() Path ='" + filePath.toString() + "' IOException: " + ioe.getMessage());
+
+            deleteTemporaryFile(temporaryPath);
+        }
+    }
+
+    private void deleteTemporaryFile(final Path temporaryPath) {
+
+        try {
+
+            Files.deleteIfExists(temporaryPath);
+
+        } catch (IOException ioe) {
+
+            LOGGER.severe("deleteTemporaryFile() Path ='" + temporaryPath.toString() + "' IOException: " + ioe.getMessage());
+        }
+    }
+
+    private boolean isUnchanged(final Path filePath, final Path newFilePath) throws IOException {
+
+        if (!Files.isRegularFile(filePath) || (Files.size(filePath) != Files.size(newFilePath))) {
+
+            return false;
+        }
+
+        try (InputStream fileStream = Files.newInputStream(filePath);
+                InputStream newFileStream = Files.newInputStream(newFilePath)) {
+
+            byte[] fileBuffer = new byte[COMPARE_BUFFER_SIZE];
+            byte[] newFileBuffer = new byte[COMPARE_BUFFER_SIZE];
+
+            int length;
+
+            while ((length = readFully(fileStream, fileBuffer)) > 0) {
+
+                if ((readFully(newFileStream, newFileBuffer) != length) || !isEqual(fileBuffer, newFileBuffer, length)) {
+
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isEqual(final byte[] buffer, final byte[] otherBuffer, final int length) {
+
+        for (int index = 0; index < length; index++) {
+
+            if (buffer[index] != otherBuffer[index]) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int readFully(final InputStream inputStream, final byte[] buffer) throws IOException {
+
+        int length = 0;
+        int read;
+
+        while ((length < buffer.length) && ((read = inputStream.read(buffer, length, buffer.length - length)) != -1)) {
+
+            length += read;
+        }
+
+        return length;
+    }
+
+    private boolean isUnchanged(final Path filePath, final byte[] content) throws IOException {
+
+        if (!Files.isRegularFile(filePath) || (Files.size(filePath) != content.length)) {
+
+            return false;
+        }
+
+        return Arrays.equals(Files.readAllBytes(filePath), content);
+    }
+
+    public int getWrittenFiles() {
+
+        return writtenFiles.get();
+    }
+
+    public int getUnchangedFiles() {
+
+        return unchangedFiles.get();
+    }
+
+    /**
+     * Writes the content of a file that is streamed by write(Path, ContentWriter)
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    @Override
+    public String toString() {
+        return writtenFiles.get() + " files written, " + unchangedFiles.get() + " files unchanged";
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Encodes text as UTF-8 a chunk at a time, into a FileChannel or compared with the content of an existing file.
+ * The char and byte buffers are reused for every file, an encoder must only be used by one thread at a time.
+ * Malformed text, like a lone surrogate, is replaced the same way as String.getBytes() does, the file is always valid UTF-8.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+final class Utf8FileEncoder {
+
+    private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+    private static final int BYTE_BUFFER_SIZE = 3 * CHAR_BUFFER_SIZE;   // Never more than 3 bytes per char
+
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final char[] chars = new char[CHAR_BUFFER_SIZE];
+    private final CharBuffer charBuffer = CharBuffer.wrap(chars);
+    private final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+    private final ByteBuffer fileBuffer = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+
+    /**
+     * @return true if the file exists and contains exactly the encoded text
+     */
+    boolean isUnchanged(final Path filePath, final CharSequence text) throws IOException {
+
+        if (!Files.isRegularFile(filePath)) {
+
+            return false;
+        }
+
+        try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+
+            return encode(text, bytes -> isEqual(fileChannel, bytes)) && (fileChannel.position() == fileChannel.size());
+        }
+    }
+
+    void write(final Path filePath, final CharSequence text) throws IOException {
+
+        try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            encode(text, bytes -> {
+
+                while (bytes.hasRemaining()) {
+
+                    fileChannel.write(bytes);
+                }
+
+                return true;
+            });
+        }
+    }
+
+    private boolean isEqual(final FileChannel fileChannel, final ByteBuffer bytes) throws IOException {
+
+        fileBuffer.clear();
+        fileBuffer.limit(bytes.remaining());
+
+        while (fileBuffer.hasRemaining()) {
+
+            if (fileChannel.read(fileBuffer) == -1) {
+
+                // The file is shorter than the text
+                return false;
+            }
+        }
+
+        fileBuffer.flip();
+
+        return fileBuffer.equals(bytes);
+    }
+
+    /*
+     * Encode the text a char buffer at a time, every full byte buffer is given to the consumer.
+     * A surrogate pair split between two char buffers is kept in the char buffer until the next chars are copied.
+     */
+    private boolean encode(final CharSequence text, final EncodedBytesConsumer consumer) throws IOException {
+
+        encoder.reset();
+        charBuffer.clear();
+        byteBuffer.clear();
+
+        int textPosition = 0;
+        boolean endOfText;
+
+        do {
+
+            int count = Math.min(charBuffer.remaining(), text.length() - textPosition);
+
+            copyChars(text, textPosition, count, charBuffer.position());
+
+            textPosition += count;
+            endOfText = textPosition == text.length();
+
+            charBuffer.position(charBuffer.position() + count);
+            charBuffer.flip();
+
+            while (encoder.encode(charBuffer, byteBuffer, endOfText).isOverflow()) {
+
+                if (!consumeBytes(consumer)) {
+
+                    return false;
+                }
+            }
+
+            charBuffer.compact();
+
+        } while (!endOfText);
+
+        while (encoder.flush(byteBuffer).isOverflow()) {
+
+            if (!consumeBytes(consumer)) {
+
+                return false;
+            }
+        }
+
+        return consumeBytes(consumer);
+    }
+
+    private void copyChars(final CharSequence text, final int textPosition, final int count, final int charsPosition) {
+
+        if (text instanceof StringBuilder) {
+
+            ((StringBuilder) text).getChars(textPosition, textPosition + count, chars, charsPosition);
+
+        } else if (text instanceof String) {
+
+            ((String) text).getChars(textPosition, textPosition + count, chars, charsPosition);
+
+        } else {
+
+            for (int index = 0; index < count; index++) {
+
+                chars[charsPosition + index] = text.charAt(textPosition + index);
+            }
+        }
+    }
+
+    private boolean consumeBytes(final EncodedBytesConsumer consumer) throws IOException {
+
+        byteBuffer.flip();
+
+        boolean continueEncoding = consumer.accept(byteBuffer);
+
+        byteBuffer.clear();
+
+        return continueEncoding;
+    }
+
+    /**
+     * Gets the encoded bytes, returns false to stop the encoding
+     */
+    @FunctionalInterface
+    private interface EncodedBytesConsumer {
+
+        boolean accept(ByteBuffer bytes) throws IOException;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.parser;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of analyzing one class file
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class ClassFileInfo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private ClassInfo classInfo = null;  // null if the class isn't a REST resource
+    private List<String> domainDataTypes = new ArrayList<>();
+
+    public ClassInfo getClassInfo() {
+        return classInfo;
+    }
+
+    public void setClassInfo(ClassInfo classInfo) {
+        this.classInfo = classInfo;
+    }
+
+    /**
+     * @return Class names of the domain data used by the REST resource, in the order they where found
+     */
+    public List<String> getDomainDataTypes() {
+        return domainDataTypes;
+    }
+
+    public void setDomainDataTypes(List<String> domainDataTypes) {
+        this.domainDataTypes = domainDataTypes;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassFileInfo{" + "classInfo=" + classInfo + ", domainDataTypes=" + domainDataTypes + '}';
+    }
+}
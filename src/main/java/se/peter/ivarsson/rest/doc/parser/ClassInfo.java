@@ -5,13 +5,16 @@
  */
 package se.peter.ivarsson.rest.doc.parser;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
  *
  * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
  */
-public class ClassInfo {
+public class ClassInfo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String className;
     private String packageAndClassName;
@@ -5,6 +5,7 @@
  */
 package se.peter.ivarsson.rest.doc.parser;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,7 +13,9 @@ import java.util.List;
  *
  * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
  */
-public class DataModelInfo {
+public class DataModelInfo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private List<FieldInfo> fields = new ArrayList<>();
     private String info;
@@ -0,0 +1,70 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.parser;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of analyzing one domain data class
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class DomainDataInfo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String className;
+    private DataModelInfo dataModelInfo = null;  // null if the class can't be loaded
+    private Set<String> domainDataTypes = new HashSet<>();
+    private Map<String, String> usedEnumTypes = new HashMap<>();
+
+    public String getClassName() {
+        return className;
+    }
+
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    public DataModelInfo getDataModelInfo() {
+        return dataModelInfo;
+    }
+
+    public void setDataModelInfo(DataModelInfo dataModelInfo) {
+        this.dataModelInfo = dataModelInfo;
+    }
+
+    /**
+     * @return Class names of the domain data used in the fields of this class
+     */
+    public Set<String> getDomainDataTypes() {
+        return domainDataTypes;
+    }
+
+    public void setDomainDataTypes(Set<String> domainDataTypes) {
+        this.domainDataTypes = domainDataTypes;
+    }
+
+    /**
+     * @return The enum types looked up when analyzing this class, the value is null if the type wasn't an enum
+     */
+    public Map<String, String> getUsedEnumTypes() {
+        return usedEnumTypes;
+    }
+
+    public void setUsedEnumTypes(Map<String, String> usedEnumTypes) {
+        this.usedEnumTypes = usedEnumTypes;
+    }
+
+    @Override
+    public String toString() {
+        return "DomainDataInfo{" + "className=" + className + ", dataModelInfo=" + dataModelInfo + ", domainDataTypes=" + domainDataTypes + ", usedEnumTypes=" + usedEnumTypes + '}';
+    }
+}
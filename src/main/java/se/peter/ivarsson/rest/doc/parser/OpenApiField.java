@@ -1,46 +0,0 @@
-/*
- * Rest Documentation maven plugin.
- * 
- * Copyright (C) 2018 Peter Ivarsson
- */
-package se.peter.ivarsson.rest.doc.parser;
-
-/**
- *
- * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
- */
-public class OpenApiField {
-   
-    String fieldType;
-    String fieldFormat;
-    String description;
-
-    public String getFieldType() {
-        return fieldType;
-    }
-
-    public void setFieldType(String fieldType) {
-        this.fieldType = fieldType;
-    }
-
-    public String getFieldFormat() {
-        return fieldFormat;
-    }
-
-    public void setFieldFormat(String fieldFormat) {
-        this.fieldFormat = fieldFormat;
-    }
-
-    public String getDescription() {
-        return description;
-    }
-
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
-    @Override
-    public String toString() {
-        return "OpenApiField{" + "fieldType=" + fieldType + ", fieldFormat=" + fieldFormat + ", description=" + description + '}';
-    }
-}
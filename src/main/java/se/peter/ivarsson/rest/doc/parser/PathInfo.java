@@ -5,11 +5,15 @@
  */
 package se.peter.ivarsson.rest.doc.parser;
 
+import java.io.Serializable;
+
 /**
  *
  * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
  */
-public class PathInfo {
+public class PathInfo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String classPath;
     private String parentPath;
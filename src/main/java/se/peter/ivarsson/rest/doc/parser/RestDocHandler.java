@@ -5,27 +5,54 @@
  */
 package se.peter.ivarsson.rest.doc.parser;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import se.peter.ivarsson.rest.doc.cache.AnalysisCache;
+import se.peter.ivarsson.rest.doc.cache.SchemaCache;
+import se.peter.ivarsson.rest.doc.classparser.AnnotationMetadata;
+import se.peter.ivarsson.rest.doc.classparser.BytecodeMetadataReader;
+import se.peter.ivarsson.rest.doc.classparser.ClassFileScanner;
+import se.peter.ivarsson.rest.doc.classparser.ClassMetadata;
+import se.peter.ivarsson.rest.doc.classparser.ClassMetadataReader;
+import se.peter.ivarsson.rest.doc.classparser.MethodMetadata;
+import se.peter.ivarsson.rest.doc.classparser.ParameterMetadata;
+import se.peter.ivarsson.rest.doc.classparser.ReflectionMetadataReader;
+import se.peter.ivarsson.rest.doc.mojo.ConfigParameters;
 import se.peter.ivarsson.rest.doc.utils.LoggingUtils;
+import se.peter.ivarsson.rest.doc.utils.PerformanceReport;
 import se.peter.ivarsson.rest.doc.sourceparser.JavaSourceParser;
+import se.peter.ivarsson.rest.doc.sourceparser.SourceFileInfo;
 
 /**
  *
@@ -35,80 +62,243 @@ public class RestDocHandler {
 
     private static final Logger LOGGER = Logger.getLogger(RestDocHandler.class.getSimpleName());
 
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
     private URLClassLoader urlClassLoader;
+    private ClassMetadataReader classMetadataReader;
 
-    private final JavaSourceParser javaSourceParser = new JavaSourceParser();
+    private final JavaSourceParser javaSourceParser;
 
-    private final HashMap<String, String> javaDocComments = new HashMap<>();
+    private final HashMap<String, SourceFileInfo> sourceFileInfoMap = new HashMap<>();
     private final HashMap<String, String> enumTypes = new HashMap<>();
     private final HashMap<String, ResponseType> responseTypes = new HashMap<>();
     private final HashMap<String, PathInfo> classPaths = new HashMap<>();
     private final HashMap<String, String> constants = new HashMap<>();
 
+    private final boolean prefilterClassFiles;
+    private final AnalysisCache analysisCache;
+    private final AtomicInteger skippedClassFiles = new AtomicInteger();
+
+    private final SchemaCache schemaCache;
+
+    private final boolean parallelAnalysis;
+    private final boolean byteSourceReading;
+    private final int analysisThreads;
+
     public static final RestInfo restInfo = new RestInfo();
 
     /**
-     *
+     * Analyze the source and class files, the time used by every phase is added to the performance report
+     */
+    public RestDocHandler(final File classesDirectory, final File sourceDirectory, final ConfigParameters configParameters,
+            final PerformanceReport performanceReport) {
+
+        this(Collections.singletonList(classesDirectory), Collections.singletonList(sourceDirectory), configParameters, performanceReport);
+    }
+
+    /**
+     * Analyze the source and class files of more than one module into one model. All classes directories are in the
+     * same class loader, so a domain data class used by many modules is only loaded and analyzed once. A class found
+     * in more than one classes directory is taken from the first directory, like the class loader does.
+     */
+    public RestDocHandler(final List<File> classesDirectories, final List<File> sourceDirectories, final ConfigParameters configParameters,
+            final PerformanceReport performanceReport) {
+
+        this(classesDirectories, Collections.emptyList(), sourceDirectories, configParameters, performanceReport);
+    }
+
+    /**
+     * Analyze the classes directories and the classes jars into one model. The class files in the jars are found in the
+     * zip central directory and read directly from the jars, nothing is extracted to disk. A class in both a classes
+     * directory and a jar is taken from the classes directory.
      */
-    public RestDocHandler(final File classesDirectory, final File sourceDirectory, final File loggingDirectory) {
+    public RestDocHandler(final List<File> classesDirectories, final List<File> classesJars, final List<File> sourceDirectories,
+            final ConfigParameters configParameters, final PerformanceReport performanceReport) {
 
-        LoggingUtils.addLoggingFileHandler(loggingDirectory, LOGGER);
+        LoggingUtils.addLoggingFileHandler(configParameters.getLoggingDirectory(), LOGGER);
 
         LOGGER.info("REST documentation STARTED analyzing");
 
+        // The analysis result is static, remove the result of an earlier execution in the same JVM
+        restInfo.getClassInfo().clear();
+        restInfo.getDomainDataMap().clear();
+
+        prefilterClassFiles = configParameters.isPrefilterClassFiles();
+        parallelAnalysis = configParameters.isParallelAnalysis();
+        byteSourceReading = configParameters.isByteSourceReading();
+        javaSourceParser = new JavaSourceParser(byteSourceReading);
+        analysisThreads = configParameters.getAnalysisThreads() > 0 ? configParameters.getAnalysisThreads() : Runtime.getRuntime().availableProcessors();
+
+        if (configParameters.isIncrementalAnalysis()) {
+
+            analysisCache = AnalysisCache.load(configParameters.getLoggingDirectory(), configParameters);
+
+        } else {
+
+            analysisCache = null;
+        }
+
+        if (configParameters.isSchemaCache()) {
+
+            schemaCache = new SchemaCache(configParameters.getSchemaCacheDirectory(), configParameters.getLoggingDirectory());
+
+        } else {
+
+            schemaCache = null;
+        }
+
         ClassLoader currentThreadClassLoader = Thread.currentThread().getContextClassLoader();
 
         try {
 
-            // Add the classesDirectory dir to the classpath
-            urlClassLoader = new URLClassLoader(new URL[]{classesDirectory.toURI().toURL()}, currentThreadClassLoader);
+            // Add the classes directories and then the classes jars to the classpath
+            URL[] classesUrls = new URL[classesDirectories.size() + classesJars.size()];
+
+            for (int index = 0; index < classesDirectories.size(); index++) {
+
+                classesUrls[index] = classesDirectories.get(index).toURI().toURL();
+            }
+
+            for (int index = 0; index < classesJars.size(); index++) {
+
+                classesUrls[classesDirectories.size() + index] = classesJars.get(index).toURI().toURL();
+            }
+
+            urlClassLoader = new URLClassLoader(classesUrls, currentThreadClassLoader);
 
         } catch (MalformedURLException mue) {
 
             LOGGER.severe("MalformedURLException: " + mue.getMessage());
         }
 
+        // The bytecode engine only uses the class loader to find the class files, the classes are never loaded
+        if (configParameters.isBytecodeAnalysis()) {
+
+            classMetadataReader = new BytecodeMetadataReader(urlClassLoader, configParameters.getLoggingDirectory());
+
+        } else {
+
+            classMetadataReader = new ReflectionMetadataReader(urlClassLoader);
+        }
+
         //  Parse source files
-        try (Stream<Path> sourceStream = Files.walk(Paths.get(sourceDirectory.toURI()))) {
+        PerformanceReport.Phase sourceWalkPhase = performanceReport.startPhase("Source walk", "source files");
 
-            sourceStream.filter(Files::isRegularFile)
-                    .forEach(path -> {
+        List<RootFile> sourceFiles = findFiles("source directories", sourceDirectories, ".java", "Source path: ");
 
-                        LOGGER.info("Source path: " + path);
+        sourceWalkPhase.addCounter("sourceDirectories", sourceDirectories.size());
+        sourceWalkPhase.end(sourceFiles.size());
 
-                        if (path.toString().endsWith(".java")) {
+        PerformanceReport.Phase javaDocPhase = performanceReport.startPhase("JavaDoc extraction", "source files");
 
-                            javaSourceParser.parseSourceFile(sourceDirectory, enumTypes, responseTypes, classPaths, constants, path, urlClassLoader);
-                        }
-                    });
-        } catch (IOException ioe) {
+        List<SourceFileInfo> sourceFileInfoList;
 
-            LOGGER.severe(() -> "IOException reading source files: " + ioe.getMessage());
+        if (parallelAnalysis) {
 
-            LOGGER.severe(Arrays.toString(ioe.getStackTrace()));
+            // Every file is parsed by its own JavaSourceParser, the parser keeps per file state
+            sourceFileInfoList = mapInParallel("source files", sourceFiles, sourceFile -> parseSourceFile(sourceFile.getRoot(), sourceFile.getPath(), new JavaSourceParser(byteSourceReading)));
+
+        } else {
+
+            sourceFileInfoList = mapInParallel("source files", sourceFiles, sourceFile -> parseSourceFile(sourceFile.getRoot(), sourceFile.getPath(), javaSourceParser));
         }
 
+        // Merge in source walk order, the same key found in a later file replaces an earlier one
+        sourceFileInfoList.stream()
+                .forEach(sourceFileInfo -> {
+
+                    enumTypes.putAll(sourceFileInfo.getEnumTypes());
+                    responseTypes.putAll(sourceFileInfo.getResponseTypes());
+                    classPaths.putAll(sourceFileInfo.getClassPaths());
+                    constants.putAll(sourceFileInfo.getConstants());
+
+                    sourceFileInfoMap.put(sourceFileInfo.getClassName(), sourceFileInfo);
+                });
+
+        javaDocPhase.addCounter("javaDocComments", sourceFileInfoList.stream()
+                .mapToLong(sourceFileInfo -> sourceFileInfo.getJavaDocComments().size())
+                .sum());
+        javaDocPhase.end(sourceFileInfoList.size());
+
         // Parse classes files
-        try (Stream<Path> classesStream = Files.walk(Paths.get(classesDirectory.toURI()))) {
+        PerformanceReport.Phase classWalkPhase = performanceReport.startPhase("Class walk", "class files");
 
-            classesStream.filter(Files::isRegularFile)
-                    .forEach(path -> {
+        List<RootFile> classFiles = findFiles("classes directories", classesDirectories, CLASS_FILE_SUFFIX, "Classes path: ");
 
-                        LOGGER.info("Classes path: " + path);
+        // A class in more than one classes directory is analyzed once, the class loader loads it from the first directory
+        Set<Path> classFileNames = new HashSet<>();
 
-                        if (path.toString().endsWith(".class")) {
+        classFiles.removeIf(classFile -> !classFileNames.add(classFile.getRootPath().relativize(classFile.getPath())));
 
-                            checkClassFilesForPathAnnotations(classesDirectory, path, sourceDirectory);
-                        }
-                    });
-        } catch (IOException ioe) {
+        // Every class file gives its own ClassFileInfo, restInfo is only changed by this thread when all classes are analyzed
+        List<ClassFileInfo> classFileInfoList = mapInParallel("class files", classFiles, classFile -> checkClassFilesForPathAnnotations(classFile.getRoot(), classFile.getPath())).stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        // The jars are open while their class files are analyzed, the class loader has its own handles to the jars
+        List<ZipFile> jarFiles = openJarFiles(classesJars);
 
-            LOGGER.severe(() -> "IOException reading classes files: " + ioe.getMessage());
+        int jarClassFileCount = 0;
 
-            LOGGER.severe(Arrays.toString(ioe.getStackTrace()));
+        try {
+
+            List<JarClassEntry> jarClassEntries = findJarClassEntries(jarFiles, getJarPackagePrefixes(configParameters.getJarPackages()));
+
+            jarClassEntries.removeIf(jarClassEntry -> !classFileNames.add(Paths.get(jarClassEntry.getEntry().getName())));
+
+            jarClassFileCount = jarClassEntries.size();
+
+            mapInParallel("jar class files", jarClassEntries, this::checkJarClassEntryForPathAnnotations).stream()
+                    .filter(Objects::nonNull)
+                    .forEach(classFileInfoList::add);
+
+        } finally {
+
+            closeJarFiles(jarFiles);
+        }
+
+        if (prefilterClassFiles) {
+
+            LOGGER.info(() -> "Skipped " + skippedClassFiles.get() + " class files without JAX-RS annotations");
+        }
+
+        // Add the REST resources in class walk order
+        classFileInfoList.stream()
+                .map(ClassFileInfo::getClassInfo)
+                .filter(Objects::nonNull)
+                .forEach(classInfo -> restInfo.getClassInfo().add(classInfo));
+
+        classWalkPhase.addCounter("classesDirectories", classesDirectories.size());
+        classWalkPhase.addCounter("classesJars", jarFiles.size());
+        classWalkPhase.addCounter("jarClassFiles", jarClassFileCount);
+        classWalkPhase.addCounter("restResources", restInfo.getClassInfo().size());
+        classWalkPhase.addCounter("skippedClassFiles", skippedClassFiles.get());
+        classWalkPhase.end(classFiles.size() + jarClassFileCount);
+
+        // Add the domain data used by the REST resources
+        PerformanceReport.Phase domainDataPhase = performanceReport.startPhase("Domain model expansion", "domain data classes");
+
+        int domainDataCount = restInfo.getDomainDataMap().size();
+
+        addDomainDataInfo(classFileInfoList.stream()
+                .flatMap(classFileInfo -> classFileInfo.getDomainDataTypes().stream())
+                .collect(Collectors.toList()));
+
+        domainDataPhase.end(restInfo.getDomainDataMap().size() - domainDataCount);
+
+        if (analysisCache != null) {
+
+            analysisCache.save();
+        }
+
+        if (schemaCache != null) {
+
+            schemaCache.save();
         }
 
         // Update paths and parameters
+        PerformanceReport.Phase updatePhase = performanceReport.startPhase("Path and parameter update", "REST resources");
+
         restInfo.getClassInfo().stream()
                 .forEach(classinfo -> {
 
@@ -116,12 +306,223 @@ public class RestDocHandler {
                     updateParameters(classinfo);
                 });
 
+        updatePhase.end(restInfo.getClassInfo().size());
+
         LOGGER.info("REST documentation ENDED analyzing\n");
 
         LOGGER.info(restInfo::toString);
     }
 
-    private void checkClassFilesForPathAnnotations(final File classesDirectory, final Path classNamePath, final File sourceDirectory) {
+    /*
+     * The directories are walked in parallel with parallelAnalysis, the files are in directory order and then in walk order
+     */
+    private List<RootFile> findFiles(final String directoriesName, final List<File> directories, final String fileSuffix, final String logText) {
+
+        return mapInParallel(directoriesName, directories, directory -> {
+
+            List<RootFile> files = new ArrayList<>();
+
+            Path rootPath = Paths.get(directory.toURI());
+
+            try (Stream<Path> pathStream = Files.walk(rootPath)) {
+
+                pathStream.filter(Files::isRegularFile)
+                        .forEach(path -> {
+
+                            LOGGER.info(() -> logText + path);
+
+                            if (path.toString().endsWith(fileSuffix)) {
+
+                                files.add(new RootFile(directory, rootPath, path));
+                            }
+                        });
+            } catch (IOException ioe) {
+
+                LOGGER.severe(() -> "IOException reading " + directoriesName + ": " + ioe.getMessage());
+
+                LOGGER.severe(Arrays.toString(ioe.getStackTrace()));
+            }
+
+            return files;
+
+        }).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private List<ZipFile> openJarFiles(final List<File> jars) {
+
+        List<ZipFile> jarFiles = new ArrayList<>();
+
+        for (File jar : jars) {
+
+            try {
+
+                // Only the central directory is read when the jar is opened
+                jarFiles.add(new ZipFile(jar));
+
+            } catch (IOException ioe) {
+
+                LOGGER.severe(() -> "IOException opening jar file " + jar + ": " + ioe.getMessage());
+            }
+        }
+
+        return jarFiles;
+    }
+
+    private void closeJarFiles(final List<ZipFile> jarFiles) {
+
+        for (ZipFile jarFile : jarFiles) {
+
+            try {
+
+                jarFile.close();
+
+            } catch (IOException ioe) {
+
+                LOGGER.warning(() -> "IOException closing jar file " + jarFile.getName() + ": " + ioe.getMessage());
+            }
+        }
+    }
+
+    /*
+     * The jars are read in parallel with parallelAnalysis, the class files are in jar order and then in central directory order
+     */
+    private List<JarClassEntry> findJarClassEntries(final List<ZipFile> jarFiles, final List<String> packagePrefixes) {
+
+        return mapInParallel("classes jars", jarFiles, jarFile -> jarFile.stream()
+                .filter(entry -> isJarClassFile(entry, packagePrefixes))
+                .map(entry -> new JarClassEntry(jarFile, entry))
+                .collect(Collectors.toList())).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * Inner classes and files like module-info.class and package-info.class, with a name that isn't a class name, are skipped
+     */
+    private boolean isJarClassFile(final ZipEntry entry, final List<String> packagePrefixes) {
+
+        String entryName = entry.getName();
+
+        if (entry.isDirectory() || !entryName.endsWith(CLASS_FILE_SUFFIX) || entryName.startsWith("META-INF/")) {
+
+            return false;
+        }
+
+        String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+
+        if ((fileName.indexOf('$') >= 0) || (fileName.indexOf('-') >= 0)) {
+
+            return false;
+        }
+
+        if (packagePrefixes.isEmpty()) {
+
+            return true;
+        }
+
+        return packagePrefixes.stream().anyMatch(entryName::startsWith);
+    }
+
+    /*
+     * The packages "com.example.api, com.vendor" gives the entry name prefixes "com/example/api/" and "com/vendor/"
+     */
+    private List<String> getJarPackagePrefixes(final String jarPackages) {
+
+        if (jarPackages == null) {
+
+            return Collections.emptyList();
+        }
+
+        return Arrays.stream(jarPackages.split(","))
+                .map(String::trim)
+                .filter(jarPackage -> !jarPackage.isEmpty())
+                .map(jarPackage -> jarPackage.replace('.', '/') + "/")
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * The result list is in the same order as the items list, so the model is the same with or without parallelAnalysis.
+     * With parallelAnalysis the mapper is called from several threads, the URLClassLoader is parallel capable.
+     * A failing mapper throws the same exception as in a sequential run, an interrupt stops the analysis.
+     */
+    private <T, R> List<R> mapInParallel(final String itemsName, final List<T> items, final Function<T, R> mapper) {
+
+        if (!parallelAnalysis || (items.size() < 2)) {
+
+            return items.stream()
+                    .map(mapper)
+                    .collect(Collectors.toList());
+        }
+
+        LOGGER.info(() -> "Analyze " + items.size() + " " + itemsName + " using " + analysisThreads + " threads");
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(analysisThreads);
+
+        try {
+
+            return forkJoinPool.submit(() -> items.parallelStream()
+                    .map(mapper)
+                    .collect(Collectors.toList()))
+                    .get();
+
+        } catch (InterruptedException ie) {
+
+            LOGGER.severe(() -> "mapInParallel, InterruptedException when analyzing " + itemsName);
+
+            Thread.currentThread().interrupt();
+
+            // An empty result would overwrite the documentation of the previous build
+            throw new IllegalStateException("Interrupted when analyzing " + itemsName, ie);
+
+        } catch (ExecutionException ee) {
+
+            LOGGER.severe(() -> "mapInParallel, ExecutionException when analyzing " + itemsName + ": " + ee.getMessage());
+
+            Throwable cause = ee.getCause();
+
+            if (cause instanceof RuntimeException) {
+
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException("Failed to analyze " + itemsName, cause);
+
+        } finally {
+
+            forkJoinPool.shutdown();
+        }
+    }
+
+    private SourceFileInfo parseSourceFile(final File sourceDirectory, final Path sourceFilePath, final JavaSourceParser sourceParser) {
+
+        if (analysisCache != null) {
+
+            SourceFileInfo cachedSourceFileInfo = analysisCache.getSourceFileInfo(sourceFilePath);
+
+            if (cachedSourceFileInfo != null) {
+
+                return cachedSourceFileInfo;
+            }
+        }
+
+        SourceFileInfo sourceFileInfo = sourceParser.parseSourceFile(sourceDirectory, sourceFilePath, urlClassLoader);
+
+        if (analysisCache != null) {
+
+            analysisCache.putSourceFileInfo(sourceFilePath, sourceFileInfo);
+        }
+
+        return sourceFileInfo;
+    }
+
+    private ClassFileInfo checkClassFilesForPathAnnotations(final File classesDirectory, final Path classNamePath) {
 
         LOGGER.info(() -> "Class file: " + classNamePath.getFileName().toString());
 
@@ -130,39 +531,160 @@ public class RestDocHandler {
         if (classInfo == null) {
 
             // Skipp this file
-            return;
+            return null;
         }
 
-        try {
+        if (analysisCache != null) {
+
+            ClassFileInfo cachedClassFileInfo = analysisCache.getClassFileInfo(classNamePath, classInfo.getPackageAndClassName());
+
+            if (cachedClassFileInfo != null) {
+
+                return cachedClassFileInfo;
+            }
+        }
+
+        ClassFileInfo classFileInfo = new ClassFileInfo();
+
+        if (prefilterClassFiles && !isJaxRsCandidate(classNamePath)) {
+
+            // No JAX-RS annotations in this class, don't load it
+            skippedClassFiles.incrementAndGet();
+
+        } else if (!loadClassAndCheckPathAnnotations(classFileInfo, classInfo, false)) {
+
+            return classFileInfo;
+        }
+
+        if (analysisCache != null) {
+
+            analysisCache.putClassFileInfo(classNamePath, classInfo.getPackageAndClassName(), classFileInfo);
+        }
 
-            javaSourceParser.parseClassForJavaDocComments(sourceDirectory, javaDocComments, classInfo.getPackageAndClassName());
+        return classFileInfo;
+    }
+
+    /*
+     * The class files in jars are not in the analysis cache, the cache is keyed by the class file path
+     */
+    private ClassFileInfo checkJarClassEntryForPathAnnotations(final JarClassEntry jarClassEntry) {
+
+        String entryName = jarClassEntry.getEntry().getName();
+
+        LOGGER.info(() -> "Jar class file: " + jarClassEntry.getJarFile().getName() + "!" + entryName);
+
+        String packageAndClassName = entryName.substring(0, entryName.length() - CLASS_FILE_SUFFIX.length()).replace('/', '.');
+
+        ClassInfo classInfo = new ClassInfo();
 
-            Class clazz = urlClassLoader.loadClass(classInfo.getPackageAndClassName());
+        classInfo.setClassName(packageAndClassName.substring(packageAndClassName.lastIndexOf('.') + 1));
+        classInfo.setPackageAndClassName(packageAndClassName);
 
-            Annotation[] annotations = clazz.getAnnotations();
+        ClassFileInfo classFileInfo = new ClassFileInfo();
 
-            for (Annotation annotation : annotations) {
+        if (prefilterClassFiles && !isJaxRsCandidate(jarClassEntry)) {
 
-                if (annotation instanceof javax.ws.rs.Path) {
+            // No JAX-RS annotations in this class, don't load it
+            skippedClassFiles.incrementAndGet();
+
+        } else {
+
+            loadClassAndCheckPathAnnotations(classFileInfo, classInfo, true);
+        }
+
+        return classFileInfo;
+    }
+
+    /**
+     * @param fromJar true if the class file is read from a jar, a jar class normally has no source file
+     * @return false if the class can't be loaded
+     */
+    private boolean loadClassAndCheckPathAnnotations(final ClassFileInfo classFileInfo, final ClassInfo classInfo, final boolean fromJar) {
+
+        try {
+
+            Map<String, String> javaDocComments = getJavaDocComments(classInfo.getPackageAndClassName(), fromJar);
+
+            ClassMetadata classMetadata = classMetadataReader.getClassMetadata(classInfo.getPackageAndClassName());
+
+            for (AnnotationMetadata annotation : classMetadata.getAnnotations()) {
+
+                if (annotation.isType(javax.ws.rs.Path.class)) {
 
                     // We found a class with Path annotation
-                    addClassInfoToRestInfoList(classInfo, (javax.ws.rs.Path) annotation);
+                    addClassInfoToRestInfoList(classFileInfo, classInfo, annotation.getValue("value"));
                 }
             }
 
-            checkClassMethodsForPathInformation(classInfo, clazz, javaDocComments);
+            checkClassMethodsForPathInformation(classFileInfo, classInfo, classMetadata, javaDocComments);
 
         } catch (ClassNotFoundException cnfe) {
 
             LOGGER.severe("checkClassFilesForPathAnnotations, ClassNotFoundException: " + cnfe.getMessage());
 
+            return false;
+
         } catch (NoClassDefFoundError ncdfe) {
 
             LOGGER.severe("checkClassFilesForPathAnnotations, NoClassDefFoundError: " + ncdfe.getMessage());
 
+            return false;
+        }
+
+        return true;
+    }
+
+    private Map<String, String> getJavaDocComments(final String className, final boolean fromJar) {
+
+        SourceFileInfo sourceFileInfo = sourceFileInfoMap.get(className);
+
+        if (sourceFileInfo == null) {
+
+            // The sources of a jar are only found if they are in one of the sources directories
+            LOGGER.log(fromJar ? Level.FINE : Level.SEVERE, "getJavaDocComments(), Can''t find source file for class: {0}", className);
+
+            return Collections.emptyMap();
+        }
+
+        return sourceFileInfo.getJavaDocComments();
+    }
+
+    private boolean isJaxRsCandidate(final Path classNamePath) {
+
+        try {
+
+            return ClassFileScanner.isJaxRsCandidate(classNamePath);
+
+        } catch (IOException ioe) {
+
+            LOGGER.warning(() -> "isJaxRsCandidate, IOException: " + ioe.getMessage() + ", load class " + classNamePath);
+
+            return true;
         }
     }
 
+    private boolean isJaxRsCandidate(final JarClassEntry jarClassEntry) {
+
+        try (InputStream inputStream = jarClassEntry.getJarFile().getInputStream(jarClassEntry.getEntry())) {
+
+            return ClassFileScanner.isJaxRsCandidate(inputStream);
+
+        } catch (IOException ioe) {
+
+            LOGGER.warning(() -> "isJaxRsCandidate, IOException: " + ioe.getMessage() + ", load class " + jarClassEntry.getEntry().getName());
+
+            return true;
+        }
+    }
+
+    /**
+     * @return Number of class files that wasn't loaded because they don't refer to any JAX-RS annotations
+     */
+    public int getSkippedClassFiles() {
+
+        return skippedClassFiles.get();
+    }
+
     private ClassInfo getFullClassNameFromClassesDir(final File classesDirectory, final Path classNamePath) {
 
         String pathName;
@@ -220,9 +742,7 @@ public class RestDocHandler {
         return classInfo;
     }
 
-    private void addClassInfoToRestInfoList(final ClassInfo classInfo, final javax.ws.rs.Path annotation) {
-
-        String pathValue = annotation.value();
+    private void addClassInfoToRestInfoList(final ClassFileInfo classFileInfo, final ClassInfo classInfo, final String pathValue) {
 
         if (!pathValue.isEmpty()) {
 
@@ -239,21 +759,22 @@ public class RestDocHandler {
             classInfo.setClassPath(pathValue);
         }
 
-        restInfo.getClassInfo().add(classInfo);
+        classFileInfo.setClassInfo(classInfo);
     }
 
-    private void checkClassMethodsForPathInformation(final ClassInfo classInfo, final Class clazz, final HashMap<String, String> javaDocComments) {
+    private void checkClassMethodsForPathInformation(final ClassFileInfo classFileInfo, final ClassInfo classInfo, final ClassMetadata classMetadata,
+            final Map<String, String> javaDocComments) {
 
         try {
 
-            Method[] methods = clazz.getDeclaredMethods();
+            List<MethodMetadata> methods = getSortedMethods(classMetadata.getDeclaredMethods());
 
-            for (Method method : methods) {
+            for (MethodMetadata method : methods) {
 
                 if (checkIfMethodsHasHttpRequestType(method)) {
 
                     // We found a method with a 'Http request type'
-                    addMethodInfoToRestInfoList(classInfo, method, javaDocComments);
+                    addMethodInfoToRestInfoList(classFileInfo, classInfo, method, javaDocComments);
                 }
             }
         } catch (Exception cnfe) {
@@ -263,18 +784,16 @@ public class RestDocHandler {
     }
 
     // Only add methods that has 'Http request types'
-    private boolean checkIfMethodsHasHttpRequestType(final Method method) {
+    private boolean checkIfMethodsHasHttpRequestType(final MethodMetadata method) {
 
         LOGGER.info("checkIfMethodsHasHttpRequestType()");
 
-        Annotation[] methodAnnotations = method.getAnnotations();
-
-        for (Annotation annotation : methodAnnotations) {
+        for (AnnotationMetadata annotation : method.getAnnotations()) {
 
-            if ((annotation instanceof javax.ws.rs.GET)
-                    || (annotation instanceof javax.ws.rs.POST)
-                    || (annotation instanceof javax.ws.rs.PUT)
-                    || (annotation instanceof javax.ws.rs.DELETE)) {
+            if (annotation.isType(javax.ws.rs.GET.class)
+                    || annotation.isType(javax.ws.rs.POST.class)
+                    || annotation.isType(javax.ws.rs.PUT.class)
+                    || annotation.isType(javax.ws.rs.DELETE.class)) {
 
                 return true;
             }
@@ -283,14 +802,14 @@ public class RestDocHandler {
         return false;
     }
 
-    private void addMethodInfoToRestInfoList(final ClassInfo classInfo, final Method method, final HashMap<String, String> javaDocComments) {
+    private void addMethodInfoToRestInfoList(final ClassFileInfo classFileInfo, final ClassInfo classInfo, final MethodMetadata method, final Map<String, String> javaDocComments) {
 
         if (classInfo.getClassPath() == null) {
 
             // Add to restInfoList
             classInfo.setClassPath("");
 
-            restInfo.getClassInfo().add(classInfo);
+            classFileInfo.setClassInfo(classInfo);
         }
 
         List<MethodInfo> methodInfoList = classInfo.getMethodInfo();
@@ -306,9 +825,9 @@ public class RestDocHandler {
 
         methodInfo.setMethodName(method.getName());
 
-        addMethodsPathMethod(methodInfo, returnInfo, method);
-        addMethodReturnType(returnInfo, method, classInfo.getPackageAndClassName());
-        addMethodParameters(methodInfo, method);
+        addMethodsPathMethod(classFileInfo, methodInfo, returnInfo, method);
+        addMethodReturnType(classFileInfo, returnInfo, method, classInfo.getPackageAndClassName());
+        addMethodParameters(classFileInfo, methodInfo, method);
 
         String javaDocMethodComments = javaDocComments.get(method.getName());
 
@@ -320,70 +839,66 @@ public class RestDocHandler {
         classInfo.getMethodInfo().add(methodInfo);
     }
 
-    private void addMethodsPathMethod(final MethodInfo methodInfo, final ReturnInfo returnInfo, final Method method) {
+    private void addMethodsPathMethod(final ClassFileInfo classFileInfo, final MethodInfo methodInfo, final ReturnInfo returnInfo, final MethodMetadata method) {
 
         StringBuilder producesTypes = new StringBuilder();
         boolean firstProduceType = true;
         StringBuilder consumeTypes = new StringBuilder();
         boolean firstConsumeType = true;
 
-        LOGGER.info(() -> "addMethodsPathMethod() Method: " + method.toGenericString());
+        LOGGER.info(() -> "addMethodsPathMethod() Method: " + method.getGenericString());
 
         methodInfo.setMethodPath("");
 
-        Annotation[] methodAnnotations = method.getAnnotations();
-
-        for (Annotation annotation : methodAnnotations) {
+        for (AnnotationMetadata annotation : method.getAnnotations()) {
 
-            LOGGER.info(() -> "Method Annotation: " + annotation.annotationType().toGenericString());
+            LOGGER.info(() -> "Method Annotation: " + annotation.getTypeName());
 
-            if (annotation instanceof javax.ws.rs.GET) {
+            if (annotation.isType(javax.ws.rs.GET.class)) {
 
                 methodInfo.setHttpRequestType("GET");
 
-            } else if (annotation instanceof javax.ws.rs.POST) {
+            } else if (annotation.isType(javax.ws.rs.POST.class)) {
 
                 methodInfo.setHttpRequestType("POST");
 
-            } else if (annotation instanceof javax.ws.rs.PUT) {
+            } else if (annotation.isType(javax.ws.rs.PUT.class)) {
 
                 methodInfo.setHttpRequestType("PUT");
 
-            } else if (annotation instanceof javax.ws.rs.DELETE) {
+            } else if (annotation.isType(javax.ws.rs.DELETE.class)) {
 
                 methodInfo.setHttpRequestType("DELETE");
 
-            } else if (annotation instanceof javax.ws.rs.Path) {
+            } else if (annotation.isType(javax.ws.rs.Path.class)) {
 
                 StringBuilder restPath = new StringBuilder();
 
-                javax.ws.rs.Path pathAnnotation = (javax.ws.rs.Path) annotation;
+                String pathValue = annotation.getValue("value");
 
-                if (!pathAnnotation.value().isEmpty() && (pathAnnotation.value().charAt(0) != '/')) {
+                if (!pathValue.isEmpty() && (pathValue.charAt(0) != '/')) {
 
                     restPath.append('/');
                 }
 
-                if (pathAnnotation.value().endsWith("/")) {
+                if (pathValue.endsWith("/")) {
 
-                    restPath.append(pathAnnotation.value().substring(0, pathAnnotation.value().length() - 1));
+                    restPath.append(pathValue.substring(0, pathValue.length() - 1));
 
                 } else {
 
-                    restPath.append(pathAnnotation.value());
+                    restPath.append(pathValue);
                 }
 
                 methodInfo.setMethodPath(restPath.toString());
 
-            } else if (annotation instanceof java.lang.Deprecated) {
+            } else if (annotation.isType(java.lang.Deprecated.class)) {
 
                 methodInfo.setDeprecated(true);
 
-            } else if (annotation instanceof javax.ws.rs.Produces) {
+            } else if (annotation.isType(javax.ws.rs.Produces.class)) {
 
-                javax.ws.rs.Produces produces = (javax.ws.rs.Produces) annotation;
-
-                for (String returnType : produces.value()) {
+                for (String returnType : annotation.getValues("value")) {
 
                     if (firstProduceType) {
 
@@ -399,11 +914,9 @@ public class RestDocHandler {
 
                 methodInfo.setProduceType(producesTypes.toString());
 
-            } else if (annotation instanceof javax.ws.rs.Consumes) {
-
-                javax.ws.rs.Consumes consumes = (javax.ws.rs.Consumes) annotation;
+            } else if (annotation.isType(javax.ws.rs.Consumes.class)) {
 
-                for (String consumeType : consumes.value()) {
+                for (String consumeType : annotation.getValues("value")) {
 
                     if (firstConsumeType) {
 
@@ -419,16 +932,14 @@ public class RestDocHandler {
 
                 methodInfo.setConsumeType(consumeTypes.toString());
 
-            } else if (annotation instanceof se.peter.ivarsson.rest.doc.rest.type.DocReturnType) {
+            } else if (annotation.isType(se.peter.ivarsson.rest.doc.rest.type.DocReturnType.class)) {
 
-                se.peter.ivarsson.rest.doc.rest.type.DocReturnType returnType = (se.peter.ivarsson.rest.doc.rest.type.DocReturnType) annotation;
-
-                addAnnotatedReturnType(returnInfo, returnType.key());
+                addAnnotatedReturnType(classFileInfo, returnInfo, annotation.getValue("key"));
             }
         }
     }
 
-    private void addMethodReturnType(final ReturnInfo returnInfo, final Method method, final String className) {
+    private void addMethodReturnType(final ClassFileInfo classFileInfo, final ReturnInfo returnInfo, final MethodMetadata method, final String className) {
 
         String returnTypeName = null;
         String responseTypesKey = className + '-' + method.getName();
@@ -441,7 +952,7 @@ public class RestDocHandler {
 
             if (returnTypeName == null) {
 
-                returnTypeName = method.getReturnType().getName();
+                returnTypeName = method.getReturnTypeName();
             }
 
             returnInfo.setReturnClassName(returnTypeName);
@@ -450,30 +961,86 @@ public class RestDocHandler {
 
         } else {
 
-            returnTypeName = method.getReturnType().getName();
+            returnTypeName = method.getReturnTypeName();
 
             returnInfo.setReturnClassName(returnTypeName);
         }
 
         if (isDomainData(returnTypeName)) {
 
-            addDomainDataInfo(returnTypeName);
+            classFileInfo.getDomainDataTypes().add(returnTypeName);
         }
     }
 
-    private void addAnnotatedReturnType(final ReturnInfo returnInfo, final String returnTypeClassName) {
+    private void addAnnotatedReturnType(final ClassFileInfo classFileInfo, final ReturnInfo returnInfo, final String returnTypeClassName) {
 
         returnInfo.setAnnotatedReturnType(returnTypeClassName);
 
-        addDomainDataInfo(returnTypeClassName);
+        classFileInfo.getDomainDataTypes().add(returnTypeClassName);
     }
 
-    private DataModelInfo addDomainDataInfo(String className) {
+    /*
+     * The domain data is added level by level, every class in a level is analyzed (in parallel if configured)
+     * and the classes found in its fields makes up the next level.
+     * Only the calling thread changes restInfo, the workers only read the merged source file information.
+     */
+    private void addDomainDataInfo(final List<String> domainDataTypes) {
+
+        Set<String> handledClassNames = new HashSet<>(restInfo.getDomainDataMap().keySet());
+
+        List<String> classNames = domainDataTypes;
+
+        while (!classNames.isEmpty()) {
+
+            List<String> newClassNames = new ArrayList<>();
+
+            for (String domainDataType : classNames) {
+
+                String className = getDomainDataClassName(domainDataType);
+
+                if (className == null) {
+
+                    continue;  // Skipp this
+                }
 
-        if (className.equals("void")) {
+                if (handledClassNames.add(className)) {
 
-            return null;  // Skipp this
+                    newClassNames.add(className);
+
+                } else {
+
+                    // This data already exists
+                    LOGGER.log(Level.INFO, "{0} already exists in domain data", className);
+                }
+            }
+
+            List<DomainDataInfo> domainDataList = mapInParallel("domain data classes", newClassNames, this::getDomainData);
+
+            classNames = new ArrayList<>();
+
+            for (DomainDataInfo domainData : domainDataList) {
+
+                if (domainData.getDataModelInfo() != null) {
+
+                    restInfo.getDomainDataMap().put(domainData.getClassName(), domainData.getDataModelInfo());
+                }
+
+                classNames.addAll(domainData.getDomainDataTypes());
+            }
         }
+    }
+
+    /**
+     * @return Class name without list type, or null if the type isn't domain data
+     */
+    private String getDomainDataClassName(final String domainDataType) {
+
+        if (domainDataType.equals("void")) {
+
+            return null;
+        }
+
+        String className = domainDataType;
 
         int listStartIndex = className.indexOf("List<");
 
@@ -487,36 +1054,54 @@ public class RestDocHandler {
             }
         }
 
-        DataModelInfo domainData = restInfo.getDomainDataMap().get(className);
-
-        if (domainData != null) {
+        return className;
+    }
 
-            // This data already exists
-            LOGGER.log(Level.INFO, "{0} already exists in domain data", className);
-            return null;
-        }
+    /*
+     * Analyze one domain data class, restInfo is not changed so this can be called from several threads
+     */
+    private DomainDataInfo getDomainData(final String className) {
 
         LOGGER.log(Level.INFO, "Add {0} to domain data", className);
 
         HashSet<String> addDomainDataSet = new HashSet();
+        HashMap<String, String> usedEnumTypes = new HashMap<>();
+
+        DomainDataInfo domainDataInfo = new DomainDataInfo();
+        domainDataInfo.setClassName(className);
 
         DataModelInfo dataModelInfo = new DataModelInfo();
 
+        String classHash = null;
+
         try {
 
-            Class clazz = urlClassLoader.loadClass(className);
+            // The hash is read from the class files, a cached class is never loaded
+            if (schemaCache != null) {
 
-            Enum<?>[] enumConstantsArray = (Enum<?>[]) clazz.getEnumConstants();
+                classHash = getClassHash(className);
 
-            if (enumConstantsArray == null) {
+                DomainDataInfo cachedDomainDataInfo = classHash == null ? null : schemaCache.get(className, classHash, enumTypes);
 
-                Method[] methods = clazz.getMethods();
+                if (cachedDomainDataInfo != null) {
+
+                    return cachedDomainDataInfo;
+                }
+            }
+
+            ClassMetadata classMetadata = classMetadataReader.getClassMetadata(className);
+
+            List<String> enumConstants = classMetadata.getEnumConstants();
+
+            if (enumConstants == null) {
+
+                List<MethodMetadata> methods = getSortedMethods(classMetadata.getMethods());
 
                 boolean enumFieldAdded = false;
 
-                for (Method method : methods) {
+                for (MethodMetadata method : methods) {
 
-                    String fieldType = method.getReturnType().getName();
+                    String fieldType = method.getReturnTypeName();
 
                     if (fieldType.startsWith("[L")) {
 
@@ -546,13 +1131,11 @@ public class RestDocHandler {
                             fieldInfo.setFieldName(new String(fieldName));
                             fieldInfo.setFieldType(fieldType);
 
-                            for (Annotation annotation : method.getAnnotations()) {
-
-                                if (annotation instanceof se.peter.ivarsson.rest.doc.rest.type.DocListType) {
+                            for (AnnotationMetadata annotation : method.getAnnotations()) {
 
-                                    se.peter.ivarsson.rest.doc.rest.type.DocListType methodParam = (se.peter.ivarsson.rest.doc.rest.type.DocListType) annotation;
+                                if (annotation.isType(se.peter.ivarsson.rest.doc.rest.type.DocListType.class)) {
 
-                                    String annotationKey = methodParam.key();
+                                    String annotationKey = annotation.getValue("key");
 
                                     fieldInfo.setFieldOfType(annotationKey);
 
@@ -568,7 +1151,7 @@ public class RestDocHandler {
 
                                     // "java.util.List<java.lang.String>"
                                     // "java.util.???Set<java.lang.String>"
-                                    String genericReturnTypeName = method.getGenericReturnType().getTypeName();
+                                    String genericReturnTypeName = method.getGenericReturnTypeName();
                                     int startListType = genericReturnTypeName.indexOf('<');
                                     int endListType = genericReturnTypeName.indexOf('>');
                                     String type = genericReturnTypeName.substring(startListType + 1, endListType);
@@ -584,7 +1167,7 @@ public class RestDocHandler {
 
                                         addDomainDataSet.add(fieldType);
 
-                                        if (enumTypes.containsKey(fieldType)) {
+                                        if (getEnumType(fieldType, usedEnumTypes) != null) {
 
                                             // Found enum in set
                                             int lastDotIndex = fieldType.lastIndexOf('.');
@@ -593,7 +1176,7 @@ public class RestDocHandler {
 
                                                 fieldInfo.setFieldName(fieldType.substring(lastDotIndex + 1));
                                                 fieldInfo.setFieldType("enum");
-                                                fieldInfo.setFieldOfType(enumTypes.get(fieldType));
+                                                fieldInfo.setFieldOfType(getEnumType(fieldType, usedEnumTypes));
                                             }
                                         }
                                     }
@@ -601,7 +1184,7 @@ public class RestDocHandler {
                             } else {
 
                                 // ListOfType not empty
-                                if (isDomainData(fieldInfo.getFieldOfType()) && enumTypes.containsKey(fieldInfo.getFieldOfType())) {
+                                if (isDomainData(fieldInfo.getFieldOfType()) && getEnumType(fieldInfo.getFieldOfType(), usedEnumTypes) != null) {
 
                                     // Found enum in set
                                     int lastDotIndex = fieldInfo.getFieldOfType().lastIndexOf('.');
@@ -610,7 +1193,7 @@ public class RestDocHandler {
 
                                         fieldInfo.setFieldName(fieldInfo.getFieldOfType().substring(lastDotIndex + 1));
                                         fieldInfo.setFieldType("enum");
-                                        fieldInfo.setFieldOfType(enumTypes.get(fieldInfo.getFieldOfType()));
+                                        fieldInfo.setFieldOfType(getEnumType(fieldInfo.getFieldOfType(), usedEnumTypes));
                                     }
                                 }
                             }
@@ -620,7 +1203,7 @@ public class RestDocHandler {
                     } else {
 
                         // NO getter methods exists, check if enum is needed to be added
-                        if (isDomainData(className) && !enumFieldAdded && enumTypes.containsKey(className)) {
+                        if (isDomainData(className) && !enumFieldAdded && getEnumType(className, usedEnumTypes) != null) {
 
                             // Found enum in set
                             int lastDotIndex = className.lastIndexOf('.');
@@ -629,7 +1212,7 @@ public class RestDocHandler {
 
                                 fieldInfo.setFieldName(className.substring(lastDotIndex + 1));
                                 fieldInfo.setFieldType("enum");
-                                fieldInfo.setFieldOfType(enumTypes.get(className));
+                                fieldInfo.setFieldOfType(getEnumType(className, usedEnumTypes));
 
                                 dataModelInfo.getFields().add(fieldInfo);
 
@@ -647,9 +1230,9 @@ public class RestDocHandler {
 
                     StringBuilder enumList = new StringBuilder();
 
-                    for (Enum myEnum : enumConstantsArray) {
+                    for (String enumConstant : enumConstants) {
 
-                        enumList.append(myEnum);
+                        enumList.append(enumConstant);
                         enumList.append(", ");
                     }
 
@@ -665,9 +1248,9 @@ public class RestDocHandler {
 
             if (dataModelInfo.getFields().isEmpty()) {
 
-                if (enumTypes.containsKey(className)) {
+                if (getEnumType(className, usedEnumTypes) != null) {
 
-                    dataModelInfo.setInfo("enum " + enumTypes.get(className));
+                    dataModelInfo.setInfo("enum " + getEnumType(className, usedEnumTypes));
 
                 } else {
 
@@ -675,32 +1258,141 @@ public class RestDocHandler {
                 }
             }
 
-            restInfo.getDomainDataMap().put(className, dataModelInfo);
-
-            addDomainDataSet.stream()
-                    .forEach(this::addDomainDataInfo);
-
         } catch (ClassNotFoundException cnfe) {
 
             LOGGER.severe("addDomainDataInfo, ClassNotFoundException: " + cnfe.getMessage());
 
-            return null;
+            return domainDataInfo;
 
         } catch (NoClassDefFoundError ncdfe) {
 
             LOGGER.severe("addDomainDataInfo, NoClassDefFoundError: " + ncdfe.getMessage());
             dataModelInfo.setInfo("ERROR: Reflection failed to get methods info, NoClassDefFoundError: " + ncdfe.getMessage());
-            restInfo.getDomainDataMap().put(className, dataModelInfo);
             FieldInfo fieldInfo = new FieldInfo();
             fieldInfo.setFieldName("error");
             fieldInfo.setFieldType("error");
             dataModelInfo.getFields().add(fieldInfo);
+
+            domainDataInfo.setDataModelInfo(dataModelInfo);
+
+            return domainDataInfo;
+        }
+
+        domainDataInfo.setDataModelInfo(dataModelInfo);
+        domainDataInfo.setDomainDataTypes(addDomainDataSet);
+        domainDataInfo.setUsedEnumTypes(usedEnumTypes);
+
+        if (classHash != null) {
+
+            schemaCache.put(classHash, domainDataInfo);
+        }
+
+        return domainDataInfo;
+    }
+
+    /*
+     * Remember every enum type lookup, a cached schema is only used if the lookups gives the same result
+     */
+    private String getEnumType(final String className, final Map<String, String> usedEnumTypes) {
+
+        String enumType = enumTypes.get(className);
+
+        usedEnumTypes.put(className, enumType);
+
+        return enumType;
+    }
+
+    /**
+     * @return SHA-1 of the class file and the class files of its super classes and interfaces, or null if a class file can't be read
+     */
+    private String getClassHash(final String className) {
+
+        try {
+
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-1");
+
+            Set<String> hashedClasses = new HashSet<>();
+
+            if (!addClassToHash(messageDigest, className, hashedClasses)) {
+
+                return null;
+            }
+
+            StringBuilder classHash = new StringBuilder();
+
+            for (byte hashByte : messageDigest.digest()) {
+
+                classHash.append(String.format("%02x", hashByte));
+            }
+
+            return classHash.toString();
+
+        } catch (NoSuchAlgorithmException nsae) {
+
+            LOGGER.severe("getClassHash, NoSuchAlgorithmException: " + nsae.getMessage());
+
+            return null;
+        }
+    }
+
+    private boolean addClassToHash(final MessageDigest messageDigest, final String className, final Set<String> hashedClasses) {
+
+        if ((className == null) || className.startsWith("java") || !hashedClasses.add(className)) {
+
+            // Java classes only changes with the JDK
+            return true;
+        }
+
+        String resourceName = className.replace('.', '/') + ".class";
+
+        List<String> superTypeNames;
+
+        try (InputStream inputStream = urlClassLoader.getResourceAsStream(resourceName)) {
+
+            if (inputStream == null) {
+
+                LOGGER.warning(() -> "getClassHash, can't find class file " + resourceName);
+
+                return false;
+            }
+
+            ByteArrayOutputStream classFile = new ByteArrayOutputStream(4096);
+
+            byte[] buffer = new byte[8192];
+            int length;
+
+            while ((length = inputStream.read(buffer)) != -1) {
+
+                classFile.write(buffer, 0, length);
+            }
+
+            byte[] classFileBytes = classFile.toByteArray();
+
+            messageDigest.update(className.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update(classFileBytes);
+
+            // The super types are read from the class file, the class isn't loaded
+            superTypeNames = ClassFileScanner.getSuperTypeNames(classFileBytes);
+
+        } catch (IOException ioe) {
+
+            LOGGER.warning(() -> "getClassHash, IOException: " + ioe.getMessage());
+
+            return false;
         }
 
-        return dataModelInfo;
+        for (String superTypeName : superTypeNames) {
+
+            if (!addClassToHash(messageDigest, superTypeName, hashedClasses)) {
+
+                return false;
+            }
+        }
+
+        return true;
     }
 
-    private void addMethodParameters(final MethodInfo methodInfo, final Method method) {
+    private void addMethodParameters(final ClassFileInfo classFileInfo, final MethodInfo methodInfo, final MethodMetadata method) {
 
         ParameterInfo parameterInfo;
 
@@ -709,51 +1401,45 @@ public class RestDocHandler {
             methodInfo.setParameterInfo(new ArrayList<>());
         }
 
-        for (Parameter parameter : method.getParameters()) {
-
-            Annotation[] annotations = parameter.getAnnotations();
+        for (ParameterMetadata parameter : method.getParameters()) {
 
-            for (Annotation annotation : annotations) {
+            List<AnnotationMetadata> annotations = parameter.getAnnotations();
 
-                if (annotation instanceof javax.ws.rs.PathParam) {
+            for (AnnotationMetadata annotation : annotations) {
 
-                    javax.ws.rs.PathParam pathParam = (javax.ws.rs.PathParam) annotation;
+                if (annotation.isType(javax.ws.rs.PathParam.class)) {
 
                     parameterInfo = new ParameterInfo();
 
                     parameterInfo.setParameterType("javax.ws.rs.PathParam");
-                    parameterInfo.setParameterAnnotationName(pathParam.value());
-                    parameterInfo.setParameterClassName(parameter.getParameterizedType().getTypeName());
+                    parameterInfo.setParameterAnnotationName(annotation.getValue("value"));
+                    parameterInfo.setParameterClassName(parameter.getParameterizedTypeName());
 
                     methodInfo.getParameterInfo().add(parameterInfo);
 
-                } else if (annotation instanceof javax.ws.rs.HeaderParam) {
-
-                    javax.ws.rs.HeaderParam headerParam = (javax.ws.rs.HeaderParam) annotation;
+                } else if (annotation.isType(javax.ws.rs.HeaderParam.class)) {
 
                     parameterInfo = new ParameterInfo();
 
                     parameterInfo.setParameterType("javax.ws.rs.HeaderParam");
-                    parameterInfo.setParameterAnnotationName(headerParam.value());
-                    parameterInfo.setParameterClassName(parameter.getParameterizedType().getTypeName());
+                    parameterInfo.setParameterAnnotationName(annotation.getValue("value"));
+                    parameterInfo.setParameterClassName(parameter.getParameterizedTypeName());
 
                     methodInfo.getParameterInfo().add(parameterInfo);
 
-                } else if (annotation instanceof javax.ws.rs.QueryParam) {
-
-                    javax.ws.rs.QueryParam queryParam = (javax.ws.rs.QueryParam) annotation;
+                } else if (annotation.isType(javax.ws.rs.QueryParam.class)) {
 
                     parameterInfo = new ParameterInfo();
 
                     parameterInfo.setParameterType("javax.ws.rs.QueryParam");
-                    parameterInfo.setParameterAnnotationName(queryParam.value());
-                    parameterInfo.setParameterClassName(parameter.getParameterizedType().getTypeName());
+                    parameterInfo.setParameterAnnotationName(annotation.getValue("value"));
+                    parameterInfo.setParameterClassName(parameter.getParameterizedTypeName());
 
                     methodInfo.getParameterInfo().add(parameterInfo);
                 }
             }
 
-            if (annotations.length == 0) {
+            if (annotations.isEmpty()) {
 
                 // This parameter has no annotation
                 parameterInfo = new ParameterInfo();
@@ -820,32 +1506,45 @@ public class RestDocHandler {
                     parameterInfo.setParameterAnnotationName(parameter.getName());
                 }
 
-                parameterInfo.setParameterClassName(parameter.getType().getName());
+                parameterInfo.setParameterClassName(parameter.getTypeName());
 
                 methodInfo.getParameterInfo().add(parameterInfo);
 
                 methodInfo.setRequestBodyName(parameterInfo.getParameterAnnotationName());
                 methodInfo.setRequestBodyClassName(parameterInfo.getParameterClassName());
 
-                addDomainDataInfo(parameter.getType().getName());
+                classFileInfo.getDomainDataTypes().add(parameter.getTypeName());
 
-                LOGGER.info("Parameter without annotation: " + parameter.getName() + " Type: " + parameter.getType().getName());
+                LOGGER.info("Parameter without annotation: " + parameter.getName() + " Type: " + parameter.getTypeName());
             }
         }
     }
 
-    private boolean isGetter(final Method method) {
+    /*
+     * Reflection returns the methods in no particular order, the order can change between two builds.
+     * Sorted methods gives the same output files for the same classes.
+     */
+    private List<MethodMetadata> getSortedMethods(final List<MethodMetadata> methods) {
+
+        List<MethodMetadata> sortedMethods = new ArrayList<>(methods);
+
+        sortedMethods.sort(Comparator.comparing(MethodMetadata::getName).thenComparing(MethodMetadata::getGenericString));
+
+        return sortedMethods;
+    }
+
+    private boolean isGetter(final MethodMetadata method) {
 
         if (!(method.getName().startsWith("get")
                 || method.getName().startsWith("is"))) {
             return false;
         }
 
-        if (method.getParameterTypes().length != 0) {
+        if (method.getParameterCount() != 0) {
             return false;
         }
 
-        return !method.getReturnType().equals(void.class);
+        return !method.getReturnTypeName().equals("void");
     }
 
     private boolean isDomainData(final String parameterName) {
@@ -980,4 +1679,56 @@ public class RestDocHandler {
             }
         }
     }
+
+    /**
+     * A class file in a jar, and the open jar it is read from
+     */
+    private static final class JarClassEntry {
+
+        private final ZipFile jarFile;
+        private final ZipEntry entry;
+
+        JarClassEntry(final ZipFile jarFile, final ZipEntry entry) {
+
+            this.jarFile = jarFile;
+            this.entry = entry;
+        }
+
+        ZipFile getJarFile() {
+            return jarFile;
+        }
+
+        ZipEntry getEntry() {
+            return entry;
+        }
+    }
+
+    /**
+     * A source or class file and the directory it was found in
+     */
+    private static final class RootFile {
+
+        private final File root;
+        private final Path rootPath;
+        private final Path path;
+
+        RootFile(final File root, final Path rootPath, final Path path) {
+
+            this.root = root;
+            this.rootPath = rootPath;
+            this.path = path;
+        }
+
+        File getRoot() {
+            return root;
+        }
+
+        Path getRootPath() {
+            return rootPath;
+        }
+
+        Path getPath() {
+            return path;
+        }
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read only view of an analysis result, indexed for the output writers. The index is created once after the analysis,
+ * every lookup is a map lookup instead of a scan of all classes. The RestInfo must not be changed after the index is
+ * created.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class RestInfoIndex {
+
+    private final List<ClassInfo> classes;
+    private final List<ClassInfo> resources = new ArrayList<>();
+    private final Map<String, List<MethodInfo>> methodsBySimpleName = new HashMap<>();
+    private final Map<String, DataModelInfo> domainDataByType;
+
+    public RestInfoIndex(final RestInfo restInfo) {
+
+        classes = Collections.unmodifiableList(new ArrayList<>(restInfo.getClassInfo()));
+        domainDataByType = Collections.unmodifiableMap(new HashMap<>(restInfo.getDomainDataMap()));
+
+        for (ClassInfo classInfo : classes) {
+
+            List<MethodInfo> simpleNameMethods = methodsBySimpleName.computeIfAbsent(classInfo.getClassName(), key -> new ArrayList<>());
+
+            if (classInfo.getMethodInfo() == null) {
+
+                continue;
+            }
+
+            resources.add(classInfo);
+
+            simpleNameMethods.addAll(classInfo.getMethodInfo());
+        }
+
+        // Sorted once here instead of on every page
+        methodsBySimpleName.values().forEach(methods -> methods.sort(new MehodInfoComparator()));
+    }
+
+    /**
+     * @return The full path of a REST method, class root path + class path + method path
+     */
+    public static String getPath(final ClassInfo classInfo, final MethodInfo methodInfo) {
+
+        StringBuilder path = new StringBuilder();
+
+        path.append(classInfo.getClassRootPath());
+        path.append(classInfo.getClassPath());
+        path.append(methodInfo.getMethodPath());
+
+        return path.toString();
+    }
+
+    /**
+     * @return All classes in analysis order
+     */
+    public List<ClassInfo> getClasses() {
+
+        return classes;
+    }
+
+    /**
+     * @return The classes with REST methods in analysis order
+     */
+    public List<ClassInfo> getResources() {
+
+        return Collections.unmodifiableList(resources);
+    }
+
+    /**
+     * @param className Class name without package, the methods of all classes with this name are returned
+     * @return The REST methods sorted by path and HTTP method, an empty list if none is found
+     */
+    public List<MethodInfo> getMethodsBySimpleName(final String className) {
+
+        return Collections.unmodifiableList(methodsBySimpleName.getOrDefault(className, Collections.emptyList()));
+    }
+
+    /**
+     * @param domainDataType Full class name of a domain data class or enum
+     * @return The domain data or null if it isn't found
+     */
+    public DataModelInfo getDomainData(final String domainDataType) {
+
+        return domainDataByType.get(domainDataType);
+    }
+
+    /**
+     * @return All domain data, the key is the full class name
+     */
+    public Map<String, DataModelInfo> getDomainDataMap() {
+
+        return domainDataByType;
+    }
+
+    @Override
+    public String toString() {
+        return "RestInfoIndex{" + "classes=" + classes.size() + ", resources=" + resources.size() + ", domainData=" + domainDataByType.size() + '}';
+    }
+}
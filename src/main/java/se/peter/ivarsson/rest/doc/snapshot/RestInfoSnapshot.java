@@ -0,0 +1,550 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import se.peter.ivarsson.rest.doc.parser.ClassInfo;
+import se.peter.ivarsson.rest.doc.parser.DataModelInfo;
+import se.peter.ivarsson.rest.doc.parser.FieldInfo;
+import se.peter.ivarsson.rest.doc.parser.MethodInfo;
+import se.peter.ivarsson.rest.doc.parser.ParameterInfo;
+import se.peter.ivarsson.rest.doc.parser.RestInfo;
+import se.peter.ivarsson.rest.doc.parser.ReturnInfo;
+
+/**
+ * Compact binary snapshot of an analysis result. Other tools can read the snapshot instead of analyzing the project
+ * again, and the output files can be created again from it.
+ *
+ * <pre>
+ * Header, 40 bytes, all numbers are big endian ints if nothing else is said
+ *   magic "RDSN", version (short), reserved (short), string count, class count, domain data count,
+ *   string index offset, classes offset, domain data offset, file length,
+ *   CRC32 of all bytes after the header
+ * String index   one offset per string, to a string record
+ * String records byte length + UTF-8 bytes
+ * Class records  record length + class, its methods, return info and parameters
+ * Domain records record length + class name, info and fields
+ * </pre>
+ *
+ * All texts in the records are indexes in the string table, every distinct text is only stored once and -1 is null.
+ * A list that is null has the size -1. The record length makes it possible to skip a record without reading it.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public final class RestInfoSnapshot {
+
+    public static final String SNAPSHOT_FILE_NAME = "RestDocSnapshot.bin";
+
+    public static final int SNAPSHOT_VERSION = 1;
+
+    private static final int MAGIC = ('R' << 24) | ('D' << 16) | ('S' << 8) | 'N';
+    private static final int HEADER_SIZE = 40;
+    private static final int NULL_INDEX = -1;
+
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+    private final DataOutputStream record = new DataOutputStream(recordBytes);
+
+    private RestInfoSnapshot() {
+
+        // Created by toBytes() for one snapshot
+    }
+
+    /**
+     * @return The snapshot of the analysis result
+     */
+    public static byte[] toBytes(final RestInfo restInfo) {
+
+        try {
+
+            return new RestInfoSnapshot().createSnapshot(restInfo);
+
+        } catch (IOException ioe) {
+
+            // Only written to memory
+            throw new IllegalStateException("Can't create snapshot: " + ioe.getMessage(), ioe);
+        }
+    }
+
+    /**
+     * Read a snapshot file, the file is memory mapped while it is read
+     *
+     * @throws IOException if the file can't be read or isn't a valid snapshot of this version
+     */
+    public static RestInfo read(final Path snapshotPath) throws IOException {
+
+        try (FileChannel fileChannel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+
+            return read(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size()));
+        }
+    }
+
+    /**
+     * Read a snapshot from a buffer, from position 0 to the limit of the buffer
+     *
+     * @throws IOException if the buffer doesn't contain a valid snapshot of this version
+     */
+    public static RestInfo read(final ByteBuffer snapshot) throws IOException {
+
+        return new SnapshotReader(snapshot).readRestInfo();
+    }
+
+    private byte[] createSnapshot(final RestInfo restInfo) throws IOException {
+
+        ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream domainDataBytes = new ByteArrayOutputStream();
+
+        DataOutputStream classes = new DataOutputStream(classBytes);
+        DataOutputStream domainData = new DataOutputStream(domainDataBytes);
+
+        for (ClassInfo classInfo : restInfo.getClassInfo()) {
+
+            writeClass(classInfo);
+            writeRecord(classes);
+        }
+
+        for (Map.Entry<String, DataModelInfo> domainDataEntry : restInfo.getDomainDataMap().entrySet()) {
+
+            writeDomainData(domainDataEntry.getKey(), domainDataEntry.getValue());
+            writeRecord(domainData);
+        }
+
+        List<byte[]> encodedStrings = new ArrayList<>(strings.size());
+        int stringRecordsLength = 0;
+
+        for (String text : strings) {
+
+            byte[] encodedString = text.getBytes(StandardCharsets.UTF_8);
+
+            encodedStrings.add(encodedString);
+            stringRecordsLength += Integer.BYTES + encodedString.length;
+        }
+
+        int stringIndexOffset = HEADER_SIZE;
+        int classesOffset = stringIndexOffset + (strings.size() * Integer.BYTES) + stringRecordsLength;
+        int domainDataOffset = classesOffset + classBytes.size();
+        int fileLength = domainDataOffset + domainDataBytes.size();
+
+        ByteBuffer snapshot = ByteBuffer.allocate(fileLength);
+
+        snapshot.putInt(MAGIC);
+        snapshot.putShort((short) SNAPSHOT_VERSION);
+        snapshot.putShort((short) 0);
+        snapshot.putInt(strings.size());
+        snapshot.putInt(restInfo.getClassInfo().size());
+        snapshot.putInt(restInfo.getDomainDataMap().size());
+        snapshot.putInt(stringIndexOffset);
+        snapshot.putInt(classesOffset);
+        snapshot.putInt(domainDataOffset);
+        snapshot.putInt(fileLength);
+        snapshot.putInt(0);   // CRC32, set below
+
+        int stringOffset = stringIndexOffset + (strings.size() * Integer.BYTES);
+
+        for (byte[] encodedString : encodedStrings) {
+
+            snapshot.putInt(stringOffset);
+
+            stringOffset += Integer.BYTES + encodedString.length;
+        }
+
+        for (byte[] encodedString : encodedStrings) {
+
+            snapshot.putInt(encodedString.length);
+            snapshot.put(encodedString);
+        }
+
+        snapshot.put(classBytes.toByteArray());
+        snapshot.put(domainDataBytes.toByteArray());
+
+        CRC32 crc32 = new CRC32();
+
+        crc32.update(snapshot.array(), HEADER_SIZE, fileLength - HEADER_SIZE);
+
+        snapshot.putInt(HEADER_SIZE - Integer.BYTES, (int) crc32.getValue());
+
+        return snapshot.array();
+    }
+
+    private void writeRecord(final DataOutputStream section) throws IOException {
+
+        section.writeInt(recordBytes.size());
+
+        recordBytes.writeTo(section);
+        recordBytes.reset();
+    }
+
+    private void writeClass(final ClassInfo classInfo) throws IOException {
+
+        writeString(classInfo.getClassName());
+        writeString(classInfo.getPackageAndClassName());
+        writeString(classInfo.getClassRootPath());
+        writeString(classInfo.getClassPath());
+
+        if (classInfo.getMethodInfo() == null) {
+
+            record.writeInt(NULL_INDEX);
+            return;
+        }
+
+        record.writeInt(classInfo.getMethodInfo().size());
+
+        for (MethodInfo methodInfo : classInfo.getMethodInfo()) {
+
+            writeMethod(methodInfo);
+        }
+    }
+
+    private void writeMethod(final MethodInfo methodInfo) throws IOException {
+
+        writeString(methodInfo.getMethodName());
+        record.writeBoolean(methodInfo.isDeprecated());
+        writeString(methodInfo.getMethodPath());
+        writeString(methodInfo.getHttpRequestType());
+        writeString(methodInfo.getProduceType());
+        writeString(methodInfo.getConsumeType());
+        writeString(methodInfo.getRequestBodyName());
+        writeString(methodInfo.getRequestBodyClassName());
+        writeString(methodInfo.getJavaDoc());
+
+        ReturnInfo returnInfo = methodInfo.getReturnInfo();
+
+        record.writeBoolean(returnInfo != null);
+
+        if (returnInfo != null) {
+
+            writeString(returnInfo.getReturnClassName());
+            writeString(returnInfo.getAnnotatedReturnType());
+            writeString(returnInfo.getReturnStatusAsText());
+            writeString(returnInfo.getReturnStatusCode());
+        }
+
+        if (methodInfo.getParameterInfo() == null) {
+
+            record.writeInt(NULL_INDEX);
+            return;
+        }
+
+        record.writeInt(methodInfo.getParameterInfo().size());
+
+        for (ParameterInfo parameterInfo : methodInfo.getParameterInfo()) {
+
+            writeString(parameterInfo.getParameterAnnotationName());
+            writeString(parameterInfo.getParameterClassName());
+            writeString(parameterInfo.getParameterType());
+        }
+    }
+
+    private void writeDomainData(final String domainDataType, final DataModelInfo dataModelInfo) throws IOException {
+
+        writeString(domainDataType);
+        record.writeBoolean(dataModelInfo != null);
+
+        if (dataModelInfo == null) {
+
+            return;
+        }
+
+        writeString(dataModelInfo.getInfo());
+
+        if (dataModelInfo.getFields() == null) {
+
+            record.writeInt(NULL_INDEX);
+            return;
+        }
+
+        record.writeInt(dataModelInfo.getFields().size());
+
+        for (FieldInfo fieldInfo : dataModelInfo.getFields()) {
+
+            writeString(fieldInfo.getFieldName());
+            writeString(fieldInfo.getFieldType());
+            writeString(fieldInfo.getFieldOfType());
+        }
+    }
+
+    private void writeString(final String text) throws IOException {
+
+        if (text == null) {
+
+            record.writeInt(NULL_INDEX);
+            return;
+        }
+
+        Integer stringIndex = stringIndexes.get(text);
+
+        if (stringIndex == null) {
+
+            stringIndex = strings.size();
+
+            strings.add(text);
+            stringIndexes.put(text, stringIndex);
+        }
+
+        record.writeInt(stringIndex);
+    }
+
+    /**
+     * Reads the records of one snapshot, every string is decoded once when it is first used
+     */
+    private static final class SnapshotReader {
+
+        private final ByteBuffer snapshot;
+        private final String[] strings;
+        private final int stringIndexOffset;
+        private final int classCount;
+        private final int domainDataCount;
+        private final int classesOffset;
+        private final int domainDataOffset;
+
+        private byte[] stringBytes = new byte[256];
+
+        SnapshotReader(final ByteBuffer snapshotBuffer) throws IOException {
+
+            snapshot = snapshotBuffer.duplicate();
+
+            if ((snapshot.limit() < HEADER_SIZE) || (snapshot.getInt(0) != MAGIC)) {
+
+                throw new IOException("Not a RestDoc snapshot");
+            }
+
+            int version = snapshot.getShort(4);
+
+            if (version != SNAPSHOT_VERSION) {
+
+                throw new IOException("RestDoc snapshot version " + version + " can't be read, version " + SNAPSHOT_VERSION + " is expected");
+            }
+
+            int stringCount = snapshot.getInt(8);
+
+            classCount = snapshot.getInt(12);
+            domainDataCount = snapshot.getInt(16);
+            stringIndexOffset = snapshot.getInt(20);
+            classesOffset = snapshot.getInt(24);
+            domainDataOffset = snapshot.getInt(28);
+
+            int fileLength = snapshot.getInt(32);
+
+            if (fileLength != snapshot.limit()) {
+
+                throw new IOException("RestDoc snapshot is " + snapshot.limit() + " bytes, " + fileLength + " bytes is expected");
+            }
+
+            CRC32 crc32 = new CRC32();
+
+            ByteBuffer content = snapshot.duplicate();
+
+            content.position(HEADER_SIZE);
+            crc32.update(content);
+
+            if ((int) crc32.getValue() != snapshot.getInt(36)) {
+
+                throw new IOException("RestDoc snapshot has a wrong checksum");
+            }
+
+            strings = new String[stringCount];
+        }
+
+        RestInfo readRestInfo() throws IOException {
+
+            RestInfo restInfo = new RestInfo();
+
+            try {
+
+                snapshot.position(classesOffset);
+
+                List<ClassInfo> classes = new ArrayList<>(classCount);
+
+                for (int index = 0; index < classCount; index++) {
+
+                    int recordEnd = snapshot.getInt() + snapshot.position();
+
+                    classes.add(readClass());
+
+                    snapshot.position(recordEnd);
+                }
+
+                snapshot.position(domainDataOffset);
+
+                Map<String, DataModelInfo> domainDataMap = new HashMap<>();
+
+                for (int index = 0; index < domainDataCount; index++) {
+
+                    int recordEnd = snapshot.getInt() + snapshot.position();
+
+                    String domainDataType = readString();
+
+                    domainDataMap.put(domainDataType, readDataModel());
+
+                    snapshot.position(recordEnd);
+                }
+
+                restInfo.setClassInfo(classes);
+                restInfo.setDomainDataMap(domainDataMap);
+
+            } catch (RuntimeException re) {
+
+                // Buffer underflow or an index out of range, the checksum was right so the writer is wrong
+                throw new IOException("RestDoc snapshot is corrupt: " + re, re);
+            }
+
+            return restInfo;
+        }
+
+        private ClassInfo readClass() {
+
+            ClassInfo classInfo = new ClassInfo();
+
+            classInfo.setClassName(readString());
+            classInfo.setPackageAndClassName(readString());
+            classInfo.setClassRootPath(readString());
+            classInfo.setClassPath(readString());
+
+            int methodCount = snapshot.getInt();
+
+            if (methodCount != NULL_INDEX) {
+
+                List<MethodInfo> methods = new ArrayList<>(methodCount);
+
+                for (int index = 0; index < methodCount; index++) {
+
+                    methods.add(readMethod());
+                }
+
+                classInfo.setMethodInfo(methods);
+            }
+
+            return classInfo;
+        }
+
+        private MethodInfo readMethod() {
+
+            MethodInfo methodInfo = new MethodInfo();
+
+            methodInfo.setMethodName(readString());
+            methodInfo.setDeprecated(snapshot.get() != 0);
+            methodInfo.setMethodPath(readString());
+            methodInfo.setHttpRequestType(readString());
+            methodInfo.setProduceType(readString());
+            methodInfo.setConsumeType(readString());
+            methodInfo.setRequestBodyName(readString());
+            methodInfo.setRequestBodyClassName(readString());
+            methodInfo.setJavaDoc(readString());
+
+            if (snapshot.get() != 0) {
+
+                ReturnInfo returnInfo = new ReturnInfo();
+
+                returnInfo.setReturnClassName(readString());
+                returnInfo.setAnnotatedReturnType(readString());
+                returnInfo.setReturnStatusAsText(readString());
+                returnInfo.setReturnStatusCode(readString());
+
+                methodInfo.setReturnInfo(returnInfo);
+            }
+
+            int parameterCount = snapshot.getInt();
+
+            if (parameterCount != NULL_INDEX) {
+
+                List<ParameterInfo> parameters = new ArrayList<>(parameterCount);
+
+                for (int index = 0; index < parameterCount; index++) {
+
+                    ParameterInfo parameterInfo = new ParameterInfo();
+
+                    parameterInfo.setParameterAnnotationName(readString());
+                    parameterInfo.setParameterClassName(readString());
+                    parameterInfo.setParameterType(readString());
+
+                    parameters.add(parameterInfo);
+                }
+
+                methodInfo.setParameterInfo(parameters);
+            }
+
+            return methodInfo;
+        }
+
+        private DataModelInfo readDataModel() {
+
+            if (snapshot.get() == 0) {
+
+                return null;
+            }
+
+            DataModelInfo dataModelInfo = new DataModelInfo();
+
+            dataModelInfo.setInfo(readString());
+
+            int fieldCount = snapshot.getInt();
+
+            if (fieldCount == NULL_INDEX) {
+
+                dataModelInfo.setFields(null);
+                return dataModelInfo;
+            }
+
+            for (int index = 0; index < fieldCount; index++) {
+
+                FieldInfo fieldInfo = new FieldInfo();
+
+                fieldInfo.setFieldName(readString());
+                fieldInfo.setFieldType(readString());
+                fieldInfo.setFieldOfType(readString());
+
+                dataModelInfo.getFields().add(fieldInfo);
+            }
+
+            return dataModelInfo;
+        }
+
+        private String readString() {
+
+            int stringIndex = snapshot.getInt();
+
+            if (stringIndex == NULL_INDEX) {
+
+                return null;
+            }
+
+            if (strings[stringIndex] == null) {
+
+                int stringOffset = snapshot.getInt(stringIndexOffset + (stringIndex * Integer.BYTES));
+                int length = snapshot.getInt(stringOffset);
+
+                if (stringBytes.length < length) {
+
+                    stringBytes = new byte[Math.max(length, stringBytes.length * 2)];
+                }
+
+                // Read with a duplicate, the position of the snapshot is in the record being read
+                ByteBuffer stringBuffer = snapshot.duplicate();
+
+                stringBuffer.position(stringOffset + Integer.BYTES);
+                stringBuffer.get(stringBytes, 0, length);
+
+                strings[stringIndex] = new String(stringBytes, 0, length, StandardCharsets.UTF_8);
+            }
+
+            return strings[stringIndex];
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.sourceparser;
+
+/**
+ * Single pass tokenizer for Java source code.
+ * White space, line comments and block comments are skipped, JavaDoc comments are returned as tokens.
+ * Comments and string literals are never split into other tokens, so nothing inside them is mistaken for code.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public final class JavaLexer {
+
+    private final CharSequence source;
+    private final int length;
+
+    private int offset = 0;
+    private int line = 1;
+
+    public JavaLexer(final CharSequence source) {
+
+        this.source = source;
+        this.length = source.length();
+    }
+
+    /**
+     * @return The next token, or null at the end of the source
+     */
+    public JavaToken nextToken() {
+
+        while (offset < length) {
+
+            char character = source.charAt(offset);
+
+            if (isLineBreak(character)) {
+
+                skipLineBreak(character);
+
+            } else if (Character.isWhitespace(character)) {
+
+                offset++;
+
+            } else if ((character == '/') && (peek(1) == '/')) {
+
+                skipLineComment();
+
+            } else if ((character == '/') && (peek(1) == '*')) {
+
+                int startOffset = offset;
+                int startLine = line;
+
+                boolean javaDoc = (peek(2) == '*') && (peek(3) != '/');
+
+                skipBlockComment();
+
+                if (javaDoc) {
+
+                    return createToken(JavaToken.Type.JAVADOC, startOffset, startLine);
+                }
+            } else {
+
+                return readToken(character);
+            }
+        }
+
+        return null;
+    }
+
+    private JavaToken readToken(final char character) {
+
+        if (Character.isJavaIdentifierStart(character)) {
+
+            return readIdentifier();
+        }
+
+        if (Character.isDigit(character) || ((character == '.') && Character.isDigit(peek(1)))) {
+
+            return readNumber();
+        }
+
+        if (character == '"') {
+
+            if ((peek(1) == '"') && (peek(2) == '"')) {
+
+                return readTextBlock();
+            }
+
+            return readQuoted(JavaToken.Type.STRING, '"');
+        }
+
+        if (character == '\'') {
+
+            return readQuoted(JavaToken.Type.CHARACTER, '\'');
+        }
+
+        return readOperator(character);
+    }
+
+    private JavaToken readIdentifier() {
+
+        int startOffset = offset;
+
+        offset++;
+
+        while ((offset < length) && Character.isJavaIdentifierPart(source.charAt(offset))) {
+
+            offset++;
+        }
+
+        return createToken(JavaToken.Type.IDENTIFIER, startOffset, line);
+    }
+
+    private JavaToken readNumber() {
+
+        int startOffset = offset;
+
+        offset++;
+
+        while (offset < length) {
+
+            char character = source.charAt(offset);
+
+            if ((character == '+') || (character == '-')) {
+
+                // Only part of the number in an exponent, like 1e-5 or 0x1p+3
+                char previous = source.charAt(offset - 1);
+
+                if ((previous != 'e') && (previous != 'E') && (previous != 'p') && (previous != 'P')) {
+
+                    break;
+                }
+            } else if (!Character.isLetterOrDigit(character) && (character != '_') && (character != '.')) {
+
+                break;
+            }
+
+            offset++;
+        }
+
+        return createToken(JavaToken.Type.NUMBER, startOffset, line);
+    }
+
+    private JavaToken readQuoted(final JavaToken.Type type, final char quote) {
+
+        int startOffset = offset;
+
+        offset++;
+
+        while (offset < length) {
+
+            char character = source.charAt(offset);
+
+            if (character == '\\') {
+
+                offset += 2;
+
+            } else if (character == quote) {
+
+                offset++;
+                break;
+
+            } else if (isLineBreak(character)) {
+
+                // Not terminated, the literal ends at the end of the line
+                break;
+
+            } else {
+
+                offset++;
+            }
+        }
+
+        offset = Math.min(offset, length);
+
+        return createToken(type, startOffset, line);
+    }
+
+    private JavaToken readTextBlock() {
+
+        int startOffset = offset;
+        int startLine = line;
+
+        offset += 3;
+
+        while (offset < length) {
+
+            char character = source.charAt(offset);
+
+            if (character == '\\') {
+
+                offset += 2;
+
+            } else if ((character == '"') && (peek(1) == '"') && (peek(2) == '"')) {
+
+                offset += 3;
+                break;
+
+            } else if (isLineBreak(character)) {
+
+                skipLineBreak(character);
+
+            } else {
+
+                offset++;
+            }
+        }
+
+        offset = Math.min(offset, length);
+
+        return createToken(JavaToken.Type.STRING, startOffset, startLine);
+    }
+
+    private void skipBlockComment() {
+
+        offset += 2;
+
+        while (offset < length) {
+
+            char character = source.charAt(offset);
+
+            if ((character == '*') && (peek(1) == '/')) {
+
+                offset += 2;
+                break;
+
+            } else if (isLineBreak(character)) {
+
+                skipLineBreak(character);
+
+            } else {
+
+                offset++;
+            }
+        }
+
+        offset = Math.min(offset, length);
+    }
+
+    private void skipLineComment() {
+
+        while ((offset < length) && !isLineBreak(source.charAt(offset))) {
+
+            offset++;
+        }
+    }
+
+    private JavaToken readOperator(final char character) {
+
+        int startOffset = offset;
+
+        offset++;
+
+        if (peek(0) == '=') {
+
+            switch (character) {
+
+                case '=':
+                case '!':
+                case '<':
+                case '>':
+                case '+':
+                case '-':
+                case '*':
+                case '/':
+                case '%':
+                case '&':
+                case '|':
+                case '^':
+                    offset++;
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        return createToken(JavaToken.Type.OPERATOR, startOffset, line);
+    }
+
+    private JavaToken createToken(final JavaToken.Type type, final int startOffset, final int startLine) {
+
+        return new JavaToken(type, source, startOffset, offset, startLine);
+    }
+
+    /*
+     * Line breaks are counted the same way as Files.lines() and BufferedReader, '\n', '\r' or "\r\n"
+     */
+    private void skipLineBreak(final char character) {
+
+        offset++;
+
+        if ((character == '\r') && (peek(0) == '\n')) {
+
+            offset++;
+        }
+
+        line++;
+    }
+
+    private char peek(final int distance) {
+
+        int peekOffset = offset + distance;
+
+        return peekOffset < length ? source.charAt(peekOffset) : '\0';
+    }
+
+    static boolean isLineBreak(final char character) {
+
+        return (character == '\n') || (character == '\r');
+    }
+}
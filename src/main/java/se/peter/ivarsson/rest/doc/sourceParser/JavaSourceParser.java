@@ -8,17 +8,30 @@ package se.peter.ivarsson.rest.doc.sourceparser;
 import java.io.File;
 import java.io.IOException;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
-import java.util.stream.Stream;
 import se.peter.ivarsson.rest.doc.parser.PathInfo;
 import se.peter.ivarsson.rest.doc.parser.ResponseType;
 
 /**
+ * Finds imports, enums, response types, class paths, constants and JavaDoc comments in a source file.
+ * The source is read by a JavaLexer, the tokens are collected into declarations and statements (everything up to
+ * the next ';', '{' or '}' outside parentheses) and every declaration or statement is given to the extractors.
  *
  * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
  */
@@ -26,14 +39,27 @@ public class JavaSourceParser {
 
     private static final Logger LOGGER = Logger.getLogger(JavaSourceParser.class.getSimpleName());
 
-    private static final String PUBLIC_TYPE = "public ";
     private static final String JAVA_FILE_TYPE = ".java";
 
-    // JavaDoc parsing
-    private int javaDocStartIndexOffset = -1;
-    private StringBuilder javaDocComment = null;
-    private boolean javaDocReadingComments = false;
-    private boolean javaDocEndReached = false;
+    // Larger source files are memory mapped when byteSourceReading is used, smaller files are read into a byte buffer
+    private static final long MEMORY_MAP_SIZE = 64 * 1024;
+
+    // A source file without any of these texts has nothing the extractors can find
+    private static final String[] SOURCE_MARKERS = {"javax.ws.rs", "@Path", "enum", "interface"};
+
+    private static final Set<String> MODIFIERS = new HashSet<>(Arrays.asList("public", "protected", "private", "static", "final",
+            "abstract", "default", "synchronized", "native", "transient", "volatile", "strictfp"));
+
+    private static final String KIND_CLASS = "class";
+    private static final String KIND_ENUM = "enum";
+    private static final String KIND_INTERFACE = "interface";
+    private static final String KIND_METHOD = "method";
+
+    // The source file, JavaDoc comments are only read from the source when they are used
+    private CharSequence source = "";
+
+    // JavaDoc parsing, the last JavaDoc comment not used by a declaration
+    private JavaToken javaDocToken = null;
 
     // Used in 'Respose type' and 'Class path'
     private final HashMap<String, String> importClasses = new HashMap<>();
@@ -49,103 +75,134 @@ public class JavaSourceParser {
     private String classPathTemporary = "";
     private String classPath = "";
 
-    public void parseClassForJavaDocComments(final File sourceDiretory, final Map<String, String> javaDocComments, final String className) {
+    // Constants are only searched for before the first class declaration
+    private boolean classFound = false;
 
-        // Starting point
-        javaDocStartIndexOffset = -1;
-        javaDocReadingComments = false;
-        javaDocEndReached = false;
+    // One entry for each open '{', true if the '{' starts the body of a class, interface or enum
+    private final Deque<Boolean> openBraces = new ArrayDeque<>();
 
-        javaDocComments.clear();
+    // Enum values of the parsed class, only loaded when an enum is found in the file
+    private String classEnumValues = null;
 
-        String javaFilePath = getSourceFileNameFromClassName(sourceDiretory, className);
+    private final boolean byteSourceReading;
 
-        // Read file into stream
-        try (Stream<String> stream = Files.lines(Paths.get(javaFilePath))) {
+    public JavaSourceParser() {
 
-            stream.forEach(line -> parseFileForComments(line, javaDocComments));
+        this(false);
+    }
 
-        } catch (IOException ioe) {
+    /**
+     * @param byteSourceReading Read the source files as bytes, files without any of the SOURCE_MARKERS are not parsed
+     * and only the parts of the file that is used are decoded
+     */
+    public JavaSourceParser(final boolean byteSourceReading) {
 
-            LOGGER.severe(() -> "parseClassForJavaDocComments(), IOException: " + ioe.getMessage() + ", Can't find file: " + javaFilePath);
-        }
+        this.byteSourceReading = byteSourceReading;
     }
 
-    private void parseFileForComments(final String line, final Map<String, String> javaDocComments) {
+    /**
+     * Parse one source file, all state is reset before the file is parsed.
+     * The file is only read once, imports, enums, response types, class paths, constants and JavaDoc comments are
+     * collected in the same pass. The result is returned so several files can be parsed at the same time, one
+     * JavaSourceParser per file.
+     */
+    public SourceFileInfo parseSourceFile(final File sourceDiretory, final Path sourceFilePath, final URLClassLoader urlClassLoader) {
+
+        LOGGER.info(() -> "parseSourceFile(), Checking source file " + sourceFilePath + " for enums, response types and JavaDoc comments");
 
-        if (javaDocStartIndexOffset < 0) {
+        String className = getFullClassNameFromSourcesDir(sourceDiretory, sourceFilePath);
+
+        if (byteSourceReading) {
 
-            javaDocStartIndexOffset = line.indexOf("/**");
+            return parseSourceBytes(className, sourceFilePath, urlClassLoader);
         }
 
-        if (!javaDocEndReached) {
+        String source = "";
 
-            if ((javaDocStartIndexOffset != -1) && !javaDocReadingComments) {
+        try {
 
-                javaDocComment = new StringBuilder(line);
-                javaDocComment.append('\r');
-                javaDocReadingComments = true;
+            source = new String(Files.readAllBytes(sourceFilePath), StandardCharsets.UTF_8);
 
-            } else {
+        } catch (IOException ioe) {
 
-                if (javaDocReadingComments) {
+            LOGGER.severe(() -> "parseSourceFile(), IOException: " + ioe.getMessage() + ", Can't find file: " + sourceFilePath);
+        }
 
-                    javaDocComment.append(line.substring(javaDocStartIndexOffset));
-                    javaDocComment.append('\r');
+        return parseSource(source, className, sourceFilePath, urlClassLoader);
+    }
 
-                    int endIndexOffset = line.indexOf("*/");
+    private SourceFileInfo parseSourceBytes(final String className, final Path sourceFilePath, final URLClassLoader urlClassLoader) {
 
-                    if (endIndexOffset > 0) {
+        Utf8ByteSequence sourceBytes;
 
-                        javaDocEndReached = true;
-                    }
-                }
-            }
-        } else {
+        try {
 
-            // Search for public methods
-            int publicMethodOffset = line.indexOf("public");
+            sourceBytes = new Utf8ByteSequence(readSourceBytes(sourceFilePath));
 
-            if (publicMethodOffset != -1) {
-                // Skip public
-                findMethodNameAndAddToHashMap(line.substring(publicMethodOffset + 7), javaDocComments);
+        } catch (IOException ioe) {
+
+            LOGGER.severe(() -> "parseSourceBytes(), IOException: " + ioe.getMessage() + ", Can't find file: " + sourceFilePath);
+
+            sourceBytes = new Utf8ByteSequence(ByteBuffer.allocate(0));
+        }
+
+        for (String sourceMarker : SOURCE_MARKERS) {
+
+            if (sourceBytes.contains(sourceMarker)) {
+
+                return parseSource(sourceBytes, className, sourceFilePath, urlClassLoader);
             }
         }
+
+        LOGGER.info(() -> "parseSourceBytes(), Nothing to find in source file " + sourceFilePath);
+
+        return new SourceFileInfo(className, Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+                Collections.emptyMap(), Collections.emptyMap());
     }
 
-    private void findMethodNameAndAddToHashMap(final String line, final Map<String, String> javaDocComments) {
+    private ByteBuffer readSourceBytes(final Path sourceFilePath) throws IOException {
+
+        try (FileChannel fileChannel = FileChannel.open(sourceFilePath, StandardOpenOption.READ)) {
+
+            long size = fileChannel.size();
+
+            ByteBuffer buffer;
 
-        int endMethodNameOffset = line.indexOf('(');
+            if (size >= MEMORY_MAP_SIZE) {
 
-        if (endMethodNameOffset != -1) {
+                buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
 
-            String methodString = line.substring(0, endMethodNameOffset).trim();
+            } else {
 
-            int methodStartIndex = methodString.lastIndexOf(' ');
+                buffer = ByteBuffer.allocate((int) size);
 
-            if (methodStartIndex != -1) {
+                while (buffer.hasRemaining() && (fileChannel.read(buffer) != -1)) {
 
-                String methodName = methodString.substring(methodStartIndex + 1);
+                    // Read until the buffer is full
+                }
 
-                javaDocComments.put(methodName, javaDocComment.toString());
-                javaDocStartIndexOffset = -1;
-                javaDocReadingComments = false;
-                javaDocEndReached = false;
+                buffer.flip();
             }
-        } else {
 
-            // Skip this JavaDoc comment is not a part of method
-            javaDocStartIndexOffset = -1;
-            javaDocReadingComments = false;
-            javaDocEndReached = false;
+            if ((buffer.limit() >= 3) && (buffer.get(0) == (byte) 0xEF) && (buffer.get(1) == (byte) 0xBB) && (buffer.get(2) == (byte) 0xBF)) {
+
+                // Skip the UTF-8 byte order mark
+                buffer.position(3);
+
+                return buffer.slice();
+            }
+
+            return buffer;
         }
     }
 
-    public void parseSourceFile(final File sourceDiretory, final Map<String, String> javaEnums,
-            final Map<String, ResponseType> responseTypes, final Map<String, PathInfo> classPaths,
-            final Map<String, String> constants, final Path sourceFilePath, final URLClassLoader urlClassLoader) {
+    private SourceFileInfo parseSource(final CharSequence sourceCode, final String className, final Path sourceFilePath, final URLClassLoader urlClassLoader) {
 
-        LOGGER.info(() -> "parseSourceFile(), Checking source file " + sourceFilePath + " for enums and response types");
+        final Map<String, String> javaEnums = new HashMap<>();
+        final Map<String, ResponseType> responseTypes = new HashMap<>();
+        final Map<String, PathInfo> classPaths = new HashMap<>();
+        final Map<String, String> constants = new HashMap<>();
+        final Map<String, String> javaDocComments = new HashMap<>();
 
         importClasses.clear();
         responseTypeAnnotationFound = false;
@@ -155,471 +212,691 @@ public class JavaSourceParser {
         classPathTemporary = "";
         classPath = "";
 
-        String className = getFullClassNameFromSourcesDir(sourceDiretory, sourceFilePath);
+        source = sourceCode;
+        javaDocToken = null;
+        classFound = false;
+        openBraces.clear();
 
-        String enumListForClass = getEnumValuesFromClass(className, urlClassLoader);
+        classEnumValues = null;
 
-        // Read file into stream
-        try (Stream<String> stream = Files.lines(Paths.get(sourceFilePath.toString()))) {
+        JavaLexer javaLexer = new JavaLexer(sourceCode);
 
-            final Boolean[] isClass = new Boolean[1];
-            isClass[0] = false;
+        List<JavaToken> statement = new ArrayList<>();
+        int parenthesesDepth = 0;
 
-            stream.forEach(line -> {
+        JavaToken token;
 
-                if (line.indexOf(" class ") != -1) {
+        while ((token = javaLexer.nextToken()) != null) {
 
-                    isClass[0] = true;
-                }
+            if (token.getType() == JavaToken.Type.JAVADOC) {
 
-                addImportStatementToMap(line);
+                javaDocToken = token;
+                continue;
+            }
 
-                findEnumsInFile(line, javaEnums, sourceFilePath, isClass[0], enumListForClass, urlClassLoader);
+            if (token.isOperator("(")) {
 
-                findResponseOkType(line, responseTypes, className);
+                parenthesesDepth++;
 
-                findClassPaths(line, classPaths, className);
+            } else if (token.isOperator(")")) {
 
-                findConstants(line, isClass[0], constants, className);
-            });
+                parenthesesDepth = Math.max(0, parenthesesDepth - 1);
 
-        } catch (IOException ioe) {
+            } else if ((parenthesesDepth == 0) && (token.isOperator(";") || token.isOperator("{") || token.isOperator("}"))) {
 
-            LOGGER.severe(() -> "parseSourceFile(), IOException: " + ioe.getMessage() + ", Can't find file: " + sourceFilePath);
+                parseStatement(statement, token, className, sourceFilePath, urlClassLoader, javaEnums, responseTypes, classPaths, constants, javaDocComments);
+
+                statement.clear();
+                continue;
+            }
+
+            statement.add(token);
         }
+
+        // Don't keep the source file until the next file is parsed
+        source = "";
+        javaDocToken = null;
+
+        return new SourceFileInfo(className, javaEnums, responseTypes, classPaths, constants, javaDocComments);
     }
 
-    private void findEnumsInFile(final String line, final Map<String, String> javaEnums, final Path sourceFilePath,
-            final Boolean inClass, String enumListForClass, final URLClassLoader urlClassLoader) {
+    private void parseStatement(final List<JavaToken> statement, final JavaToken endToken, final String className, final Path sourceFilePath,
+            final URLClassLoader urlClassLoader, final Map<String, String> javaEnums, final Map<String, ResponseType> responseTypes,
+            final Map<String, PathInfo> classPaths, final Map<String, String> constants, final Map<String, String> javaDocComments) {
 
-        // Search for enum in public methods
-        int publicMethodOffset = line.indexOf(PUBLIC_TYPE);
-        int startEnumOffset = line.indexOf(" enum ");
-        int endEnumOffset = line.indexOf('{');
+        boolean typeDeclaration = false;
 
-        if ((publicMethodOffset != -1) && (startEnumOffset != -1) && (endEnumOffset != -1)) {
+        if (!statement.isEmpty()) {
 
-            // This is a public enum
-            String enumType = line.substring(startEnumOffset + 5, endEnumOffset).trim();
+            JavaToken firstToken = statement.get(0);
 
-            String sourceFile = sourceFilePath.toString();
+            if (firstToken.isIdentifier("import")) {
 
-            int startSourcesFolderIndex = sourceFile.indexOf("/java/") + 6;
-            int endSourcesFolderIndex = sourceFile.indexOf(enumType, startSourcesFolderIndex);
+                addImportStatementToMap(statement);
 
-            if ((startSourcesFolderIndex != -1) && (endSourcesFolderIndex != -1)) {
+                javaDocToken = null;
 
-                String enumTypeWithPath = null;
+            } else if (!firstToken.isIdentifier("package")) {
 
-                if (inClass) {
+                Declaration declaration = parseDeclaration(statement);
 
-                    // Enum inside a class
-                    int endJavaSuffixIndex = sourceFile.indexOf(JAVA_FILE_TYPE, startSourcesFolderIndex);
+                typeDeclaration = declaration.isType();
 
-                    enumTypeWithPath = sourceFile.substring(startSourcesFolderIndex, endJavaSuffixIndex).replace('/', '.') + '$' + enumType;
+                if (KIND_CLASS.equals(declaration.kind)) {
 
-                    if (enumListForClass.isEmpty()) {
+                    classFound = true;
+                }
 
-                        enumListForClass = getEnumValuesFromClass(enumTypeWithPath, urlClassLoader);
-                    }
+                findEnumsInFile(declaration, javaEnums, sourceFilePath, className, urlClassLoader);
 
-                } else {
+                findResponseOkType(statement, declaration, responseTypes, className);
 
-                    // This is a public enum
-                    enumTypeWithPath = sourceFile.substring(startSourcesFolderIndex, endSourcesFolderIndex).replace('/', '.') + enumType;
-                }
+                findClassPaths(declaration, classPaths, className);
 
-                javaEnums.put(enumTypeWithPath, enumListForClass);
+                findConstants(declaration, constants, className);
 
-                LOGGER.info(() -> "findEnumsInFile(), Enum " + enumType + " found in file " + sourceFilePath);
+                findJavaDocComment(declaration, javaDocComments);
             }
         }
+
+        if (endToken.isOperator("{")) {
+
+            openBraces.push(typeDeclaration);
+
+        } else if (endToken.isOperator("}") && !openBraces.isEmpty()) {
+
+            openBraces.pop();
+        }
     }
 
-    private void findResponseOkType(final String line, final Map<String, ResponseType> responseTypes, final String className) {
+    /*
+     * Annotations and modifiers first, then a class, interface or enum, a method or a variable
+     */
+    private Declaration parseDeclaration(final List<JavaToken> statement) {
 
-        if (!responseTypeAnnotationFound) {
+        Declaration declaration = new Declaration();
 
-            // Search for enum in public methods
-            if (isPathAnnotation(line) != -1) {
+        int size = statement.size();
+        int index = 0;
 
-                responseTypeAnnotationFound = true;
-                responseTypePublicReponseFound = false;
+        while (index < size) {
+
+            JavaToken token = statement.get(index);
+
+            if (token.isOperator("@") && ((index + 1) < size) && !statement.get(index + 1).isIdentifier(KIND_INTERFACE)) {
+
+                index = parseAnnotation(statement, index, declaration);
+
+            } else if ((token.getType() == JavaToken.Type.IDENTIFIER) && MODIFIERS.contains(token.getText())) {
+
+                declaration.modifiers.add(token.getText());
+                index++;
+
+            } else {
+
+                break;
             }
-            return; //  No path found yet
         }
 
-        if (!responseTypePublicReponseFound) {
+        if (index >= size) {
 
-            String methodName;
+            return declaration;
+        }
 
-            if ((methodName = isResponseMethod(line)) != null) {
+        JavaToken firstToken = statement.get(index);
 
-                responseTypePublicReponseFound = true;
-                responseTypeResponseMethodName = methodName;
-                responseTypeVariableTypes.clear();
+        if (firstToken.isOperator("@")) {
+
+            // Annotation type
+            firstToken = statement.get(++index);
+        }
+
+        if (firstToken.isIdentifier(KIND_CLASS) || firstToken.isIdentifier(KIND_INTERFACE) || firstToken.isIdentifier(KIND_ENUM)) {
+
+            declaration.kind = firstToken.getText();
+
+            if (((index + 1) < size) && (statement.get(index + 1).getType() == JavaToken.Type.IDENTIFIER)) {
+
+                declaration.name = statement.get(index + 1).getText();
             }
-        } else {
 
-            // Search for real 'Response.ok('
-            int returnOffset = line.indexOf("return");
-            int responseOffset = line.indexOf("Response", returnOffset);
-            int responseOkOffset = line.indexOf(".ok", responseOffset);
+            return declaration;
+        }
 
-            if ((returnOffset != -1) && (responseOffset != -1)) {
+        if (firstToken.isOperator("<")) {
 
-                String responseTypeKey = className + "-" + responseTypeResponseMethodName;
+            // Type parameters of a generic method
+            index = skipTypeArguments(statement, index);
+        }
+
+        for (int tokenIndex = index; tokenIndex < size; tokenIndex++) {
+
+            JavaToken token = statement.get(tokenIndex);
+
+            if (token.isOperator("=") || token.isOperator("(")) {
+
+                if ((tokenIndex > index) && (statement.get(tokenIndex - 1).getType() == JavaToken.Type.IDENTIFIER)) {
 
-                if (responseOkOffset != -1) {
+                    declaration.name = statement.get(tokenIndex - 1).getText();
+                    declaration.typeName = getText(statement, index, tokenIndex - 1);
 
-                    // Http status OK
-                    int responseOkStartOffset = line.indexOf('(', responseOkOffset);
+                    if (token.isOperator("(")) {
 
-                    if (responseOkStartOffset != -1) {
+                        declaration.kind = KIND_METHOD;
 
-                        // Get Response OK variable name
-                        int responseOkEndOffset = line.indexOf(')', responseOkStartOffset);
+                    } else {
 
-                        if (responseOkEndOffset != -1) {
+                        declaration.initializer = statement.subList(tokenIndex + 1, size);
+                    }
+                }
 
-                            int newOffset = line.indexOf("new ");
+                break;
+            }
+        }
 
-                            if (newOffset == -1) {
+        return declaration;
+    }
 
-                                // We don't want any new objects
-                                String variableName = line.substring(responseOkStartOffset + 1, responseOkEndOffset).trim();
+    private int parseAnnotation(final List<JavaToken> statement, final int atIndex, final Declaration declaration) {
 
-                                if (responseTypeVariableTypes.containsKey(variableName)) {
+        int size = statement.size();
+        int index = atIndex + 1;
 
-                                    ResponseType responseType = new ResponseType();
-                                    responseType.setReturnStatus("OK");
-                                    responseType.setReturnStatusCode("200");
+        StringBuilder annotationName = new StringBuilder(statement.get(index++).getText());
 
-                                    String variableType = responseTypeVariableTypes.get(variableName);
+        while (((index + 1) < size) && statement.get(index).isOperator(".")) {
 
-                                    int listIndex = variableType.indexOf("List<");
+            annotationName.append('.').append(statement.get(index + 1).getText());
+            index += 2;
+        }
 
-                                    if (listIndex == -1) {
+        List<JavaToken> arguments = new ArrayList<>();
 
-                                        // No list
-                                        if (importClasses.containsKey(responseTypeVariableTypes.get(variableName))) {
+        if ((index < size) && statement.get(index).isOperator("(")) {
 
-                                            responseType.setReturnType(importClasses.get(responseTypeVariableTypes.get(variableName)));
+            int depth = 1;
 
-                                            responseTypes.put(responseTypeKey, responseType);
-                                        }
-                                    } else {
+            index++;
 
-                                        String listType = variableType.substring(listIndex + 5, variableType.length() - 1);
+            while (index < size) {
 
-                                        if (importClasses.containsKey(listType)) {
+                JavaToken token = statement.get(index++);
 
-                                            responseType.setReturnType("List<" + importClasses.get(listType) + ">");
+                if (token.isOperator("(")) {
 
-                                            responseTypes.put(responseTypeKey, responseType);
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                } else {
+                    depth++;
 
-                    // Http status thas is NOT OK
-                    findOutHttpStatusCode(line, responseOffset, responseTypeKey, responseTypes);
+                } else if (token.isOperator(")") && (--depth == 0)) {
+
+                    break;
                 }
 
-                // We have found an return Response Type
-                responseTypeAnnotationFound = false;
-                responseTypePublicReponseFound = false;
+                arguments.add(token);
+            }
+        }
 
-            } else {
+        if (annotationName.toString().equals("Path") || annotationName.toString().equals("javax.ws.rs.Path")) {
 
-                // Response.ok not found
-                // Save all variables in the variableTypes HashList
-                addVariableAndTypeToHashList(line);
-            }
+            declaration.pathArguments = arguments;
         }
+
+        return index;
     }
 
-    private void findClassPaths(final String line, final Map<String, PathInfo> classPaths, final String className) {
+    private int skipTypeArguments(final List<JavaToken> statement, final int startIndex) {
 
-        if (!classPathAnnotationFound) {
+        int depth = 0;
+        int index = startIndex;
+
+        while (index < statement.size()) {
+
+            JavaToken token = statement.get(index++);
 
-            int pathOffset = isPathAnnotation(line);
+            if (token.isOperator("<")) {
 
-            // Search for enum in public methods
-            if (pathOffset != -1) {
+                depth++;
 
-                parsePathAnnotation(line, pathOffset);
+            } else if (token.isOperator(">") && (--depth == 0)) {
 
-                classPathAnnotationFound = true;
+                break;
             }
-            return; //  No path found yet
         }
 
-        if (isClass(line)) {
+        return index;
+    }
 
-            if (!classPathTemporary.isEmpty()) {
+    /**
+     * @return The text of the tokens without white space, string literals without quotes
+     */
+    private String getText(final List<JavaToken> tokens, final int fromIndex, final int toIndex) {
 
-                classPath = classPathTemporary + '/';
+        StringBuilder text = new StringBuilder();
 
-            } else {
+        for (int index = fromIndex; index < toIndex; index++) {
 
-                classPath = "";
-            }
+            text.append(tokens.get(index).getStringValue());
+        }
 
-            classPathAnnotationFound = false;
-            classPathTemporary = "";
-            return;
+        return text.toString();
+    }
+
+    /*
+     * The first line of the comment is added as it is, the other lines from the column where the comment starts.
+     * Every line ends with '\r'.
+     */
+    private String getJavaDocComment(final JavaToken token) {
+
+        int lineStart = token.getStartOffset();
+
+        while ((lineStart > 0) && !JavaLexer.isLineBreak(source.charAt(lineStart - 1))) {
+
+            lineStart--;
         }
 
-        if (!classPathAnnotationFound) {
+        // Only the lines of the comment are decoded
+        String lines = source.subSequence(lineStart, getLineEnd(source, token.getEndOffset())).toString();
 
-            if (isPathAnnotation(line) != -1) {
+        int column = source.subSequence(lineStart, token.getStartOffset()).toString().length();
+        int lineEnd = getLineEnd(lines, 0);
 
-                classPathAnnotationFound = true;
-                return;
+        StringBuilder comment = new StringBuilder(lines.length() + 16);
+
+        comment.append(lines, 0, lineEnd);
+        comment.append('\r');
+
+        while (lineEnd < lines.length()) {
+
+            int nextLineStart = lineEnd + 1;
+
+            if ((lines.charAt(lineEnd) == '\r') && (nextLineStart < lines.length()) && (lines.charAt(nextLineStart) == '\n')) {
+
+                nextLineStart++;
             }
-        } else {
 
-            if (isResponseMethod(line) != null) {
+            lineEnd = getLineEnd(lines, nextLineStart);
 
-                classPathAnnotationFound = false;
-                classPathTemporary = "";
-                return;
+            comment.append(lines, Math.min(nextLineStart + column, lineEnd), lineEnd);
+            comment.append('\r');
+        }
 
-            } else {
+        return comment.toString();
+    }
 
-                String methodReturnType;
+    private int getLineEnd(final CharSequence source, final int lineStart) {
 
-                if ((methodReturnType = isPublicMethod(line)) != null) {
+        int lineEnd = lineStart;
 
-                    PathInfo pathInfo = new PathInfo();
-                    pathInfo.setParentPath(className);
+        while ((lineEnd < source.length()) && !JavaLexer.isLineBreak(source.charAt(lineEnd))) {
 
-                    if (importClasses.containsKey(methodReturnType)) {
+            lineEnd++;
+        }
 
-                        methodReturnType = importClasses.get(methodReturnType);
+        return lineEnd;
+    }
 
-                        if (importClasses.containsKey(classPathTemporary)) {
+    private void findJavaDocComment(final Declaration declaration, final Map<String, String> javaDocComments) {
 
-                            String[] pathList = importClasses.get(classPathTemporary).split("\\s+");
+        if (javaDocToken == null) {
 
-                            if (pathList.length > 0) {
+            return;
+        }
 
-                                if (!classPathTemporary.isEmpty()) {
+        if (declaration.isPublicMethod()) {
 
-                                    pathInfo.setClassPath(classPath + importClasses.get(classPathTemporary) + '/');
+            javaDocComments.put(declaration.name, getJavaDocComment(javaDocToken));
+        }
 
-                                } else {
+        // The JavaDoc comment belongs to this declaration, also if it isn't a public method
+        javaDocToken = null;
+    }
 
-                                    pathInfo.setClassPath(classPath);
-                                }
+    private void findEnumsInFile(final Declaration declaration, final Map<String, String> javaEnums, final Path sourceFilePath,
+            final String className, final URLClassLoader urlClassLoader) {
 
-                                classPaths.put(methodReturnType, pathInfo);
-                            }
+        if (!KIND_ENUM.equals(declaration.kind) || !declaration.modifiers.contains("public") || declaration.name.isEmpty()) {
 
-                        } else {
+            return;
+        }
 
-                            if (!classPathTemporary.isEmpty()) {
+        // This is a public enum
+        String enumType = declaration.name;
+        String enumTypeWithPath;
 
-                                pathInfo.setClassPath(classPath + classPathTemporary + '/');
+        String enumListForClass = getClassEnumValues(className, urlClassLoader);
 
-                            } else {
+        if (openBraces.contains(Boolean.TRUE)) {
 
-                                pathInfo.setClassPath(classPath);
-                            }
+            // Enum inside a class
+            enumTypeWithPath = className + '$' + enumType;
 
-                            classPaths.put(methodReturnType, pathInfo);
-                        }
-                    }
+            if (enumListForClass.isEmpty()) {
 
-                    classPathAnnotationFound = false;
-                    classPathTemporary = "";
-                }
+                enumListForClass = getEnumValuesFromClass(enumTypeWithPath, urlClassLoader);
             }
+
+        } else {
+
+            // This is a public enum
+            enumTypeWithPath = className.substring(0, className.lastIndexOf('.') + 1) + enumType;
         }
+
+        javaEnums.put(enumTypeWithPath, enumListForClass);
+
+        LOGGER.info(() -> "findEnumsInFile(), Enum " + enumType + " found in file " + sourceFilePath);
     }
 
-    private void parsePathAnnotation(final String line, final int pathOffset) {
+    private void findResponseOkType(final List<JavaToken> statement, final Declaration declaration,
+            final Map<String, ResponseType> responseTypes, final String className) {
+
+        if (!responseTypeAnnotationFound) {
+
+            if (declaration.pathArguments == null) {
+
+                return; //  No path found yet
+            }
 
-        int quoteStartOffset = line.indexOf('\"', pathOffset);
-        int quoteEndOffset = line.indexOf('\"', quoteStartOffset + 1);
-        int parentheseEndOffset = line.indexOf(')', quoteEndOffset + 1);
+            responseTypeAnnotationFound = true;
+            responseTypePublicReponseFound = false;
+        }
 
-        if ((quoteStartOffset != -1) && (quoteEndOffset != -1) && ((parentheseEndOffset - quoteEndOffset) < 4)) {
+        if (!responseTypePublicReponseFound) {
 
-            classPathTemporary = line.substring(quoteStartOffset + 1, quoteEndOffset);
+            if (isResponseMethod(declaration)) {
 
+                responseTypePublicReponseFound = true;
+                responseTypeResponseMethodName = declaration.name;
+                responseTypeVariableTypes.clear();
+            }
         } else {
 
-            int parentheseStartOffset = line.indexOf('(');
+            // Search for 'return Response.xxx('
+            if ((statement.size() > 4) && statement.get(0).isIdentifier("return") && statement.get(1).isIdentifier("Response")
+                    && statement.get(2).isOperator(".") && statement.get(4).isOperator("(")) {
 
-            // Probably a define
-            String pathContent = line.substring(parentheseStartOffset + 1, parentheseEndOffset);
+                String responseTypeKey = className + "-" + responseTypeResponseMethodName;
+                String httpStatusMethod = statement.get(3).getText();
 
-            if (pathContent.contains("+")) {
+                if (httpStatusMethod.equals("ok")) {
 
-                pathContent = pathContent.replaceAll("(\\s+|\"+)", "");
+                    // Http status OK, get Response OK variable name
+                    if (!containsIdentifier(statement, "new") && (statement.size() > 6)
+                            && (statement.get(5).getType() == JavaToken.Type.IDENTIFIER) && statement.get(6).isOperator(")")) {
 
-                String[] pathList = pathContent.split("[+]");
+                        // We don't want any new objects
+                        String variableName = statement.get(5).getText();
 
-                if (pathList.length > 0) {
+                        if (responseTypeVariableTypes.containsKey(variableName)) {
 
-                    StringBuilder compleatePath = new StringBuilder();
-                    int index = 0;
+                            ResponseType responseType = new ResponseType();
+                            responseType.setReturnStatus("OK");
+                            responseType.setReturnStatusCode("200");
 
-                    while (index < pathList.length) {
+                            String variableType = responseTypeVariableTypes.get(variableName);
 
-                        if (pathList[index].equals("/") && (index == 0)) {
+                            int listIndex = variableType.indexOf("List<");
 
-                            index++;
-                            continue;
-                        }
+                            if (listIndex == -1) {
+
+                                // No list
+                                if (importClasses.containsKey(variableType)) {
+
+                                    responseType.setReturnType(importClasses.get(variableType));
+
+                                    responseTypes.put(responseTypeKey, responseType);
+                                }
+                            } else {
 
-                        if (importClasses.containsKey(pathList[index])) {
+                                String listType = variableType.substring(listIndex + 5, variableType.length() - 1);
 
-                            compleatePath.append(importClasses.get(pathList[index]));
+                                if (importClasses.containsKey(listType)) {
 
-                        } else {
+                                    responseType.setReturnType("List<" + importClasses.get(listType) + ">");
 
-                            compleatePath.append(pathList[index]);
+                                    responseTypes.put(responseTypeKey, responseType);
+                                }
+                            }
                         }
-                        index++;
                     }
-                    
-                    classPathTemporary = compleatePath.toString();
+                } else {
+
+                    // Http status thas is NOT OK
+                    findOutHttpStatusCode(statement, httpStatusMethod, responseTypeKey, responseTypes);
                 }
+
+                // We have found an return Response Type
+                responseTypeAnnotationFound = false;
+                responseTypePublicReponseFound = false;
+
             } else {
 
-                if (importClasses.containsKey(pathContent)) {
+                // Response.ok not found
+                // Save all variables in the variableTypes HashList
+                addVariableAndTypeToHashList(statement);
+            }
+        }
+    }
 
-                    classPathTemporary = classPathTemporary + importClasses.get(pathContent);
+    private void findClassPaths(final Declaration declaration, final Map<String, PathInfo> classPaths, final String className) {
 
-                } else {
+        if (!classPathAnnotationFound) {
 
-                    classPathTemporary = classPathTemporary + pathContent;
-                }
+            if (declaration.pathArguments == null) {
+
+                return; //  No path found yet
             }
+
+            parsePathAnnotation(declaration.pathArguments);
+
+            classPathAnnotationFound = true;
         }
-    }
 
-    private void findConstants(final String line, final Boolean isClass, final Map<String, String> constants, final String className) {
+        if (KIND_CLASS.equals(declaration.kind)) {
+
+            if (!classPathTemporary.isEmpty()) {
+
+                classPath = classPathTemporary + '/';
+
+            } else {
+
+                classPath = "";
+            }
+
+            classPathAnnotationFound = false;
+            classPathTemporary = "";
+            return;
+        }
 
-        if (isClass) {
+        if (isResponseMethod(declaration)) {
 
+            classPathAnnotationFound = false;
+            classPathTemporary = "";
             return;
         }
 
-        // Find constants
-        // Like:    static final String PATH_CLEAR_CACHE_RESOURCE = "/clearcache";
-        int privateOffset = line.indexOf("private");
-        int staticOffset = line.indexOf("static");
-        int finalOffset = line.indexOf("final", staticOffset + 1);
-        int equalOffset = line.indexOf('=', finalOffset + 1);
+        if (declaration.isPublicMethod()) {
+
+            String methodReturnType = declaration.typeName;
 
-        if ((staticOffset != -1) && (finalOffset != -1) && (equalOffset != -1) && (privateOffset == -1)) {
+            PathInfo pathInfo = new PathInfo();
+            pathInfo.setParentPath(className);
 
-            String constant = line.substring(finalOffset + 6);
+            if (importClasses.containsKey(methodReturnType)) {
 
-            String[] constantList = constant.split("\\s+");
+                methodReturnType = importClasses.get(methodReturnType);
 
-            if ((constantList.length > 3) && constantList[constantList.length - 4].equals("String") && constantList[constantList.length - 2].equals("=")) {
+                if (importClasses.containsKey(classPathTemporary)) {
 
-                String value = constantList[constantList.length - 1];
+                    if (!classPathTemporary.isEmpty()) {
 
-                int firstQuoteOffset = value.indexOf('\"');
-                int secondQuoteOffset = value.indexOf('\"', firstQuoteOffset + 1);
+                        pathInfo.setClassPath(classPath + importClasses.get(classPathTemporary) + '/');
 
-                if ((firstQuoteOffset != -1) && (secondQuoteOffset != -1)) {
+                    } else {
+
+                        pathInfo.setClassPath(classPath);
+                    }
 
-                    constants.put(className + '.' + constantList[constantList.length - 3], value.substring(firstQuoteOffset + 1, secondQuoteOffset));
+                    classPaths.put(methodReturnType, pathInfo);
 
                 } else {
 
-                    int semiColonOffset = value.indexOf(';', firstQuoteOffset + 1);
+                    if (!classPathTemporary.isEmpty()) {
 
-                    if (semiColonOffset != -1) {
+                        pathInfo.setClassPath(classPath + classPathTemporary + '/');
 
-                        constants.put(className + '.' + constantList[constantList.length - 3], value.substring(0, semiColonOffset));
+                    } else {
+
+                        pathInfo.setClassPath(classPath);
                     }
+
+                    classPaths.put(methodReturnType, pathInfo);
                 }
             }
+
+            classPathAnnotationFound = false;
+            classPathTemporary = "";
         }
     }
 
-    private void findOutHttpStatusCode(final String line, final int responseOffset, final String responseTypeKey,
-            final Map<String, ResponseType> responseTypes) {
+    private void parsePathAnnotation(final List<JavaToken> pathArguments) {
 
-        int responseDotOffset = line.indexOf('.', responseOffset);
+        List<JavaToken> arguments = pathArguments;
 
-        if (responseDotOffset != -1) {
+        if ((arguments.size() > 2) && arguments.get(0).isIdentifier("value") && arguments.get(1).isOperator("=")) {
 
-            int responseParenthesesStartOffset = line.indexOf('(', responseDotOffset);
+            arguments = arguments.subList(2, arguments.size());
+        }
 
-            if (responseParenthesesStartOffset != -1) {
+        if ((arguments.size() == 1) && (arguments.get(0).getType() == JavaToken.Type.STRING)) {
 
-                ResponseType responseType = new ResponseType();
+            classPathTemporary = arguments.get(0).getStringValue();
+            return;
+        }
 
-                String httpStatusMethod = line.substring(responseOffset + 9, responseParenthesesStartOffset);
+        // Probably a define
+        if (containsOperator(arguments, "+")) {
 
-                switch (httpStatusMethod) {
+            StringBuilder compleatePath = new StringBuilder();
+            int pathStartIndex = 0;
+            boolean firstPath = true;
 
-                    case "accepted":
-                        responseType.setReturnStatus("ACCEPTED");
-                        responseType.setReturnStatusCode("202");
-                        break;
+            for (int index = 0; index <= arguments.size(); index++) {
 
-                    case "noContent":
-                        responseType.setReturnStatus("NO_CONTENT");
-                        responseType.setReturnStatusCode("204");
-                        break;
+                if ((index == arguments.size()) || arguments.get(index).isOperator("+")) {
 
-                    case "notAcceptable":
-                        responseType.setReturnStatus("NOT_ACCEPTABLE");
-                        responseType.setReturnStatusCode("406");
-                        break;
+                    String path = getText(arguments, pathStartIndex, index);
 
-                    case "notModified":
-                        responseType.setReturnStatus("NOT_MODIFIED");
-                        responseType.setReturnStatusCode("304");
-                        break;
+                    pathStartIndex = index + 1;
 
-                    case "serverError":
-                        responseType.setReturnStatus("INTERNAL_SERVER_ERROR");
-                        responseType.setReturnStatusCode("500");
-                        break;
+                    if (path.equals("/") && firstPath) {
 
-                    case "status":
-                        parseHttpStatusFromStatusMethod(line, responseParenthesesStartOffset, responseType);
-                        break;
+                        firstPath = false;
+                        continue;
+                    }
 
-                    default:
-                        responseType.setReturnStatus("OK");
-                        responseType.setReturnStatusCode("200");
-                        break;
-                }
+                    firstPath = false;
 
-                responseTypes.put(responseTypeKey, responseType);
+                    compleatePath.append(importClasses.getOrDefault(path, path));
+                }
             }
+
+            classPathTemporary = compleatePath.toString();
+
+        } else {
+
+            String pathContent = getText(arguments, 0, arguments.size());
+
+            classPathTemporary = classPathTemporary + importClasses.getOrDefault(pathContent, pathContent);
+        }
+    }
+
+    private void findConstants(final Declaration declaration, final Map<String, String> constants, final String className) {
+
+        if (classFound) {
+
+            return;
+        }
+
+        // Find constants
+        // Like:    static final String PATH_CLEAR_CACHE_RESOURCE = "/clearcache";
+        if (!declaration.modifiers.contains("static") || !declaration.modifiers.contains("final") || declaration.modifiers.contains("private")
+                || !declaration.typeName.equals("String") || (declaration.initializer == null) || declaration.initializer.isEmpty()) {
+
+            return;
+        }
+
+        List<JavaToken> initializer = declaration.initializer;
+
+        if ((initializer.size() == 1) && (initializer.get(0).getType() == JavaToken.Type.STRING)) {
+
+            constants.put(className + '.' + declaration.name, initializer.get(0).getStringValue());
+
+        } else if (initializer.stream().allMatch(token -> (token.getType() == JavaToken.Type.IDENTIFIER) || token.isOperator("."))) {
+
+            // Another constant
+            constants.put(className + '.' + declaration.name, getText(initializer, 0, initializer.size()));
         }
     }
 
-    private void parseHttpStatusFromStatusMethod(final String line, final int responseParenthesesStartOffset, final ResponseType responseType) {
+    private void findOutHttpStatusCode(final List<JavaToken> statement, final String httpStatusMethod, final String responseTypeKey,
+            final Map<String, ResponseType> responseTypes) {
+
+        ResponseType responseType = new ResponseType();
+
+        switch (httpStatusMethod) {
+
+            case "accepted":
+                responseType.setReturnStatus("ACCEPTED");
+                responseType.setReturnStatusCode("202");
+                break;
+
+            case "noContent":
+                responseType.setReturnStatus("NO_CONTENT");
+                responseType.setReturnStatusCode("204");
+                break;
+
+            case "notAcceptable":
+                responseType.setReturnStatus("NOT_ACCEPTABLE");
+                responseType.setReturnStatusCode("406");
+                break;
+
+            case "notModified":
+                responseType.setReturnStatus("NOT_MODIFIED");
+                responseType.setReturnStatusCode("304");
+                break;
+
+            case "serverError":
+                responseType.setReturnStatus("INTERNAL_SERVER_ERROR");
+                responseType.setReturnStatusCode("500");
+                break;
+
+            case "status":
+                parseHttpStatusFromStatusMethod(statement, responseType);
+                break;
 
-        int statusStatusCodeBeginningOffset = line.indexOf("Response.Status.", responseParenthesesStartOffset);
+            default:
+                responseType.setReturnStatus("OK");
+                responseType.setReturnStatusCode("200");
+                break;
+        }
+
+        responseTypes.put(responseTypeKey, responseType);
+    }
 
-        if (statusStatusCodeBeginningOffset != -1) {
+    /*
+     * Search for 'Response.Status.XXX' in the 'return Response.status(' statement
+     */
+    private void parseHttpStatusFromStatusMethod(final List<JavaToken> statement, final ResponseType responseType) {
 
-            int responseParenthesesEndOffset = line.indexOf(')', statusStatusCodeBeginningOffset);
+        for (int index = 5; (index + 4) < statement.size(); index++) {
 
-            if (responseParenthesesEndOffset != -1) {
+            if (statement.get(index).isIdentifier("Response") && statement.get(index + 1).isOperator(".")
+                    && statement.get(index + 2).isIdentifier("Status") && statement.get(index + 3).isOperator(".")) {
 
-                String status = line.substring(statusStatusCodeBeginningOffset + 16, responseParenthesesEndOffset).trim();
+                String status = statement.get(index + 4).getText();
 
                 responseType.setReturnStatus(status);
                 responseType.setReturnStatusCode(getStatusCodeFromStatusName(status));
+                return;
             }
         }
     }
@@ -741,28 +1018,109 @@ public class JavaSourceParser {
         }
     }
 
-    private void addVariableAndTypeToHashList(final String line) {
+    /*
+     * Like:    List<Movie> movies = movieService.getMovies();
+     */
+    private void addVariableAndTypeToHashList(final List<JavaToken> statement) {
+
+        if (containsOperator(statement, "==")) {
 
-        int equalsOffset = line.indexOf('=');
-        int equalityOperatorsOffset = line.indexOf("==");
+            return;
+        }
+
+        for (int index = 0; index < statement.size(); index++) {
 
-        if ((equalsOffset != -1) && (equalityOperatorsOffset == -1)) {
+            if (statement.get(index).isOperator("=")) {
 
-            String[] variableList = line.substring(0, equalsOffset).split("\\s+");
+                if ((index >= 2) && (statement.get(index - 1).getType() == JavaToken.Type.IDENTIFIER)) {
 
-            if (variableList.length >= 2) {
+                    int typeStartIndex = getTypeStartIndex(statement, index - 2);
 
-                String variableName = variableList[variableList.length - 1];
-                String variableType = variableList[variableList.length - 2];
+                    String variableName = statement.get(index - 1).getText();
+                    String variableType = getText(statement, typeStartIndex, index - 1);
 
-                if (!variableType.isEmpty()) {
+                    if (!variableType.isEmpty()) {
 
-                    responseTypeVariableTypes.put(variableName, variableType);
+                        responseTypeVariableTypes.put(variableName, variableType);
+                    }
                 }
+
+                return;
             }
         }
     }
 
+    /**
+     * @return Index of the first token of the type that ends at typeEndIndex, like 'java.util.List<Movie>' or 'String[]'
+     */
+    private int getTypeStartIndex(final List<JavaToken> statement, final int typeEndIndex) {
+
+        int index = typeEndIndex;
+
+        while ((index > 0) && statement.get(index).isOperator("]")) {
+
+            // Array type
+            index -= 2;
+        }
+
+        if ((index > 0) && statement.get(index).isOperator(">")) {
+
+            // Type arguments
+            int depth = 0;
+
+            while (index > 0) {
+
+                JavaToken token = statement.get(index);
+
+                if (token.isOperator(">")) {
+
+                    depth++;
+
+                } else if (token.isOperator("<") && (--depth == 0)) {
+
+                    break;
+                }
+
+                index--;
+            }
+
+            index--;
+        }
+
+        while ((index > 1) && statement.get(index - 1).isOperator(".")) {
+
+            // Package name
+            index -= 2;
+        }
+
+        return Math.max(index, 0);
+    }
+
+    private boolean isResponseMethod(final Declaration declaration) {
+
+        return declaration.isPublicMethod() && (declaration.typeName.equals("Response") || declaration.typeName.endsWith(".Response"));
+    }
+
+    private boolean containsIdentifier(final List<JavaToken> tokens, final String identifier) {
+
+        return tokens.stream().anyMatch(token -> token.isIdentifier(identifier));
+    }
+
+    private boolean containsOperator(final List<JavaToken> tokens, final String operator) {
+
+        return tokens.stream().anyMatch(token -> token.isOperator(operator));
+    }
+
+    private String getClassEnumValues(final String className, final URLClassLoader urlClassLoader) {
+
+        if (classEnumValues == null) {
+
+            classEnumValues = getEnumValuesFromClass(className, urlClassLoader);
+        }
+
+        return classEnumValues;
+    }
+
     private String getEnumValuesFromClass(final String className, final URLClassLoader urlClassLoader) {
 
         LOGGER.info(() -> "getEnumValuesFromClass(), Checking class " + className + " for enums");
@@ -804,39 +1162,23 @@ public class JavaSourceParser {
         return enumList.toString();
     }
 
-    private void addImportStatementToMap(final String line) {
-
-        int importOffset = line.indexOf("import");
+    /*
+     * Like:    import javax.ws.rs.core.Response;
+     */
+    private void addImportStatementToMap(final List<JavaToken> statement) {
 
-        if (importOffset != -1) {
+        int nameStartIndex = ((statement.size() > 1) && statement.get(1).isIdentifier("static")) ? 2 : 1;
 
-            String[] importList = line.split("\\s+");
+        String importName = getText(statement, nameStartIndex, statement.size());
 
-            if (importList.length > 0) {
+        int lastDot = importName.lastIndexOf('.');
 
-                String lastPartOfRow = importList[importList.length - 1];
+        if (lastDot != -1) {
 
-                // This is a import row
-                int lastDot = lastPartOfRow.lastIndexOf('.');
-
-                if (lastDot != -1) {
-
-                    int importEndOffset = lastPartOfRow.indexOf(';', lastDot);
-
-                    if (importEndOffset != -1) {
-
-                        importClasses.put(lastPartOfRow.substring(lastDot + 1, importEndOffset), lastPartOfRow.substring(0, importEndOffset).trim());
-                    }
-                }
-            }
+            importClasses.put(importName.substring(lastDot + 1), importName);
         }
     }
 
-    private String getSourceFileNameFromClassName(File sourceDiretory, String className) {
-
-        return sourceDiretory.getAbsolutePath() + "/" + className.replaceAll("[.]", "/") + JAVA_FILE_TYPE;
-    }
-
     private String getFullClassNameFromSourcesDir(final File sourceDiretory, final Path sourceNamePath) {
 
         String pathName;
@@ -883,68 +1225,26 @@ public class JavaSourceParser {
         return packetAndclassName.toString();
     }
 
-    int isPathAnnotation(final String line) {
-
-        int pathAnnotationOffset = line.indexOf("@Path");
-
-        if (pathAnnotationOffset != -1) {
-
-            int pathParamAnnotationOffset = line.indexOf("@PathParam", pathAnnotationOffset);
-
-            if (pathParamAnnotationOffset == -1) {
-
-                return pathAnnotationOffset;
-            }
-        }
-
-        return -1;
-    }
-
-    String isResponseMethod(final String line) {
-
-        int publicMethodOffset = line.indexOf(PUBLIC_TYPE);
-
-        if (publicMethodOffset != -1) {
+    /*
+     * The parts of a declaration used by the extractors
+     */
+    private static class Declaration {
 
-            int responseOffset = line.indexOf("Response ", publicMethodOffset);
-            int methodEndOffset = line.indexOf('(', responseOffset);
+        private final Set<String> modifiers = new HashSet<>();
+        private String kind = "";   // "class", "interface", "enum", "method" or empty for variables and statements
+        private String typeName = "";   // Method return type or variable type
+        private String name = "";
+        private List<JavaToken> pathArguments = null;   // Arguments of the @Path annotation, null if there is no @Path annotation
+        private List<JavaToken> initializer = null;   // Tokens after '=' in a variable declaration
 
-            if ((responseOffset != -1) && (methodEndOffset != -1)) {
+        boolean isType() {
 
-                return line.substring(responseOffset + 9, methodEndOffset).trim();
-            }
+            return KIND_CLASS.equals(kind) || KIND_INTERFACE.equals(kind) || KIND_ENUM.equals(kind);
         }
 
-        return null;
-    }
-
-    String isPublicMethod(final String line) {
-
-        int publicMethodOffset = line.indexOf(PUBLIC_TYPE);
-
-        if (publicMethodOffset != -1) {
+        boolean isPublicMethod() {
 
-            int methodEndOffset = line.indexOf('(', publicMethodOffset);
-
-            if (methodEndOffset != -1) {
-
-                String[] pathList = line.substring(publicMethodOffset, methodEndOffset).split("\\s+");
-
-                if (pathList.length > 1) {
-
-                    return pathList[pathList.length - 2];
-                }
-            }
+            return KIND_METHOD.equals(kind) && modifiers.contains("public");
         }
-
-        return null;
-    }
-
-    boolean isClass(final String line) {
-
-        int classOffset = line.indexOf(" class ");
-        int classStartOffset = line.indexOf('{', classOffset);
-
-        return (classOffset != -1) && (classStartOffset != -1);
     }
 }
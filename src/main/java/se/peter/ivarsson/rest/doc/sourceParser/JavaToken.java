@@ -0,0 +1,343 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.sourceparser;
+
+/**
+ * One token from the JavaLexer.
+ * The text is only created from the source when it is asked for, comparing a token with a text doesn't create a String.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public final class JavaToken {
+
+    public enum Type {
+
+        IDENTIFIER, // Identifiers and keywords
+        STRING, // String literal and text block, the text includes the quotes
+        CHARACTER, // Character literal, the text includes the quotes
+        NUMBER,
+        OPERATOR, // Operators and separators, '==', '!=', '<=', '>=' and compound assignments are one token
+        JAVADOC     // JavaDoc comment, other comments are skipped
+    }
+
+    private final Type type;
+    private final CharSequence source;
+    private final int startOffset;
+    private final int endOffset;
+    private final int line;
+
+    private String text = null;
+
+    public JavaToken(final Type type, final CharSequence source, final int startOffset, final int endOffset, final int line) {
+
+        this.type = type;
+        this.source = source;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.line = line;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getText() {
+
+        if (text == null) {
+
+            text = source.subSequence(startOffset, endOffset).toString();
+        }
+
+        return text;
+    }
+
+    /**
+     * @return Offset of the first character of this token in the source
+     */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /**
+     * @return Offset after the last character of this token in the source
+     */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * @return Line number of the first character of this token, the first line is 1
+     */
+    public int getLine() {
+        return line;
+    }
+
+    public boolean is(final Type tokenType, final String tokenText) {
+
+        if ((type != tokenType) || ((endOffset - startOffset) != tokenText.length())) {
+
+            return false;
+        }
+
+        for (int index = 0; index < tokenText.length(); index++) {
+
+            if (source.charAt(startOffset + index) != tokenText.charAt(index)) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean isIdentifier(final String identifier) {
+
+        return is(Type.IDENTIFIER, identifier);
+    }
+
+    public boolean isOperator(final String operator) {
+
+        return is(Type.OPERATOR, operator);
+    }
+
+    /**
+     * A text block starts after the line break of the opening quotes, the incidental indentation and trailing spaces of
+     * every line are removed. A literal that isn't terminated keeps all characters after the opening quotes.
+     *
+     * @return Value of a string literal or text block without quotes, escape sequences are replaced with the escaped
+     * character
+     */
+    public String getStringValue() {
+
+        String literal = getText();
+
+        if (type != Type.STRING) {
+
+            return literal;
+        }
+
+        if (literal.startsWith("\"\"\"")) {
+
+            return unescape(getTextBlockContent(literal));
+        }
+
+        int valueEnd = literal.length();
+
+        if ((valueEnd > 1) && (literal.charAt(valueEnd - 1) == '"') && !isEscaped(literal, valueEnd - 1)) {
+
+            valueEnd--;
+        }
+
+        return unescape(literal.substring(1, valueEnd));
+    }
+
+    private static String getTextBlockContent(final String literal) {
+
+        int contentEnd = literal.length();
+
+        if ((contentEnd >= 6) && literal.endsWith("\"\"\"") && !isEscaped(literal, contentEnd - 3)) {
+
+            contentEnd -= 3;
+        }
+
+        int contentStart = 3;
+
+        // The content starts on the line after the opening quotes
+        while ((contentStart < contentEnd) && !JavaLexer.isLineBreak(literal.charAt(contentStart))) {
+
+            contentStart++;
+        }
+
+        if (contentStart < contentEnd) {
+
+            contentStart += literal.startsWith("\r\n", contentStart) ? 2 : 1;
+        }
+
+        String[] lines = literal.substring(contentStart, contentEnd).split("\r\n|\r|\n", -1);
+
+        // Blank lines don't count, the line with the closing quotes always counts
+        int indentation = Integer.MAX_VALUE;
+
+        for (int index = 0; index < lines.length; index++) {
+
+            String line = lines[index];
+
+            int lineIndentation = 0;
+
+            while ((lineIndentation < line.length()) && Character.isWhitespace(line.charAt(lineIndentation))) {
+
+                lineIndentation++;
+            }
+
+            if ((lineIndentation < line.length()) || (index == lines.length - 1)) {
+
+                indentation = Math.min(indentation, lineIndentation);
+            }
+        }
+
+        StringBuilder content = new StringBuilder(literal.length());
+
+        for (int index = 0; index < lines.length; index++) {
+
+            String line = lines[index];
+
+            int lineEnd = line.length();
+
+            while ((lineEnd > 0) && Character.isWhitespace(line.charAt(lineEnd - 1))) {
+
+                lineEnd--;
+            }
+
+            if (index > 0) {
+
+                content.append('\n');
+            }
+
+            content.append(line, Math.min(indentation, lineEnd), lineEnd);
+        }
+
+        return content.toString();
+    }
+
+    private static boolean isEscaped(final String literal, final int quoteIndex) {
+
+        int backslashes = 0;
+
+        while ((quoteIndex - backslashes > 0) && (literal.charAt(quoteIndex - backslashes - 1) == '\\')) {
+
+            backslashes++;
+        }
+
+        return (backslashes % 2) == 1;
+    }
+
+    private static String unescape(final String value) {
+
+        if (value.indexOf('\\') == -1) {
+
+            return value;
+        }
+
+        StringBuilder unescaped = new StringBuilder(value.length());
+
+        for (int index = 0; index < value.length(); index++) {
+
+            char character = value.charAt(index);
+
+            if ((character != '\\') || (index + 1 >= value.length())) {
+
+                unescaped.append(character);
+                continue;
+            }
+
+            index++;
+            character = value.charAt(index);
+
+            switch (character) {
+
+                case 'b':
+                    unescaped.append('\b');
+                    break;
+
+                case 't':
+                    unescaped.append('\t');
+                    break;
+
+                case 'n':
+                    unescaped.append('\n');
+                    break;
+
+                case 'f':
+                    unescaped.append('\f');
+                    break;
+
+                case 'r':
+                    unescaped.append('\r');
+                    break;
+
+                case 's':
+                    unescaped.append(' ');
+                    break;
+
+                case '\n':
+                    // Line continuation in a text block
+                    break;
+
+                case 'u':
+                    index = unescapeUnicode(value, index, unescaped);
+                    break;
+
+                default:
+                    if ((character >= '0') && (character <= '7')) {
+
+                        index = unescapeOctal(value, index, unescaped);
+
+                    } else {
+
+                        unescaped.append(character);
+                    }
+                    break;
+            }
+        }
+
+        return unescaped.toString();
+    }
+
+    /*
+     * '\\uXXXX', 'u' can be repeated. Returns the index of the last character of the escape sequence.
+     */
+    private static int unescapeUnicode(final String value, final int uIndex, final StringBuilder unescaped) {
+
+        int digitsStart = uIndex;
+
+        while ((digitsStart < value.length()) && (value.charAt(digitsStart) == 'u')) {
+
+            digitsStart++;
+        }
+
+        if (digitsStart + 4 <= value.length()) {
+
+            try {
+
+                unescaped.append((char) Integer.parseInt(value.substring(digitsStart, digitsStart + 4), 16));
+
+                return digitsStart + 3;
+
+            } catch (NumberFormatException nfe) {
+
+                // Not a unicode escape, keep the characters
+            }
+        }
+
+        unescaped.append('u');
+
+        return uIndex;
+    }
+
+    /*
+     * '\\0' to '\\377'. Returns the index of the last character of the escape sequence.
+     */
+    private static int unescapeOctal(final String value, final int firstDigitIndex, final StringBuilder unescaped) {
+
+        int maxDigits = (value.charAt(firstDigitIndex) <= '3') ? 3 : 2;
+        int digitsEnd = firstDigitIndex;
+
+        while ((digitsEnd < value.length()) && ((digitsEnd - firstDigitIndex) < maxDigits)
+                && (value.charAt(digitsEnd) >= '0') && (value.charAt(digitsEnd) <= '7')) {
+
+            digitsEnd++;
+        }
+
+        unescaped.append((char) Integer.parseInt(value.substring(firstDigitIndex, digitsEnd), 8));
+
+        return digitsEnd - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "JavaToken{" + "type=" + type + ", text=" + getText() + ", line=" + line + '}';
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.sourceparser;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import se.peter.ivarsson.rest.doc.parser.PathInfo;
+import se.peter.ivarsson.rest.doc.parser.ResponseType;
+
+/**
+ * Everything found when parsing one source file, the source file is only read once.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public final class SourceFileInfo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String className;
+    private final Map<String, String> enumTypes;
+    private final Map<String, ResponseType> responseTypes;
+    private final Map<String, PathInfo> classPaths;
+    private final Map<String, String> constants;
+    private final Map<String, String> javaDocComments;
+
+    public SourceFileInfo(final String className, final Map<String, String> enumTypes,
+            final Map<String, ResponseType> responseTypes, final Map<String, PathInfo> classPaths,
+            final Map<String, String> constants, final Map<String, String> javaDocComments) {
+
+        this.className = className;
+        this.enumTypes = Collections.unmodifiableMap(new HashMap<>(enumTypes));
+        this.responseTypes = Collections.unmodifiableMap(new HashMap<>(responseTypes));
+        this.classPaths = Collections.unmodifiableMap(new HashMap<>(classPaths));
+        this.constants = Collections.unmodifiableMap(new HashMap<>(constants));
+        this.javaDocComments = Collections.unmodifiableMap(new HashMap<>(javaDocComments));
+    }
+
+    /**
+     * @return Package and class name of the class in this source file
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    public Map<String, String> getEnumTypes() {
+        return enumTypes;
+    }
+
+    public Map<String, ResponseType> getResponseTypes() {
+        return responseTypes;
+    }
+
+    public Map<String, PathInfo> getClassPaths() {
+        return classPaths;
+    }
+
+    public Map<String, String> getConstants() {
+        return constants;
+    }
+
+    /**
+     * @return JavaDoc comments for public methods, key is the method name
+     */
+    public Map<String, String> getJavaDocComments() {
+        return javaDocComments;
+    }
+
+    @Override
+    public String toString() {
+        return "SourceFileInfo{" + "className=" + className + ", enumTypes=" + enumTypes + ", responseTypes=" + responseTypes + ", classPaths=" + classPaths + ", constants=" + constants + ", javaDocComments=" + javaDocComments + '}';
+    }
+}
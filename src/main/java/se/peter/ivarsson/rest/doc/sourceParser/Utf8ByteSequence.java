@@ -0,0 +1,107 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.sourceparser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 encoded source code seen as characters without decoding it.
+ * ASCII bytes are returned as they are, every byte of a multi byte character is returned as NON_ASCII_CHARACTER,
+ * a letter, so the JavaLexer sees a non ASCII character as a part of an identifier, comment or literal.
+ * Offsets are byte offsets, a region is only decoded when toString() is called.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+final class Utf8ByteSequence implements CharSequence {
+
+    static final char NON_ASCII_CHARACTER = '\u00C0';   // A letter
+
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int length;
+
+    Utf8ByteSequence(final ByteBuffer buffer) {
+
+        this(buffer, 0, buffer.limit());
+    }
+
+    private Utf8ByteSequence(final ByteBuffer buffer, final int start, final int length) {
+
+        this.buffer = buffer;
+        this.start = start;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+
+        byte character = buffer.get(start + index);
+
+        return character >= 0 ? (char) character : NON_ASCII_CHARACTER;
+    }
+
+    @Override
+    public CharSequence subSequence(final int startIndex, final int endIndex) {
+
+        if ((startIndex < 0) || (endIndex > length) || (startIndex > endIndex)) {
+
+            throw new IndexOutOfBoundsException("subSequence(" + startIndex + ", " + endIndex + "), length " + length);
+        }
+
+        return new Utf8ByteSequence(buffer, start + startIndex, endIndex - startIndex);
+    }
+
+    /**
+     * @return true if the bytes contains the ASCII text
+     */
+    boolean contains(final String text) {
+
+        byte first = (byte) text.charAt(0);
+
+        for (int index = start; index <= (start + length - text.length()); index++) {
+
+            if ((buffer.get(index) == first) && regionMatches(index, text)) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean regionMatches(final int offset, final String text) {
+
+        for (int index = 1; index < text.length(); index++) {
+
+            if (buffer.get(offset + index) != (byte) text.charAt(index)) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+
+        byte[] bytes = new byte[length];
+
+        for (int index = 0; index < length; index++) {
+
+            bytes[index] = buffer.get(start + index);
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
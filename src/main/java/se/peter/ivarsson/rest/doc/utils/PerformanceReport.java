@@ -0,0 +1,374 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Wall time, CPU time, item counts, loaded classes and peak heap for every phase of a plugin execution.
+ * The report is written as JSON to the logging directory, a short summary is given for the Maven log.
+ * Phases are started and ended by the thread that executes the plugin, one phase at a time.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class PerformanceReport {
+
+    private static final Logger LOGGER = Logger.getLogger(PerformanceReport.class.getSimpleName());
+
+    public static final String REPORT_FILE_NAME = "RestDocPerformance.json";
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    private final File loggingDirectory;
+    private final Instant startTime = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final List<Phase> phases = new ArrayList<>();
+
+    public PerformanceReport(final File loggingDirectory) {
+
+        LoggingUtils.addLoggingFileHandler(loggingDirectory, LOGGER);
+
+        this.loggingDirectory = loggingDirectory;
+    }
+
+    /**
+     * Start measuring a phase, the phase must be ended before the next phase is started
+     */
+    public Phase startPhase(final String name, final String itemsName) {
+
+        Phase phase = new Phase(name, itemsName);
+
+        phases.add(phase);
+
+        return phase;
+    }
+
+    public List<Phase> getPhases() {
+
+        return Collections.unmodifiableList(phases);
+    }
+
+    /**
+     * @return Lines for the Maven log, one line for every phase
+     */
+    public List<String> getSummary() {
+
+        List<String> summary = new ArrayList<>();
+
+        summary.add(String.format(Locale.ROOT, "%-28s %9s %9s %9s %11s %9s %11s",
+                "Phase", "Wall ms", "CPU ms", "Items", "Items/s", "Classes", "Peak MB"));
+
+        for (Phase phase : phases) {
+
+            summary.add(String.format(Locale.ROOT, "%-28s %9.1f %9s %9d %11.1f %9d %11.1f",
+                    phase.getName(),
+                    phase.getWallTimeNanos() / NANOS_PER_MILLI,
+                    phase.getCpuTimeNanos() < 0 ? "-" : String.format(Locale.ROOT, "%.1f", phase.getCpuTimeNanos() / NANOS_PER_MILLI),
+                    phase.getItems(),
+                    phase.getItemsPerSecond(),
+                    phase.getLoadedClasses(),
+                    phase.getPeakHeapBytes() / BYTES_PER_MEGABYTE));
+        }
+
+        summary.add(String.format(Locale.ROOT, "%-28s %9.1f", "Total", (System.nanoTime() - startNanos) / NANOS_PER_MILLI));
+
+        return summary;
+    }
+
+    /**
+     * Write the report to RestDocPerformance.json in the logging directory
+     *
+     * @return The report file, or null if it couldn't be written
+     */
+    public Path writeJsonReport() {
+
+        Path reportPath = loggingDirectory.toPath().resolve(REPORT_FILE_NAME);
+
+        try {
+
+            Files.write(reportPath, toJson().getBytes(StandardCharsets.UTF_8));
+
+            return reportPath;
+
+        } catch (IOException ioe) {
+
+            LOGGER.severe(() -> "writeJsonReport() Path ='" + reportPath + "' IOException: " + ioe.getMessage());
+
+            return null;
+        }
+    }
+
+    public String toJson() {
+
+        StringBuilder json = new StringBuilder(1024);
+
+        json.append("{\n");
+        json.append("  \"startTime\": \"").append(startTime).append("\",\n");
+        json.append("  \"totalWallTimeMillis\": ").append(formatMillis(System.nanoTime() - startNanos)).append(",\n");
+        json.append("  \"availableProcessors\": ").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+        json.append("  \"maxHeapBytes\": ").append(Runtime.getRuntime().maxMemory()).append(",\n");
+        json.append("  \"phases\": [");
+
+        for (int index = 0; index < phases.size(); index++) {
+
+            Phase phase = phases.get(index);
+
+            json.append(index == 0 ? "\n" : ",\n");
+            json.append("    {\n");
+            json.append("      \"name\": \"").append(escapeJson(phase.getName())).append("\",\n");
+            json.append("      \"wallTimeMillis\": ").append(formatMillis(phase.getWallTimeNanos())).append(",\n");
+            json.append("      \"cpuTimeMillis\": ").append(phase.getCpuTimeNanos() < 0 ? "null" : formatMillis(phase.getCpuTimeNanos())).append(",\n");
+            json.append("      \"itemsName\": \"").append(escapeJson(phase.getItemsName())).append("\",\n");
+            json.append("      \"items\": ").append(phase.getItems()).append(",\n");
+            json.append("      \"itemsPerSecond\": ").append(String.format(Locale.ROOT, "%.1f", phase.getItemsPerSecond())).append(",\n");
+            json.append("      \"classesLoaded\": ").append(phase.getLoadedClasses()).append(",\n");
+            json.append("      \"peakHeapBytes\": ").append(phase.getPeakHeapBytes());
+
+            for (Map.Entry<String, Long> counter : phase.getCounters().entrySet()) {
+
+                json.append(",\n      \"").append(escapeJson(counter.getKey())).append("\": ").append(counter.getValue());
+            }
+
+            json.append("\n    }");
+        }
+
+        json.append(phases.isEmpty() ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+
+        return json.toString();
+    }
+
+    private static String formatMillis(final long nanos) {
+
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+
+    private static String escapeJson(final String text) {
+
+        StringBuilder escaped = new StringBuilder(text.length());
+
+        for (char character : text.toCharArray()) {
+
+            switch (character) {
+
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+
+                default:
+                    if (character < ' ') {
+
+                        escaped.append(String.format("\\u%04x", (int) character));
+
+                    } else {
+
+                        escaped.append(character);
+                    }
+                    break;
+            }
+        }
+
+        return escaped.toString();
+    }
+
+    /*
+     * CPU time of the whole process, so the worker threads of parallelAnalysis are included, or -1 if not available
+     */
+    private static long getProcessCpuTimeNanos() {
+
+        OperatingSystemMXBean operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+
+        if (operatingSystemMXBean instanceof com.sun.management.OperatingSystemMXBean) {
+
+            return ((com.sun.management.OperatingSystemMXBean) operatingSystemMXBean).getProcessCpuTime();
+        }
+
+        return -1;
+    }
+
+    /*
+     * CPU time of the calling thread, or -1 if not available
+     */
+    private static long getThreadCpuTimeNanos() {
+
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        return threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long getCpuTimeDifference(final long startCpuTimeNanos, final long endCpuTimeNanos) {
+
+        return (startCpuTimeNanos < 0) || (endCpuTimeNanos < 0) ? -1 : endCpuTimeNanos - startCpuTimeNanos;
+    }
+
+    private static void resetPeakHeapUsage() {
+
+        for (MemoryPoolMXBean memoryPoolMXBean : ManagementFactory.getMemoryPoolMXBeans()) {
+
+            if (memoryPoolMXBean.getType() == MemoryType.HEAP) {
+
+                memoryPoolMXBean.resetPeakUsage();
+            }
+        }
+    }
+
+    /*
+     * The sum of the peaks of the heap memory pools, the pools may peak at different times so this is an upper bound
+     */
+    private static long getPeakHeapUsage() {
+
+        long peakHeapUsage = 0;
+
+        for (MemoryPoolMXBean memoryPoolMXBean : ManagementFactory.getMemoryPoolMXBeans()) {
+
+            if ((memoryPoolMXBean.getType() == MemoryType.HEAP) && (memoryPoolMXBean.getPeakUsage() != null)) {
+
+                peakHeapUsage += memoryPoolMXBean.getPeakUsage().getUsed();
+            }
+        }
+
+        return peakHeapUsage;
+    }
+
+    /**
+     * Measurements of one phase, the values are available when the phase is ended
+     */
+    public static class Phase {
+
+        private final String name;
+        private final String itemsName;
+        private final Map<String, Long> counters = new LinkedHashMap<>();
+
+        private final long startWallTimeNanos;
+        private final long startProcessCpuTimeNanos;
+        private final long startThreadCpuTimeNanos;
+        private final long startLoadedClasses;
+
+        private long wallTimeNanos;
+        private long cpuTimeNanos;
+        private long loadedClasses;
+        private long peakHeapBytes;
+        private int items;
+
+        private Phase(final String name, final String itemsName) {
+
+            this.name = name;
+            this.itemsName = itemsName;
+
+            resetPeakHeapUsage();
+
+            startLoadedClasses = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+            startProcessCpuTimeNanos = getProcessCpuTimeNanos();
+            startThreadCpuTimeNanos = getThreadCpuTimeNanos();
+            startWallTimeNanos = System.nanoTime();
+        }
+
+        /**
+         * End the phase, items is the number of files, classes or pages handled by the phase
+         */
+        public void end(final int items) {
+
+            wallTimeNanos = System.nanoTime() - startWallTimeNanos;
+
+            // The process CPU time is only updated now and then on some systems, it is never less than the thread CPU time
+            cpuTimeNanos = Math.max(getCpuTimeDifference(startProcessCpuTimeNanos, getProcessCpuTimeNanos()),
+                    getCpuTimeDifference(startThreadCpuTimeNanos, getThreadCpuTimeNanos()));
+            loadedClasses = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount() - startLoadedClasses;
+            peakHeapBytes = getPeakHeapUsage();
+
+            this.items = items;
+
+            LOGGER.info(() -> "Phase " + toString());
+        }
+
+        /**
+         * Add a phase specific count to the report, like the number of skipped class files
+         */
+        public void addCounter(final String counterName, final long value) {
+
+            counters.put(counterName, value);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getItemsName() {
+            return itemsName;
+        }
+
+        public Map<String, Long> getCounters() {
+            return Collections.unmodifiableMap(counters);
+        }
+
+        public long getWallTimeNanos() {
+            return wallTimeNanos;
+        }
+
+        /**
+         * @return CPU time used by the process during the phase, or -1 if CPU time isn't available
+         */
+        public long getCpuTimeNanos() {
+            return cpuTimeNanos;
+        }
+
+        public long getLoadedClasses() {
+            return loadedClasses;
+        }
+
+        public long getPeakHeapBytes() {
+            return peakHeapBytes;
+        }
+
+        public int getItems() {
+            return items;
+        }
+
+        public double getItemsPerSecond() {
+
+            return wallTimeNanos > 0 ? (items * 1_000_000_000.0) / wallTimeNanos : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return "Phase{" + "name=" + name + ", wallTimeNanos=" + wallTimeNanos + ", cpuTimeNanos=" + cpuTimeNanos + ", items=" + items + ", itemsName=" + itemsName + ", loadedClasses=" + loadedClasses + ", peakHeapBytes=" + peakHeapBytes + ", counters=" + counters + '}';
+        }
+    }
+}
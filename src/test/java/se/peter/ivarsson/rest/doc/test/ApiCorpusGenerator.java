@@ -0,0 +1,319 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Creates a compiled JAX-RS project with resources, sub resource locators, a graph of domain data classes and enums.
+ * The sources are written to src/main/java and compiled with javax.tools to target/classes in the project directory.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class ApiCorpusGenerator {
+
+    private static final String PACKAGE_NAME = "com.example.scale";
+    private static final String DOMAIN_PACKAGE_NAME = PACKAGE_NAME + ".domain";
+
+    private static final String[] HTTP_METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+    private final int resources;
+    private final int methodsPerResource;
+    private final int subResourceDepth;
+    private final int dtoGraphSize;
+    private final int enumCount;
+
+    private final List<Path> sourceFiles = new ArrayList<>();
+
+    public ApiCorpusGenerator(final int resources, final int methodsPerResource, final int subResourceDepth, final int dtoGraphSize, final int enumCount) {
+
+        this.resources = resources;
+        this.methodsPerResource = methodsPerResource;
+        this.subResourceDepth = subResourceDepth;
+        this.dtoGraphSize = Math.max(1, dtoGraphSize);
+        this.enumCount = enumCount;
+    }
+
+    /**
+     * @return Number of documented REST methods, every sub resource has two REST methods
+     */
+    public int getEndpoints() {
+
+        return resources * (methodsPerResource + (2 * subResourceDepth));
+    }
+
+    /**
+     * @return Number of domain data classes and enums used by the REST methods
+     */
+    public int getDomainDataTypes() {
+
+        return dtoGraphSize + Math.min(enumCount, dtoGraphSize);
+    }
+
+    public static File getSourcesDirectory(final Path projectDirectory) {
+
+        return projectDirectory.resolve("src/main/java").toFile();
+    }
+
+    public static File getClassesDirectory(final Path projectDirectory) {
+
+        return projectDirectory.resolve("target/classes").toFile();
+    }
+
+    /**
+     * Write and compile the project
+     */
+    public void generate(final Path projectDirectory) throws IOException {
+
+        Path sourcesDirectory = getSourcesDirectory(projectDirectory).toPath();
+
+        for (int index = 0; index < enumCount; index++) {
+
+            writeSource(sourcesDirectory, DOMAIN_PACKAGE_NAME, "Enum" + index, createEnum(index));
+        }
+
+        for (int index = 0; index < dtoGraphSize; index++) {
+
+            writeSource(sourcesDirectory, DOMAIN_PACKAGE_NAME, "Dto" + index, createDto(index));
+        }
+
+        for (int resource = 0; resource < resources; resource++) {
+
+            writeSource(sourcesDirectory, PACKAGE_NAME, "Resource" + resource, createResource(resource));
+
+            for (int depth = 1; depth <= subResourceDepth; depth++) {
+
+                writeSource(sourcesDirectory, PACKAGE_NAME, getSubResourceName(resource, depth), createSubResource(resource, depth));
+            }
+        }
+
+        compile(getClassesDirectory(projectDirectory).toPath());
+    }
+
+    private String createEnum(final int index) {
+
+        StringBuilder source = new StringBuilder(256);
+
+        source.append("package ").append(DOMAIN_PACKAGE_NAME).append(";\n\n");
+        source.append("/**\n * Generated enum ").append(index).append("\n */\n");
+        source.append("public enum Enum").append(index).append(" {\n\n");
+        source.append("    FIRST_").append(index).append(", SECOND_").append(index).append(", THIRD_").append(index).append("\n");
+        source.append("}\n");
+
+        return source.toString();
+    }
+
+    /*
+     * Every DTO refers to the next one and to a list of one further away, the last ones refer back to the first ones
+     */
+    private String createDto(final int index) {
+
+        String className = "Dto" + index;
+        String childType = "Dto" + ((index + 1) % dtoGraphSize);
+        String listType = "Dto" + (((index * 2) + 1) % dtoGraphSize);
+
+        List<String[]> fields = new ArrayList<>();
+
+        fields.add(new String[]{"String", "name"});
+        fields.add(new String[]{"int", "count"});
+        fields.add(new String[]{childType, "child"});
+        fields.add(new String[]{"java.util.List<" + listType + ">", "items"});
+
+        if (enumCount > 0) {
+
+            fields.add(new String[]{"Enum" + (index % enumCount), "status"});
+        }
+
+        StringBuilder source = new StringBuilder(1024);
+
+        source.append("package ").append(DOMAIN_PACKAGE_NAME).append(";\n\n");
+        source.append("/**\n * Generated domain data ").append(index).append("\n */\n");
+        source.append("public class ").append(className).append(" {\n");
+
+        for (String[] field : fields) {
+
+            source.append("\n    private ").append(field[0]).append(" ").append(field[1]).append(";\n");
+        }
+
+        for (String[] field : fields) {
+
+            String name = Character.toUpperCase(field[1].charAt(0)) + field[1].substring(1);
+
+            source.append("\n    public ").append(field[0]).append(" get").append(name).append("() {\n");
+            source.append("        return ").append(field[1]).append(";\n    }\n");
+            source.append("\n    public void set").append(name).append("(").append(field[0]).append(" ").append(field[1]).append(") {\n");
+            source.append("        this.").append(field[1]).append(" = ").append(field[1]).append(";\n    }\n");
+        }
+
+        source.append("}\n");
+
+        return source.toString();
+    }
+
+    private String createResource(final int resource) {
+
+        StringBuilder source = new StringBuilder(1024 + (methodsPerResource * 512));
+
+        appendResourceHeader(source);
+
+        source.append("/**\n * Generated REST resource ").append(resource).append("\n */\n");
+        source.append("@Path(Resource").append(resource).append(".RESOURCE_PATH)\n");
+        source.append("public class Resource").append(resource).append(" {\n\n");
+        source.append("    public static final String RESOURCE_PATH = \"/resource").append(resource).append("\";\n");
+
+        for (int method = 0; method < methodsPerResource; method++) {
+
+            appendMethod(source, "item" + method, HTTP_METHODS[method % HTTP_METHODS.length], (resource + method) % dtoGraphSize);
+        }
+
+        if (subResourceDepth > 0) {
+
+            appendSubResourceLocator(source, getSubResourceName(resource, 1));
+        }
+
+        source.append("}\n");
+
+        return source.toString();
+    }
+
+    private String createSubResource(final int resource, final int depth) {
+
+        StringBuilder source = new StringBuilder(2048);
+
+        appendResourceHeader(source);
+
+        source.append("/**\n * Generated sub resource ").append(depth).append(" of resource ").append(resource).append("\n */\n");
+        source.append("public class ").append(getSubResourceName(resource, depth)).append(" {\n");
+
+        appendMethod(source, "sub" + depth, "GET", (resource + depth) % dtoGraphSize);
+        appendMethod(source, "sub" + depth + "/edit", "PUT", (resource + depth) % dtoGraphSize);
+
+        if (depth < subResourceDepth) {
+
+            appendSubResourceLocator(source, getSubResourceName(resource, depth + 1));
+        }
+
+        source.append("}\n");
+
+        return source.toString();
+    }
+
+    private void appendResourceHeader(final StringBuilder source) {
+
+        source.append("package ").append(PACKAGE_NAME).append(";\n\n");
+        source.append("import javax.ws.rs.*;\n");
+        source.append("import javax.ws.rs.core.MediaType;\n");
+        source.append("import javax.ws.rs.core.Response;\n");
+        source.append("import ").append(DOMAIN_PACKAGE_NAME).append(".*;\n\n");
+    }
+
+    private void appendMethod(final StringBuilder source, final String path, final String httpMethod, final int dto) {
+
+        String methodName = httpMethod.toLowerCase() + Character.toUpperCase(path.charAt(0)) + path.substring(1).replace("/", "_");
+
+        source.append("\n    /**\n     * ").append(httpMethod).append(" ").append(path).append(" with the given id\n");
+        source.append("     *\n     * @return Dto").append(dto).append(" or NOT_FOUND\n     */\n");
+        source.append("    @").append(httpMethod).append("\n");
+        source.append("    @Path(\"").append(path).append("/{id}\")\n");
+        source.append("    @Produces(MediaType.APPLICATION_JSON)\n");
+
+        if (httpMethod.equals("POST") || httpMethod.equals("PUT")) {
+
+            source.append("    @Consumes(MediaType.APPLICATION_JSON)\n");
+            source.append("    public Response ").append(methodName).append("(@PathParam(\"id\") final String id, @QueryParam(\"force\") final boolean force, final Dto")
+                    .append(dto).append(" body) {\n\n");
+
+        } else {
+
+            source.append("    public Response ").append(methodName).append("(@PathParam(\"id\") final String id, @QueryParam(\"limit\") final int limit) {\n\n");
+        }
+
+        source.append("        if (id.isEmpty()) {\n\n");
+        source.append("            return Response.status(Response.Status.NOT_FOUND).build();\n");
+        source.append("        }\n\n");
+        source.append("        Dto").append(dto).append(" result = new Dto").append(dto).append("();\n\n");
+        source.append("        return Response.ok().entity(result).build();\n");
+        source.append("    }\n");
+    }
+
+    private void appendSubResourceLocator(final StringBuilder source, final String subResourceName) {
+
+        source.append("\n    @Path(\"sub\")\n");
+        source.append("    public ").append(subResourceName).append(" getSubResource() {\n\n");
+        source.append("        return new ").append(subResourceName).append("();\n");
+        source.append("    }\n");
+    }
+
+    private String getSubResourceName(final int resource, final int depth) {
+
+        return "Resource" + resource + "Sub" + depth;
+    }
+
+    private void writeSource(final Path sourcesDirectory, final String packageName, final String className, final String source) throws IOException {
+
+        Path packageDirectory = Files.createDirectories(sourcesDirectory.resolve(packageName.replace('.', File.separatorChar)));
+
+        Path sourceFile = packageDirectory.resolve(className + ".java");
+
+        Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+
+        sourceFiles.add(sourceFile);
+    }
+
+    private void compile(final Path classesDirectory) throws IOException {
+
+        JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
+
+        if (javaCompiler == null) {
+
+            throw new IllegalStateException("No system Java compiler, the tests must be run with a JDK");
+        }
+
+        Files.createDirectories(classesDirectory);
+
+        StringWriter compilerOutput = new StringWriter();
+
+        try (StandardJavaFileManager fileManager = javaCompiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+
+            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(sourceFiles.stream()
+                    .map(Path::toFile)
+                    .collect(Collectors.toList()));
+
+            List<String> options = Arrays.asList("-nowarn", "-proc:none", "-d", classesDirectory.toString(), "-classpath", getJaxRsClassPath());
+
+            if (!javaCompiler.getTask(compilerOutput, fileManager, null, options, null, compilationUnits).call()) {
+
+                throw new IllegalStateException("Can't compile the generated project: " + compilerOutput);
+            }
+        }
+    }
+
+    private String getJaxRsClassPath() {
+
+        try {
+
+            return new File(javax.ws.rs.Path.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+
+        } catch (URISyntaxException use) {
+
+            throw new IllegalStateException("Can't find the JAX-RS API: " + use.getMessage());
+        }
+    }
+}
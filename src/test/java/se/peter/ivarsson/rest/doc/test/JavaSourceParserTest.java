@@ -0,0 +1,248 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import junit.framework.TestCase;
+import se.peter.ivarsson.rest.doc.mojo.ConfigParameters;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiDocument;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiModelBuilder;
+import se.peter.ivarsson.rest.doc.parser.ClassInfo;
+import se.peter.ivarsson.rest.doc.parser.MethodInfo;
+import se.peter.ivarsson.rest.doc.parser.PathInfo;
+import se.peter.ivarsson.rest.doc.parser.ResponseType;
+import se.peter.ivarsson.rest.doc.parser.RestInfo;
+import se.peter.ivarsson.rest.doc.parser.RestInfoIndex;
+import se.peter.ivarsson.rest.doc.parser.ReturnInfo;
+import se.peter.ivarsson.rest.doc.sourceparser.JavaLexer;
+import se.peter.ivarsson.rest.doc.sourceparser.JavaSourceParser;
+import se.peter.ivarsson.rest.doc.sourceparser.JavaToken;
+import se.peter.ivarsson.rest.doc.sourceparser.SourceFileInfo;
+
+/**
+ * Parses a source file with comments, string literals and text blocks that look like the code the parser searches
+ * for. Only the code may be found, both when the source is read as text and as bytes.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class JavaSourceParserTest extends TestCase {
+
+    private static final String CLASS_NAME = "com.example.MovieResource";
+
+    private static final String[] SOURCE = {
+        "package com.example;",
+        "",
+        "import com.example.actors.ActorResource;",
+        "import com.example.model.Movie;",
+        "import javax.ws.rs.Path;",
+        "import javax.ws.rs.core.Response;",
+        "/* import com.example.wrong.Movie; */",
+        "",
+        "// This class is important, import and class in a comment are not code",
+        "/* public class Wrong { public enum WrongStatus { A } } */",
+        "@Path(\"/movies\")",
+        "public class MovieResource {",
+        "",
+        "    public enum Status {",
+        "        ACTIVE, DELETED",
+        "    }",
+        "",
+        "    /** One line javadoc. */",
+        "    @GET",
+        "    @Path(\"/{id}\")",
+        "    public Response getMovie(@PathParam(\"id\") String id) {",
+        "",
+        "        String text = \"return Response.status(Response.Status.NOT_FOUND).build();\";",
+        "        String block = \"\"\"",
+        "            return Response.status(Response.Status.GONE).build();",
+        "              \"quoted\"",
+        "            \"\"\";",
+        "        Movie movie = movieService.getMovie(id);",
+        "        return Response.ok(movie).build();",
+        "    }",
+        "",
+        "    /**",
+        "     * Removes a movie.",
+        "     */",
+        "    @DELETE",
+        "    @Path(\"/{id}\")",
+        "    public Response deleteMovie(@PathParam(\"id\") String id) {",
+        "",
+        "        Movie movie = movieService.deleteMovie(id);",
+        "        // return Response.ok(movie).build();",
+        "        return Response.noContent().build();",
+        "    }",
+        "",
+        "    @Path(\"/{id}/\" + Constants.ACTORS)",
+        "    public ActorResource getActors() {",
+        "",
+        "        return actorResource;",
+        "    }",
+        "}",
+        ""
+    };
+
+    private Path sourcesDirectory;
+    private Path sourceFile;
+    private URLClassLoader urlClassLoader;
+
+    @Override
+    protected void setUp() throws Exception {
+
+        super.setUp();
+
+        sourcesDirectory = Files.createTempDirectory("rest-doc-source").resolve("java");
+        sourceFile = Files.createDirectories(sourcesDirectory.resolve("com/example")).resolve("MovieResource.java");
+
+        Files.write(sourceFile, String.join("\n", SOURCE).getBytes(StandardCharsets.UTF_8));
+
+        // The classes aren't compiled, the enum values can't be loaded
+        urlClassLoader = new URLClassLoader(new URL[0]);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+
+        urlClassLoader.close();
+
+        deleteDirectory(sourcesDirectory.getParent());
+
+        super.tearDown();
+    }
+
+    /**
+     * @throws Exception if any is wrong
+     */
+    public void testParseSource() throws Exception {
+
+        assertSourceFileInfo(new JavaSourceParser(false).parseSourceFile(sourcesDirectory.toFile(), sourceFile, urlClassLoader));
+    }
+
+    /**
+     * @throws Exception if any is wrong
+     */
+    public void testParseSourceBytes() throws Exception {
+
+        assertSourceFileInfo(new JavaSourceParser(true).parseSourceFile(sourcesDirectory.toFile(), sourceFile, urlClassLoader));
+    }
+
+    /**
+     * @throws Exception if any is wrong
+     */
+    public void testOneLineJavaDocDescription() throws Exception {
+
+        SourceFileInfo sourceFileInfo = new JavaSourceParser().parseSourceFile(sourcesDirectory.toFile(), sourceFile, urlClassLoader);
+
+        ReturnInfo returnInfo = new ReturnInfo();
+        returnInfo.setReturnClassName("java.lang.String");
+
+        MethodInfo methodInfo = new MethodInfo();
+        methodInfo.setMethodName("getMovie");
+        methodInfo.setMethodPath("/{id}");
+        methodInfo.setHttpRequestType("GET");
+        methodInfo.setReturnInfo(returnInfo);
+        methodInfo.setParameterInfo(new ArrayList<>());
+        methodInfo.setJavaDoc(sourceFileInfo.getJavaDocComments().get("getMovie"));
+
+        ClassInfo classInfo = new ClassInfo();
+        classInfo.setClassName("MovieResource");
+        classInfo.setPackageAndClassName(CLASS_NAME);
+        classInfo.setClassRootPath("");
+        classInfo.setClassPath("/movies");
+        classInfo.setMethodInfo(Collections.singletonList(methodInfo));
+
+        RestInfo restInfo = new RestInfo();
+        restInfo.setClassInfo(Collections.singletonList(classInfo));
+
+        Path loggingDirectory = Files.createDirectories(sourcesDirectory.resolveSibling("logging"));
+
+        ConfigParameters configParameters = new ConfigParameters();
+        configParameters.setLoggingDirectory(loggingDirectory.toFile());
+        configParameters.setProjectTitle("JavaSourceParserTest");
+
+        OpenApiDocument document = new OpenApiModelBuilder(new RestInfoIndex(restInfo)).build(configParameters);
+
+        assertEquals("One line javadoc.", document.getOperations("/movies/{id}").get(0).getDescription());
+    }
+
+    /**
+     * @throws Exception if any is wrong
+     */
+    public void testStringValues() throws Exception {
+
+        assertEquals("ABC", getStringValue("\"\\u0041\\uu0042\\103\""));
+        assertEquals("\0\7\377x", getStringValue("\"\\0\\7\\377x\""));
+        assertEquals("tab\t \"quote\" \\", getStringValue("\"tab\\t\\s\\\"quote\\\" \\\\\""));
+
+        // Not terminated, the literal ends at the end of the line
+        assertEquals("abc", getStringValue("\"abc\nnext"));
+        assertEquals("abc\"", getStringValue("\"abc\\\"\nnext"));
+
+        // Leading line break and incidental indentation are removed, line continuation joins lines
+        assertEquals("Hello\n  World\n", getStringValue("\"\"\"\n    Hello\n      World   \n    \"\"\""));
+        assertEquals("Hello\n  World", getStringValue("\"\"\"\r\n      Hello\r\n        World\"\"\""));
+        assertEquals("one two", getStringValue("\"\"\"\n    one \\\n    two\"\"\""));
+    }
+
+    private void assertSourceFileInfo(final SourceFileInfo sourceFileInfo) {
+
+        assertEquals(CLASS_NAME, sourceFileInfo.getClassName());
+
+        // Only the nested public enum, not the one in the comment
+        assertEquals(Collections.singleton(CLASS_NAME + "$Status"), sourceFileInfo.getEnumTypes().keySet());
+
+        ResponseType getMovie = sourceFileInfo.getResponseTypes().get(CLASS_NAME + "-getMovie");
+
+        assertNotNull("getMovie response type", getMovie);
+        assertEquals("200", getMovie.getReturnStatusCode());
+        assertEquals("com.example.model.Movie", getMovie.getReturnType());
+
+        ResponseType deleteMovie = sourceFileInfo.getResponseTypes().get(CLASS_NAME + "-deleteMovie");
+
+        assertNotNull("deleteMovie response type", deleteMovie);
+        assertEquals("NO_CONTENT", deleteMovie.getReturnStatus());
+        assertEquals("204", deleteMovie.getReturnStatusCode());
+
+        PathInfo actors = sourceFileInfo.getClassPaths().get("com.example.actors.ActorResource");
+
+        assertNotNull("ActorResource class path", actors);
+        assertEquals(CLASS_NAME, actors.getParentPath());
+        assertTrue(actors.getClassPath(), actors.getClassPath().endsWith("/{id}/Constants.ACTORS/"));
+
+        assertEquals("    /** One line javadoc. */\r", sourceFileInfo.getJavaDocComments().get("getMovie"));
+        assertEquals("    /**\r * Removes a movie.\r */\r", sourceFileInfo.getJavaDocComments().get("deleteMovie"));
+        assertFalse(sourceFileInfo.getJavaDocComments().containsKey("getActors"));
+    }
+
+    private String getStringValue(final String literal) {
+
+        JavaToken token = new JavaLexer(literal).nextToken();
+
+        assertEquals(JavaToken.Type.STRING, token.getType());
+
+        return token.getStringValue();
+    }
+
+    private void deleteDirectory(final Path directory) throws IOException {
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+
+            paths.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        }
+    }
+}
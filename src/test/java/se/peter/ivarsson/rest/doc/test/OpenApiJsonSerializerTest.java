@@ -0,0 +1,388 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import junit.framework.TestCase;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiDocument;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiJsonSerializer;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiOperation;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiParameter;
+import se.peter.ivarsson.rest.doc.openapi.OpenApiSchema;
+
+/**
+ * Serializes an OpenApi document with control characters, quotes, backslashes, U+2028, U+2029 and non ASCII
+ * characters in descriptions, paths and enum values. The JSON is parsed back by a strict parser in the test, every
+ * string must be valid JSON and have the same value as in the document.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class OpenApiJsonSerializerTest extends TestCase {
+
+    private static final String TRICKY = "Quote \" backslash \\ slash / tab \t newline \n return \r nul \0 bell \u0007"
+            + " unit separator \u001f delete \u007f line separator \u2028 paragraph separator \u2029"
+            + " \u00e5\u00e4\u00f6 \u00e9 \u20ac \uD83D\uDE00";
+
+    private static final String PATH = "/movies/\u00e5r/\"{id}\"\\\u2028";
+
+    private static final List<String> ENUM_VALUES = Arrays.asList("DRAMA", "\"QUOTED\"", "BACK\\SLASH", "\u00c5RSBOK",
+            "LINE\u2028SEPARATOR", "CONTROL\u0001\tCHARACTERS");
+
+    /**
+     * @throws Exception if any is wrong
+     */
+    public void testEscapedStrings() throws Exception {
+
+        OpenApiSchema enumSchema = new OpenApiSchema();
+        enumSchema.setType("string");
+        enumSchema.setDescription(TRICKY);
+        enumSchema.setEnumValues(String.join(", ", ENUM_VALUES));
+
+        OpenApiSchema parameterSchema = new OpenApiSchema();
+        parameterSchema.setType("string");
+
+        OpenApiParameter parameter = new OpenApiParameter();
+        parameter.setIn("path");
+        parameter.setName("id");
+        parameter.setRequired(true);
+        parameter.setDescription(TRICKY);
+        parameter.setSchema(parameterSchema);
+
+        OpenApiOperation operation = new OpenApiOperation();
+        operation.setHttpMethod("get");
+        operation.setDescription(TRICKY);
+        operation.setOperationId("getMovie");
+        operation.setResponseCode("200");
+        operation.setResponseDescription(TRICKY);
+        operation.setResponseMediaType("application/json");
+        operation.setResponseSchema(enumSchema);
+        operation.getParameters().add(parameter);
+
+        OpenApiSchema component = new OpenApiSchema();
+        component.setDescription(TRICKY);
+
+        OpenApiDocument document = new OpenApiDocument();
+        document.setTitle(TRICKY);
+        document.setVersion("1.0");
+        document.setLicenceName("MIT");
+        document.addOperation(PATH, operation);
+        document.getSchemas().put("Genre\u00e5", component);
+
+        StringWriter writer = new StringWriter();
+
+        new OpenApiJsonSerializer().serialize(document, writer);
+
+        String json = writer.toString();
+
+        // Only the line break after the document is written as it is
+        for (int index = 0; index < json.length() - 1; index++) {
+
+            char character = json.charAt(index);
+
+            assertFalse("Unescaped character " + (int) character + " at " + index,
+                    (character < 0x20) || (character == '\u2028') || (character == '\u2029'));
+        }
+
+        Map<?, ?> root = (Map<?, ?>) new JsonParser(json).parseDocument();
+
+        assertEquals(TRICKY, getMap(root, "info").get("title"));
+
+        Map<?, ?> get = getMap(getMap(getMap(root, "paths"), PATH), "get");
+
+        assertEquals(TRICKY, get.get("description"));
+
+        Map<?, ?> response = getMap(getMap(get, "responses"), "200");
+
+        assertEquals(TRICKY, response.get("description"));
+
+        Map<?, ?> schema = getMap(getMap(getMap(response, "content"), "application/json"), "schema");
+
+        assertEquals(TRICKY, schema.get("description"));
+        assertEquals(ENUM_VALUES, schema.get("enum"));
+
+        Map<?, ?> parsedParameter = (Map<?, ?>) ((List<?>) get.get("parameters")).get(0);
+
+        assertEquals(TRICKY, parsedParameter.get("description"));
+
+        assertEquals(TRICKY, getMap(getMap(getMap(root, "components"), "schemas"), "Genre\u00e5").get("description"));
+    }
+
+    private Map<?, ?> getMap(final Map<?, ?> object, final String name) {
+
+        Object value = object.get(name);
+
+        assertTrue("Missing object " + name + " in " + object.keySet(), value instanceof Map);
+
+        return (Map<?, ?>) value;
+    }
+
+    /*
+     * A strict RFC 8259 parser, objects are parsed to maps, arrays to lists and numbers to doubles
+     */
+    private static class JsonParser {
+
+        private final String json;
+        private int offset = 0;
+
+        JsonParser(final String json) {
+
+            this.json = json;
+        }
+
+        Object parseDocument() {
+
+            Object value = parseValue();
+
+            skipWhiteSpace();
+
+            if (offset != json.length()) {
+
+                throw error("Text after the document");
+            }
+
+            return value;
+        }
+
+        private Object parseValue() {
+
+            skipWhiteSpace();
+
+            if (offset >= json.length()) {
+
+                throw error("Missing value");
+            }
+
+            switch (json.charAt(offset)) {
+
+                case '{':
+                    return parseObject();
+
+                case '[':
+                    return parseArray();
+
+                case '"':
+                    return parseString();
+
+                case 't':
+                    expect("true");
+                    return Boolean.TRUE;
+
+                case 'f':
+                    expect("false");
+                    return Boolean.FALSE;
+
+                case 'n':
+                    expect("null");
+                    return null;
+
+                default:
+                    return parseNumber();
+            }
+        }
+
+        private Map<String, Object> parseObject() {
+
+            Map<String, Object> object = new LinkedHashMap<>();
+
+            expect("{");
+            skipWhiteSpace();
+
+            if (peek() == '}') {
+
+                offset++;
+                return object;
+            }
+
+            do {
+
+                skipWhiteSpace();
+
+                String name = parseString();
+
+                skipWhiteSpace();
+                expect(":");
+
+                if (object.put(name, parseValue()) != null) {
+
+                    throw error("Duplicate name " + name);
+                }
+
+                skipWhiteSpace();
+
+            } while (consume(','));
+
+            expect("}");
+
+            return object;
+        }
+
+        private List<Object> parseArray() {
+
+            List<Object> array = new ArrayList<>();
+
+            expect("[");
+            skipWhiteSpace();
+
+            if (peek() == ']') {
+
+                offset++;
+                return array;
+            }
+
+            do {
+
+                array.add(parseValue());
+
+                skipWhiteSpace();
+
+            } while (consume(','));
+
+            expect("]");
+
+            return array;
+        }
+
+        private String parseString() {
+
+            expect("\"");
+
+            StringBuilder value = new StringBuilder();
+
+            while (true) {
+
+                if (offset >= json.length()) {
+
+                    throw error("String not terminated");
+                }
+
+                char character = json.charAt(offset++);
+
+                if (character == '"') {
+
+                    return value.toString();
+                }
+
+                if (character < 0x20) {
+
+                    throw error("Control character " + (int) character + " in string");
+                }
+
+                if (character != '\\') {
+
+                    value.append(character);
+                    continue;
+                }
+
+                char escaped = (offset < json.length()) ? json.charAt(offset++) : 0;
+
+                switch (escaped) {
+
+                    case '"':
+                    case '\\':
+                    case '/':
+                        value.append(escaped);
+                        break;
+
+                    case 'b':
+                        value.append('\b');
+                        break;
+
+                    case 'f':
+                        value.append('\f');
+                        break;
+
+                    case 'n':
+                        value.append('\n');
+                        break;
+
+                    case 'r':
+                        value.append('\r');
+                        break;
+
+                    case 't':
+                        value.append('\t');
+                        break;
+
+                    case 'u':
+                        if ((offset + 4 > json.length()) || !json.substring(offset, offset + 4).matches("[0-9a-fA-F]{4}")) {
+
+                            throw error("Invalid unicode escape");
+                        }
+
+                        value.append((char) Integer.parseInt(json.substring(offset, offset + 4), 16));
+                        offset += 4;
+                        break;
+
+                    default:
+                        throw error("Invalid escape " + escaped);
+                }
+            }
+        }
+
+        private Double parseNumber() {
+
+            int start = offset;
+
+            while ((offset < json.length()) && ("+-.eE0123456789".indexOf(json.charAt(offset)) != -1)) {
+
+                offset++;
+            }
+
+            String number = json.substring(start, offset);
+
+            if (!number.matches("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?")) {
+
+                throw error("Invalid number " + number);
+            }
+
+            return Double.valueOf(number);
+        }
+
+        private void skipWhiteSpace() {
+
+            while ((offset < json.length()) && (" \t\n\r".indexOf(json.charAt(offset)) != -1)) {
+
+                offset++;
+            }
+        }
+
+        private char peek() {
+
+            return (offset < json.length()) ? json.charAt(offset) : 0;
+        }
+
+        private boolean consume(final char character) {
+
+            if (peek() == character) {
+
+                offset++;
+                return true;
+            }
+
+            return false;
+        }
+
+        private void expect(final String text) {
+
+            if (!json.startsWith(text, offset)) {
+
+                throw error("Expected " + text);
+            }
+
+            offset += text.length();
+        }
+
+        private IllegalStateException error(final String message) {
+
+            return new IllegalStateException(message + " at offset " + offset);
+        }
+    }
+}
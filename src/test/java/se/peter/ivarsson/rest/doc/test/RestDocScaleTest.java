@@ -0,0 +1,233 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import junit.framework.TestCase;
+import se.peter.ivarsson.rest.doc.mojo.ConfigParameters;
+import se.peter.ivarsson.rest.doc.output.HtmlOutput;
+import se.peter.ivarsson.rest.doc.output.OpenApiOutput;
+import se.peter.ivarsson.rest.doc.output.OutputFileWriter;
+import se.peter.ivarsson.rest.doc.parser.RestDocHandler;
+import se.peter.ivarsson.rest.doc.parser.RestInfoIndex;
+import se.peter.ivarsson.rest.doc.snapshot.RestInfoSnapshot;
+import se.peter.ivarsson.rest.doc.utils.PerformanceReport;
+
+/**
+ * Runs the analysis and both output types on generated projects. Every project is analyzed again with the bytecode
+ * engine, the result must be the same as with reflection.
+ *
+ * The default test suite only runs a small project with 10 REST methods. The projects with 1000 and 10000 REST methods
+ * take a long time and measure the wall time, they are only run with -Drestdoc.scale=true. Wall time and peak heap of
+ * every size are logged, and the time per REST method must not grow much with the size.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class RestDocScaleTest extends TestCase {
+
+    private static final Logger LOGGER = Logger.getLogger(RestDocScaleTest.class.getSimpleName());
+
+    // System property that runs the large projects
+    private static final String SCALE_PROPERTY = "restdoc.scale";
+
+    // The time per REST method of the largest size may be at most this many times the time of the medium size
+    private static final double MAX_TIME_PER_METHOD_GROWTH = 5.0;
+
+    private Path projectDirectory;
+    private Level rootLoggerLevel;
+
+    @Override
+    protected void setUp() throws Exception {
+
+        super.setUp();
+
+        projectDirectory = Files.createTempDirectory("rest-doc-scale");
+
+        // Every class and method is logged, that would be most of the measured time
+        rootLoggerLevel = Logger.getLogger("").getLevel();
+        Logger.getLogger("").setLevel(Level.WARNING);
+        LOGGER.setLevel(Level.INFO);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+
+        Logger.getLogger("").setLevel(rootLoggerLevel);
+
+        deleteDirectory(projectDirectory);
+
+        super.tearDown();
+    }
+
+    /**
+     * @throws Exception if any is wrong
+     */
+    public void testSmallProject() throws Exception {
+
+        ScaleResult small = runScale("small", new ApiCorpusGenerator(2, 3, 1, 10, 2));
+
+        assertEquals(10, small.endpoints);
+    }
+
+    /**
+     * @throws Exception if any is wrong
+     */
+    public void testScale() throws Exception {
+
+        if (!Boolean.getBoolean(SCALE_PROPERTY)) {
+
+            LOGGER.info(() -> "testScale() skipped, run with -D" + SCALE_PROPERTY + "=true");
+            return;
+        }
+
+        ScaleResult medium = runScale("medium", new ApiCorpusGenerator(50, 16, 2, 100, 20));
+        ScaleResult large = runScale("large", new ApiCorpusGenerator(500, 16, 2, 500, 100));
+
+        assertEquals(1000, medium.endpoints);
+        assertEquals(10000, large.endpoints);
+
+        double growth = large.getNanosPerEndpoint() / medium.getNanosPerEndpoint();
+
+        LOGGER.info(() -> String.format(Locale.ROOT, "Time per REST method, large / medium = %.2f", growth));
+
+        assertTrue("Time per REST method grows " + growth + " times from 1000 to 10000 REST methods", growth < MAX_TIME_PER_METHOD_GROWTH);
+    }
+
+    private ScaleResult runScale(final String name, final ApiCorpusGenerator apiCorpusGenerator) throws IOException {
+
+        Path sizeDirectory = Files.createDirectories(projectDirectory.resolve(name));
+        Path outputDirectory = Files.createDirectories(sizeDirectory.resolve("output"));
+        Path loggingDirectory = Files.createDirectories(sizeDirectory.resolve("logging"));
+
+        apiCorpusGenerator.generate(sizeDirectory);
+
+        ConfigParameters configParameters = new ConfigParameters();
+
+        configParameters.setOutputDirectory(outputDirectory.toFile());
+        configParameters.setLoggingDirectory(loggingDirectory.toFile());
+        configParameters.setProjectTitle("Scale " + name);
+        configParameters.setPrefilterClassFiles(true);
+        configParameters.setOpenApiDocVersion("1.0.0");
+        configParameters.setOpenApiLicenceName("Apache 2.0");
+        configParameters.setOpenApiDevelopmentServerUrl("http://localhost:8080");
+
+        PerformanceReport performanceReport = new PerformanceReport(loggingDirectory.toFile());
+
+        new RestDocHandler(ApiCorpusGenerator.getClassesDirectory(sizeDirectory), ApiCorpusGenerator.getSourcesDirectory(sizeDirectory),
+                configParameters, performanceReport);
+
+        int restMethods = RestDocHandler.restInfo.getClassInfo().stream()
+                .mapToInt(classInfo -> classInfo.getMethodInfo().size())
+                .sum();
+
+        assertEquals("REST methods in " + name, apiCorpusGenerator.getEndpoints(), restMethods);
+        assertEquals("Domain data in " + name, apiCorpusGenerator.getDomainDataTypes(), RestDocHandler.restInfo.getDomainDataMap().size());
+
+        OutputFileWriter outputFileWriter = new OutputFileWriter();
+
+        PerformanceReport.Phase htmlPhase = performanceReport.startPhase("Output html", "output files");
+
+        new HtmlOutput(outputFileWriter).createHTMLDocumantation(configParameters);
+
+        htmlPhase.end(outputFileWriter.getWrittenFiles());
+
+        PerformanceReport.Phase openApiPhase = performanceReport.startPhase("Output openapi", "output files");
+
+        new OpenApiOutput(outputFileWriter).createOpenApiDocumantation(configParameters);
+
+        openApiPhase.end(1);
+
+        String openApiFileName = "Scale_" + name + ".yaml";
+
+        assertTrue("OpenApi file in " + name, Files.isRegularFile(outputDirectory.resolve(openApiFileName)));
+
+        // The OpenApi file created from a snapshot of the analysis result is the same
+        Path snapshotPath = outputDirectory.resolve(RestInfoSnapshot.SNAPSHOT_FILE_NAME);
+        Path snapshotOutputDirectory = Files.createDirectories(sizeDirectory.resolve("snapshot-output"));
+
+        Files.write(snapshotPath, RestInfoSnapshot.toBytes(RestDocHandler.restInfo));
+
+        configParameters.setOutputDirectory(snapshotOutputDirectory.toFile());
+
+        new OpenApiOutput().createOpenApiDocumantation(configParameters, new RestInfoIndex(RestInfoSnapshot.read(snapshotPath)));
+
+        assertTrue("OpenApi file from snapshot in " + name, Arrays.equals(Files.readAllBytes(outputDirectory.resolve(openApiFileName)),
+                Files.readAllBytes(snapshotOutputDirectory.resolve(openApiFileName))));
+
+        performanceReport.writeJsonReport();
+
+        ScaleResult scaleResult = new ScaleResult(apiCorpusGenerator.getEndpoints(), performanceReport);
+
+        LOGGER.info(() -> name + ": " + scaleResult + "\n" + String.join("\n", performanceReport.getSummary()));
+
+        // The bytecode engine gives the same analysis result as reflection
+        byte[] reflectionSnapshot = RestInfoSnapshot.toBytes(RestDocHandler.restInfo);
+
+        configParameters.setBytecodeAnalysis(true);
+
+        PerformanceReport bytecodePerformanceReport = new PerformanceReport(loggingDirectory.toFile());
+
+        new RestDocHandler(ApiCorpusGenerator.getClassesDirectory(sizeDirectory), ApiCorpusGenerator.getSourcesDirectory(sizeDirectory),
+                configParameters, bytecodePerformanceReport);
+
+        assertTrue("Bytecode analysis result in " + name, Arrays.equals(reflectionSnapshot, RestInfoSnapshot.toBytes(RestDocHandler.restInfo)));
+
+        LOGGER.info(() -> name + " with the bytecode engine:\n" + String.join("\n", bytecodePerformanceReport.getSummary()));
+
+        return scaleResult;
+    }
+
+    private void deleteDirectory(final Path directory) throws IOException {
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+
+            paths.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        }
+    }
+
+    private static class ScaleResult {
+
+        private final int endpoints;
+        private final long wallTimeNanos;
+        private final long peakHeapBytes;
+
+        ScaleResult(final int endpoints, final PerformanceReport performanceReport) {
+
+            this.endpoints = endpoints;
+
+            wallTimeNanos = performanceReport.getPhases().stream()
+                    .mapToLong(PerformanceReport.Phase::getWallTimeNanos)
+                    .sum();
+
+            peakHeapBytes = performanceReport.getPhases().stream()
+                    .mapToLong(PerformanceReport.Phase::getPeakHeapBytes)
+                    .max()
+                    .orElse(0);
+        }
+
+        double getNanosPerEndpoint() {
+
+            return (double) wallTimeNanos / endpoints;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "endpoints=%d, wallTimeMillis=%.1f, microsPerEndpoint=%.1f, peakHeapMegabytes=%.1f",
+                    endpoints, wallTimeNanos / 1_000_000.0, getNanosPerEndpoint() / 1000.0, peakHeapBytes / (1024.0 * 1024.0));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Rest Documentation maven plugin.
+ *
+ * Copyright (C) 2018 Peter Ivarsson
+ */
+package se.peter.ivarsson.rest.doc.test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import junit.framework.TestCase;
+import se.peter.ivarsson.rest.doc.parser.ClassInfo;
+import se.peter.ivarsson.rest.doc.parser.DataModelInfo;
+import se.peter.ivarsson.rest.doc.parser.FieldInfo;
+import se.peter.ivarsson.rest.doc.parser.MethodInfo;
+import se.peter.ivarsson.rest.doc.parser.ParameterInfo;
+import se.peter.ivarsson.rest.doc.parser.RestInfo;
+import se.peter.ivarsson.rest.doc.parser.ReturnInfo;
+import se.peter.ivarsson.rest.doc.snapshot.RestInfoSnapshot;
+
+/**
+ * Writes a snapshot and reads it back. A snapshot that is truncated, has another version or a changed byte must not
+ * be read, the reader must throw an IOException.
+ *
+ * @author Peter Ivarsson Peter.Ivarsson@cybercom.com
+ */
+public class RestInfoSnapshotTest extends TestCase {
+
+    // Offset of the version in the snapshot header
+    private static final int VERSION_OFFSET = 4;
+
+    private static final int HEADER_SIZE = 40;
+
+    private RestInfo restInfo;
+    private byte[] snapshot;
+
+    @Override
+    protected void setUp() throws Exception {
+
+        super.setUp();
+
+        restInfo = createRestInfo();
+        snapshot = RestInfoSnapshot.toBytes(restInfo);
+    }
+
+    /**
+     * @throws Exception if any is wrong
+     */
+    public void testRoundTrip() throws Exception {
+
+        RestInfo readRestInfo = RestInfoSnapshot.read(ByteBuffer.wrap(snapshot));
+
+        assertEquals(restInfo.toString(), readRestInfo.toString());
+
+        assertEquals(2, readRestInfo.getClassInfo().size());
+        assertNull(readRestInfo.getClassInfo().get(1).getMethodInfo());
+        assertNull(readRestInfo.getClassInfo().get(0).getMethodInfo().get(0).getJavaDoc());
+
+        // The same result gives the same snapshot
+        assertTrue(Arrays.equals(snapshot, RestInfoSnapshot.toBytes(readRestInfo)));
+    }
+
+    /**
+     * @throws Exception if any is wrong
+     */
+    public void testTruncatedSnapshot() throws Exception {
+
+        assertNotReadable("Last byte removed", Arrays.copyOf(snapshot, snapshot.length - 1));
+        assertNotReadable("Only part of the header", Arrays.copyOf(snapshot, HEADER_SIZE / 2));
+        assertNotReadable("Only the header", Arrays.copyOf(snapshot, HEADER_SIZE));
+        assertNotReadable("Empty", new byte[0]);
+    }
+
+    /**
+     * @throws Exception if any is wrong
+     */
+    public void testOtherVersion() throws Exception {
+
+        byte[] otherVersion = snapshot.clone();
+
+        ByteBuffer.wrap(otherVersion).putShort(VERSION_OFFSET, (short) (RestInfoSnapshot.SNAPSHOT_VERSION + 1));
+
+        assertNotReadable("Version " + (RestInfoSnapshot.SNAPSHOT_VERSION + 1), otherVersion);
+    }
+
+    /**
+     * @throws Exception if any is wrong
+     */
+    public void testFlippedByte() throws Exception {
+
+        for (int index = HEADER_SIZE; index < snapshot.length; index++) {
+
+            byte[] flipped = snapshot.clone();
+
+            flipped[index] ^= 0x01;
+
+            assertNotReadable("Byte " + index + " flipped", flipped);
+        }
+    }
+
+    private void assertNotReadable(final String message, final byte[] corruptSnapshot) {
+
+        try {
+
+            RestInfoSnapshot.read(ByteBuffer.wrap(corruptSnapshot));
+
+            fail(message + ", the snapshot was read");
+
+        } catch (IOException ioe) {
+
+            // Expected
+        }
+    }
+
+    private RestInfo createRestInfo() {
+
+        ReturnInfo returnInfo = new ReturnInfo();
+        returnInfo.setReturnClassName("com.example.domain.Movie");
+        returnInfo.setAnnotatedReturnType("java.util.List<com.example.domain.Movie>");
+
+        ParameterInfo parameterInfo = new ParameterInfo();
+        parameterInfo.setParameterAnnotationName("movieId");
+        parameterInfo.setParameterClassName("long");
+        parameterInfo.setParameterType("javax.ws.rs.PathParam");
+
+        MethodInfo methodInfo = new MethodInfo();
+        methodInfo.setMethodName("getMovie");
+        methodInfo.setMethodPath("/{movieId}");
+        methodInfo.setHttpRequestType("GET");
+        methodInfo.setProduceType("application/json");
+        methodInfo.setReturnInfo(returnInfo);
+        methodInfo.setParameterInfo(Collections.singletonList(parameterInfo));
+
+        MethodInfo deprecatedMethodInfo = new MethodInfo();
+        deprecatedMethodInfo.setMethodName("deleteMovie");
+        deprecatedMethodInfo.setMethodPath("/{movieId}");
+        deprecatedMethodInfo.setHttpRequestType("DELETE");
+        deprecatedMethodInfo.setDeprecated(true);
+        deprecatedMethodInfo.setReturnInfo(new ReturnInfo());
+        deprecatedMethodInfo.setParameterInfo(new ArrayList<>());
+        deprecatedMethodInfo.setJavaDoc("    /**\r * Delete a movie, \u00e5\u00e4\u00f6 \u20ac.\r */\r");
+
+        ClassInfo resource = new ClassInfo();
+        resource.setClassName("MovieResource");
+        resource.setPackageAndClassName("com.example.api.MovieResource");
+        resource.setClassRootPath("/api");
+        resource.setClassPath("/movies");
+        resource.setMethodInfo(Arrays.asList(methodInfo, deprecatedMethodInfo));
+
+        ClassInfo notResource = new ClassInfo();
+        notResource.setClassName("MovieService");
+        notResource.setPackageAndClassName("com.example.service.MovieService");
+
+        FieldInfo fieldInfo = new FieldInfo();
+        fieldInfo.setFieldName("title");
+        fieldInfo.setFieldType("java.lang.String");
+
+        DataModelInfo dataModelInfo = new DataModelInfo();
+        dataModelInfo.setFields(Collections.singletonList(fieldInfo));
+
+        Map<String, DataModelInfo> domainDataMap = new HashMap<>();
+        domainDataMap.put("com.example.domain.Movie", dataModelInfo);
+
+        RestInfo snapshotRestInfo = new RestInfo();
+        snapshotRestInfo.setClassInfo(Arrays.asList(resource, notResource));
+        snapshotRestInfo.setDomainDataMap(domainDataMap);
+
+        return snapshotRestInfo;
+    }
+}